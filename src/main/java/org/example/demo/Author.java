@@ -4,12 +4,13 @@ import javafx.beans.property.*;
 
 import java.time.LocalDate;
 
-public class Author {
+public class Author implements Projected {
     private IntegerProperty author_id;
     private StringProperty first_name;
     private StringProperty last_name;
     private StringProperty country;
     private StringProperty bio;
+    private boolean bioLoaded = true; // false while a projected read left bio out
     
 
     public Author(int author_id, String first_name,String last_name,
@@ -19,6 +20,15 @@ public class Author {
         this.last_name = new SimpleStringProperty(last_name);
         this.country = new SimpleStringProperty(country);
         this.bio = new SimpleStringProperty(bio);
+        this.bio.addListener((obs, o, n) -> bioLoaded = true);
+    }
+
+    /**
+     * Author read without bio; bio is loaded later when it is shown
+     */
+    public Author(int author_id, String first_name, String last_name, String country) {
+        this(author_id, first_name, last_name, country, null);
+        this.bioLoaded = false;
     }
 
     // Getters for TableView binding
@@ -27,5 +37,11 @@ public class Author {
     public StringProperty last_nameProperty() { return last_name; }
     public StringProperty countryProperty() { return country; }
     public StringProperty bioProperty() { return bio; }
+
+    @Override
+    public boolean isLoaded(String field) { return !field.equals("bio") || bioLoaded; }
+
+    @Override
+    public void markLoaded(String field) { if (field.equals("bio")) bioLoaded = true; }
 }
 
@@ -4,15 +4,35 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.sql.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Data Access Object for Author CRUD operations
  */
-public class AuthorDAO implements GenericDAO<Author> {
+public class AuthorDAO implements SortableDAO<Author>, ProjectedDAO<Author> {
+
+    // bio is only written when it was loaded, so a projected row never clears it
+    static final String BY_ID_SQL = "SELECT * FROM author WHERE author_id = ?";
+    static final String DELETE_SQL = "DELETE FROM author WHERE author_id = ?";
+    static final String UPDATE_SQL = "UPDATE author SET first_name = ?, last_name = ?, country = ?, bio = CASE WHEN ? THEN ? ELSE bio END WHERE author_id = ?";
+
+    private static final List<String> COLUMNS = List.of("author_id", "first_name", "last_name", "country", "bio");
+    private static final Set<String> ALL_FIELDS = Set.copyOf(COLUMNS);
+    private static final Set<String> WIDE_FIELDS = Set.of("bio");
+    // Columns read for list pages: everything but the wide text
+    private static final Set<String> LIST_FIELDS = Set.of("author_id", "first_name", "last_name", "country");
 
     @Override
     public boolean add(Author author) {
+        return addReturningId(author) >= 0;
+    }
+
+    @Override
+    public int addReturningId(Author author) {
         // Validate NOT NULL fields
         String firstName = author.first_nameProperty().get();
         String lastName = author.last_nameProperty().get();
@@ -29,7 +49,7 @@ public class AuthorDAO implements GenericDAO<Author> {
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
            
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, firstName.trim());
                 pstmt.setString(2, lastName.trim());
                 
@@ -49,7 +69,10 @@ public class AuthorDAO implements GenericDAO<Author> {
                 }
                 
                 int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+                if (rowsAffected == 0) return -1;
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    return keys.next() ? keys.getInt(1) : 0;
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error adding author: " + e.getMessage());
@@ -60,45 +83,13 @@ public class AuthorDAO implements GenericDAO<Author> {
 
     @Override
     public boolean update(Author author) {
-        // Validate NOT NULL fields
-        String firstName = author.first_nameProperty().get();
-        String lastName = author.last_nameProperty().get();
-        
-        if (firstName == null || firstName.trim().isEmpty()) {
-            throw new IllegalArgumentException("First name is required and cannot be empty");
-        }
-        if (lastName == null || lastName.trim().isEmpty()) {
-            throw new IllegalArgumentException("Last name is required and cannot be empty");
-        }
-        
-        String sql = "UPDATE author SET first_name = ?, last_name = ?, country = ?, bio = ? WHERE author_id = ?";
-        
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
                 throw new SQLException("Failed to establish database connection");
             }
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, firstName.trim());
-                pstmt.setString(2, lastName.trim());
-                
-                // Handle nullable fields
-                String country = author.countryProperty().get();
-                if (country == null || country.trim().isEmpty()) {
-                    pstmt.setNull(3, java.sql.Types.VARCHAR);
-                } else {
-                    pstmt.setString(3, country.trim());
-                }
-                
-                String bio = author.bioProperty().get();
-                if (bio == null || bio.trim().isEmpty()) {
-                    pstmt.setNull(4, java.sql.Types.VARCHAR);
-                } else {
-                    pstmt.setString(4, bio.trim());
-                }
-                
-                pstmt.setInt(5, author.author_idProperty().get());
-                
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                bindUpdate(pstmt, author);
                 int rowsAffected = pstmt.executeUpdate();
                 return rowsAffected > 0;
             }
@@ -109,9 +100,51 @@ public class AuthorDAO implements GenericDAO<Author> {
         }
     }
 
+    /**
+     * Bulk update of several authors in one transaction
+     */
+    @Override
+    public int updateAll(List<Author> authors, IntConsumer progress) {
+        return BatchWriter.run(UPDATE_SQL, authors, this::bindUpdate, progress);
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, Author author) throws SQLException {
+        // Validate NOT NULL fields
+        String firstName = author.first_nameProperty().get();
+        String lastName = author.last_nameProperty().get();
+        
+        if (firstName == null || firstName.trim().isEmpty()) {
+            throw new IllegalArgumentException("First name is required and cannot be empty");
+        }
+        if (lastName == null || lastName.trim().isEmpty()) {
+            throw new IllegalArgumentException("Last name is required and cannot be empty");
+        }
+        
+        pstmt.setString(1, firstName.trim());
+        pstmt.setString(2, lastName.trim());
+        
+        // Handle nullable fields
+        String country = author.countryProperty().get();
+        if (country == null || country.trim().isEmpty()) {
+            pstmt.setNull(3, java.sql.Types.VARCHAR);
+        } else {
+            pstmt.setString(3, country.trim());
+        }
+        
+        pstmt.setBoolean(4, author.isLoaded("bio"));
+        String bio = author.bioProperty().get();
+        if (bio == null || bio.trim().isEmpty()) {
+            pstmt.setNull(5, java.sql.Types.VARCHAR);
+        } else {
+            pstmt.setString(5, bio.trim());
+        }
+        
+        pstmt.setInt(6, author.author_idProperty().get());
+    }
+
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM author WHERE author_id = ?";
+        String sql = DELETE_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return false;
@@ -128,9 +161,17 @@ public class AuthorDAO implements GenericDAO<Author> {
         }
     }
 
+    /**
+     * Bulk delete of several authors in one transaction
+     */
+    @Override
+    public int deleteAll(List<Integer> ids, IntConsumer progress) {
+        return BatchWriter.run(DELETE_SQL, ids, (pstmt, id) -> pstmt.setInt(1, id), progress);
+    }
+
     @Override
     public Author getById(int id) {
-        String sql = "SELECT * FROM author WHERE author_id = ?";
+        String sql = BY_ID_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return null;
@@ -158,9 +199,30 @@ public class AuthorDAO implements GenericDAO<Author> {
 
     @Override
     public List<Author> getAll() {
+        return query("SELECT * FROM author", ALL_FIELDS);
+    }
+
+    @Override
+    public List<Author> getAll(Set<String> fields) {
+        return query("SELECT " + ProjectedDAO.selectList("author_id", COLUMNS, fields) + " FROM author", fields);
+    }
+
+    @Override
+    public Set<String> wideFields() {
+        return WIDE_FIELDS;
+    }
+
+    @Override
+    public Map<Integer, String> getWideField(String field, Collection<Integer> ids) {
+        if (!WIDE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Not a wide author field: " + field);
+        }
+        return ProjectedDAO.fetchColumn("author", "author_id", field, ids);
+    }
+
+    private List<Author> query(String query, Set<String> fields) {
         // Always return a non-null list
         ObservableList<Author> authors = FXCollections.observableArrayList();
-        String query = "SELECT * FROM author";
 
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
@@ -172,13 +234,7 @@ public class AuthorDAO implements GenericDAO<Author> {
 
                 while (rs.next()) {
                     try {
-                        Author author = new Author(
-                                rs.getInt("author_id"),
-                                rs.getString("first_name"),
-                                rs.getString("last_name"),
-                                rs.getString("country"),
-                                rs.getString("bio"));
-                        authors.add(author);
+                        authors.add(mapRow(rs, fields));
                     } catch (Exception e) {
                         // Skip invalid records, continue with others
                         System.err.println("Error creating author from result set: " + e.getMessage());
@@ -198,5 +254,37 @@ public class AuthorDAO implements GenericDAO<Author> {
         // Always return the list (never null)
         return authors;
     }
-}
 
+    // Fields that can be sorted by the database, mapped to their SQL columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "author_id", "author.author_id",
+            "first_name", "author.first_name",
+            "last_name", "author.last_name",
+            "country", "author.country"
+    );
+
+    @Override
+    public Map<String, String> sortColumns() {
+        return SORT_COLUMNS;
+    }
+
+    @Override
+    public KeysetPager.Page<Author> getPage(String sortField, boolean ascending, KeysetPager.Cursor after, int limit) {
+        String sortExpr = SORT_COLUMNS.get(sortField);
+        if (sortExpr == null) {
+            throw new IllegalArgumentException("Cannot sort author by " + sortField);
+        }
+        return KeysetPager.fetch("SELECT " + ProjectedDAO.selectList("author_id", COLUMNS, LIST_FIELDS) + " FROM author",
+                sortExpr, "author.author_id", ascending, after, limit, rs -> mapRow(rs, LIST_FIELDS));
+    }
+
+    private Author mapRow(ResultSet rs, Set<String> fields) throws SQLException {
+        int id = rs.getInt("author_id");
+        String firstName = fields.contains("first_name") ? rs.getString("first_name") : null;
+        String lastName = fields.contains("last_name") ? rs.getString("last_name") : null;
+        String country = fields.contains("country") ? rs.getString("country") : null;
+        return fields.contains("bio")
+                ? new Author(id, firstName, lastName, country, rs.getString("bio"))
+                : new Author(id, firstName, lastName, country);
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.demo;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text field with type-ahead suggestions backed by a PrefixIndex.
+ * Replaces the ComboBoxes that held every DISTINCT name of a table.
+ */
+public class AutoCompleteField {
+
+    private static final int MAX_SUGGESTIONS = 10;
+    private static final int FIRST_BATCH_SIZE = 2000;
+
+    private final TextField field = new TextField();
+    private final ContextMenu popup = new ContextMenu();
+    private final PrefixIndex index = new PrefixIndex();
+
+    public AutoCompleteField(String promptText) {
+        field.setPromptText(promptText);
+        field.setPrefWidth(260);
+
+        field.textProperty().addListener((obs, ov, nv) -> {
+            if (field.isFocused()) showSuggestions(nv);
+        });
+        field.focusedProperty().addListener((obs, ov, focused) -> {
+            if (!focused) popup.hide();
+        });
+    }
+
+    private void showSuggestions(String text) {
+        if (text == null || text.isBlank()) {
+            popup.hide();
+            return;
+        }
+        List<String> matches = index.topMatches(text, MAX_SUGGESTIONS);
+        if (matches.isEmpty() || (matches.size() == 1 && matches.get(0).equals(text))) {
+            popup.hide();
+            return;
+        }
+
+        List<CustomMenuItem> items = new ArrayList<>(matches.size());
+        for (String match : matches) {
+            CustomMenuItem item = new CustomMenuItem(new Label(match), true);
+            item.setOnAction(e -> {
+                field.setText(match);
+                field.positionCaret(match.length());
+                popup.hide();
+            });
+            items.add(item);
+        }
+        popup.getItems().setAll(items);
+        if (!popup.isShowing()) {
+            popup.show(field, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    /**
+     * Fill the index in the background from a single-column query.
+     * Suggestions become available batch by batch while the query streams;
+     * each batch is twice the size of the one before, since every merge
+     * copies the index built so far.
+     */
+    public void loadInBackground(String sql, String column) {
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws SQLException {
+                try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+                    if (conn == null) return null;
+                    try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        stmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+                        try (ResultSet rs = stmt.executeQuery(sql)) {
+                            int batchSize = FIRST_BATCH_SIZE;
+                            List<String> batch = new ArrayList<>(batchSize);
+                            while (rs.next() && !isCancelled()) {
+                                batch.add(rs.getString(column));
+                                if (batch.size() == batchSize) {
+                                    index.addAll(batch);
+                                    batch.clear();
+                                    batchSize *= 2;
+                                }
+                            }
+                            index.addAll(batch);
+                        }
+                    }
+                }
+                return null;
+            }
+        };
+        task.setOnFailed(e -> System.err.println("Error loading suggestions: " + task.getException().getMessage()));
+
+        Thread loader = new Thread(task, "autocomplete-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Selected value, using the indexed spelling when the typed text matches one; null when blank
+     */
+    public String getValue() {
+        String text = field.getText();
+        if (text == null || text.isBlank()) return null;
+        String known = index.find(text);
+        return known != null ? known : text.trim();
+    }
+
+    public void setPromptText(String text) {
+        field.setPromptText(text);
+    }
+
+    public TextField getNode() {
+        return field;
+    }
+}
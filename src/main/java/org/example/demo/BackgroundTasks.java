@@ -0,0 +1,54 @@
+package org.example.demo;
+
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Shared executor for database work that must not run on the FX thread.
+ * Callbacks are delivered on the FX thread by the JavaFX Task machinery.
+ */
+public class BackgroundTasks {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "db-worker-" + THREAD_COUNT.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Run work in the background; onSuccess / onError are called on the FX thread
+     */
+    public static <V> Task<V> run(Callable<V> work, Consumer<V> onSuccess, Consumer<Throwable> onError) {
+        Task<V> task = new Task<>() {
+            @Override
+            protected V call() throws Exception {
+                return work.call();
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (onSuccess != null) onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            Throwable ex = task.getException();
+            if (onError != null) {
+                onError.accept(ex);
+            } else {
+                System.err.println("Background task failed: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        });
+        EXECUTOR.submit(task);
+        return task;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs one statement for many rows as JDBC batches inside a single transaction.
+ * Either every row is written or, on any error, none is.
+ */
+public class BatchWriter {
+
+    private static final int BATCH_SIZE = 100;
+
+    /**
+     * Sets the statement parameters for one row
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Execute sql once per row; progress (may be null) receives the number of rows sent so far.
+     * Returns the number of affected rows.
+     */
+    public static <T> int run(String sql, List<T> rows, Binder<? super T> binder, IntConsumer progress) {
+        if (rows.isEmpty()) return 0;
+
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int affected = 0;
+                for (int i = 0; i < rows.size(); i++) {
+                    binder.bind(pstmt, rows.get(i));
+                    pstmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == rows.size() - 1) {
+                        affected += sum(pstmt.executeBatch());
+                        if (progress != null) progress.accept(i + 1);
+                    }
+                }
+                conn.commit();
+                return affected;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error in batch write: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int c : counts) {
+            // SUCCESS_NO_INFO (-2) still means the row was written
+            total += c == java.sql.Statement.SUCCESS_NO_INFO ? 1 : Math.max(c, 0);
+        }
+        return total;
+    }
+}
@@ -1,8 +1,10 @@
 package org.example.demo;
 import javafx.beans.property.*;
 
-import java.time.LocalDate;
-
+/**
+ * Book row. Values live in a compact Row record; the JavaFX properties are
+ * only created when a cell or form asks for them (row visible or edited).
+ */
 public class Book {
     private IntegerProperty book_id;
     private StringProperty title;
@@ -12,68 +14,89 @@ public class Book {
     private StringProperty book_type;
     private DoubleProperty original_price;
     private  StringProperty available;
+
+    private final Row row;
+
+    /**
+     * Compact storage for one book; name is the publisher name and may be null
+     */
+    public record Row(int bookId, int publisherId, String title, String name, String category,
+                      String bookType, double originalPrice, String available) {}
+
     public Book(int book_id, String title, int publisher_id,
                   String category,String book_type, double original_price, String available) {
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.title = new SimpleStringProperty(title);
-        this.publisher_id = new SimpleIntegerProperty(publisher_id);
-        this.category = new SimpleStringProperty(category);
-        this.book_type = new SimpleStringProperty(book_type);
-        this.original_price = new SimpleDoubleProperty(original_price);
-        this.available = new SimpleStringProperty(available);
+        this(new Row(book_id, publisher_id, title, null, category, book_type, original_price, available));
     }
     public Book(int book_id, String title, int publisher_id,
                 String category,String book_type, double original_price, int available) {
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.title = new SimpleStringProperty(title);
-        this.publisher_id = new SimpleIntegerProperty(publisher_id);
-        this.category = new SimpleStringProperty(category);
-        this.book_type = new SimpleStringProperty(book_type);
-        this.original_price = new SimpleDoubleProperty(original_price);
-        this.available = new SimpleStringProperty(String.valueOf(available));
+        this(new Row(book_id, publisher_id, title, null, category, book_type, original_price, String.valueOf(available)));
     }
     public Book(int book_id, String title, String name, String category,String book_type, double original_price, String available) {
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.title = new SimpleStringProperty(title);
-        this.name = new SimpleStringProperty(name);
-        this.category = new SimpleStringProperty(category);
-        this.book_type = new SimpleStringProperty(book_type);
-        this.original_price = new SimpleDoubleProperty(original_price);
-        this.available = new SimpleStringProperty(available);
+        this(new Row(book_id, 0, title, name, category, book_type, original_price, available));
     }
     public Book(int book_id,int publisher_id,String title, String name, String category,String book_type, double original_price, String available) {
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.title = new SimpleStringProperty(title);
-        this.name = new SimpleStringProperty(name);
-        this.category = new SimpleStringProperty(category);
-        this.book_type = new SimpleStringProperty(book_type);
-        this.original_price = new SimpleDoubleProperty(original_price);
-        this.available = new SimpleStringProperty(available);
-        this.publisher_id = new SimpleIntegerProperty(publisher_id);
+        this(new Row(book_id, publisher_id, title, name, category, book_type, original_price, available));
     }
 
+    public Book(Row row) {
+        this.row = row;
+    }
+
+
+    // Getters for TableView binding (created on first use)
+    public IntegerProperty book_idProperty() {
+        if (book_id == null) book_id = new SimpleIntegerProperty(row.bookId());
+        return book_id;
+    }
+    public StringProperty titleProperty() {
+        if (title == null) title = new SimpleStringProperty(row.title());
+        return title;
+    }
+    public IntegerProperty publisher_idProperty() {
+        if (publisher_id == null) publisher_id = new SimpleIntegerProperty(row.publisherId());
+        return publisher_id;
+    }
+    public StringProperty categoryProperty() {
+        if (category == null) category = new SimpleStringProperty(row.category());
+        return category;
+    }
+    public StringProperty book_typeProperty() {
+        if (book_type == null) book_type = new SimpleStringProperty(row.bookType());
+        return book_type;
+    }
+    public DoubleProperty original_priceProperty() {
+        if (original_price == null) original_price = new SimpleDoubleProperty(row.originalPrice());
+        return original_price;
+    }
+    public StringProperty availableProperty() {
+        if (available == null) available = new SimpleStringProperty(row.available());
+        return available;
+    }
+    public StringProperty nameProperty() {
+        if (name == null) name = new SimpleStringProperty(row.name());
+        return name;
+    }
 
-    // Getters for TableView binding
-    public IntegerProperty book_idProperty() { return book_id; }
-    public StringProperty titleProperty() { return title; }
-    public IntegerProperty publisher_idProperty() { return publisher_id; }
-    public StringProperty categoryProperty() { return category; }
-    public StringProperty book_typeProperty() { return book_type; }
-    public DoubleProperty original_priceProperty() { return original_price; }
-    public StringProperty availableProperty() { return available; }
-    public StringProperty nameProperty() { return name; }
+    // Plain getters read the property if it exists, otherwise the compact row
+    public int getBook_id() { return book_id != null ? book_id.get() : row.bookId(); }
+    public String getTitle() { return title != null ? title.get() : row.title(); }
+    public int getPublisher_id() { return publisher_id != null ? publisher_id.get() : row.publisherId(); }
+    public String getName() { return name != null ? name.get() : row.name(); }
+    public String getCategory() { return category != null ? category.get() : row.category(); }
+    public String getBook_type() { return book_type != null ? book_type.get() : row.bookType(); }
+    public double getOriginal_price() { return original_price != null ? original_price.get() : row.originalPrice(); }
+    public String getAvailable() { return available != null ? available.get() : row.available(); }
 
     @Override
     public String toString() {
         return "Book{" +
-                "book_id=" + book_id +
-                ", title=" + title +
-                ", publisher_id=" + publisher_id +
-                ", category=" + category +
-                ", book_type=" + book_type +
-                ", original_price=" + original_price +
-                ", available=" + available +
+                "book_id=" + getBook_id() +
+                ", title=" + getTitle() +
+                ", publisher_id=" + getPublisher_id() +
+                ", category=" + getCategory() +
+                ", book_type=" + getBook_type() +
+                ", original_price=" + getOriginal_price() +
+                ", available=" + getAvailable() +
                 '}';
     }
 }
-
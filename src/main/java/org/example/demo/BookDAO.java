@@ -5,14 +5,28 @@ import javafx.collections.ObservableList;
 
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
  * Data Access Object for Book CRUD operations
  */
-public class BookDAO implements GenericDAO<Book> {
+public class BookDAO implements SortableDAO<Book> {
+
+    static final String DELETE_SQL = "DELETE FROM book WHERE book_id = ?";
+    static final String PUBLISHER_BY_NAME_SQL = "SELECT publisher_id,name FROM publisher WHERE name = ?";
+    static final String UPDATE_SQL = "UPDATE book SET title = ?, publisher_id = ?, category = ?, book_type = ?, original_price = ?, available = ? WHERE book_id = ?";
+
+    // Book list joined with its publisher name
+    static final String LIST_SQL = "SELECT book_id,title,publisher.publisher_id, name, category, book_type, original_price, available FROM book  left JOIN publisher ON book.publisher_id = publisher.publisher_id";
 
     @Override
     public boolean add(Book book) {
+        return addReturningId(book) >= 0;
+    }
+
+    @Override
+    public int addReturningId(Book book) {
         // Validate NOT NULL fields
         String title = book.titleProperty().get();
         if (title == null || title.trim().isEmpty()) {
@@ -26,7 +40,7 @@ public class BookDAO implements GenericDAO<Book> {
                 throw new SQLException("Failed to establish database connection");
             }
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, title.trim());
                 
                 // Handle nullable publisher_id
@@ -70,7 +84,12 @@ public class BookDAO implements GenericDAO<Book> {
                 pstmt.setInt(6, available > 0 ? 1 : 0);
                 
                 int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+                if (rowsAffected == 0) return -1;
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    int id = keys.next() ? keys.getInt(1) : 0;
+                    summarize(id, book, available > 0 ? 1 : 0);
+                    return id;
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error adding book: " + e.getMessage());
@@ -81,58 +100,15 @@ public class BookDAO implements GenericDAO<Book> {
 
     @Override
     public boolean update(Book book) {
-        // Validate NOT NULL fields
-        String title = book.titleProperty().get();
-        if (title == null || title.trim().isEmpty()) {
-            throw new IllegalArgumentException("Title is required and cannot be empty");
-        }
-        
-        String sql = "UPDATE book SET title = ?, publisher_id = ?, category = ?, book_type = ?, original_price = ?, available = ? WHERE book_id = ?";
-        
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
                 throw new SQLException("Failed to establish database connection");
             }
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, title.trim());
-                
-                // Handle nullable publisher_id
-                int publisherId = book.publisher_idProperty().get();
-                if (publisherId <= 0) {
-                    pstmt.setNull(2, java.sql.Types.INTEGER);
-                } else {
-                    pstmt.setInt(2, publisherId);
-                }
-                
-                // Handle nullable category
-                String category = book.categoryProperty().get();
-                if (category == null || category.trim().isEmpty()) {
-                    pstmt.setNull(3, java.sql.Types.VARCHAR);
-                } else {
-                    pstmt.setString(3, category.trim());
-                }
-                
-                // Handle nullable book_type
-                String bookType = book.book_typeProperty().get();
-                if (bookType == null || bookType.trim().isEmpty()) {
-                    pstmt.setNull(4, java.sql.Types.VARCHAR);
-                } else {
-                    pstmt.setString(4, bookType.trim());
-                }
-                
-                // Handle nullable original_price
-                double price = book.original_priceProperty().get();
-                if (price <= 0) {
-                    pstmt.setNull(5, java.sql.Types.DECIMAL);
-                } else {
-                    pstmt.setDouble(5, price);
-                }
-                
-                pstmt.setInt(6, book.availableProperty().get().equals("Yes") ? 1 : 0);
-                pstmt.setInt(7, book.book_idProperty().get());
-                System.out.println(pstmt);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                bindUpdate(pstmt, book);
                 int rowsAffected = pstmt.executeUpdate();
+                if (rowsAffected > 0) summarize(book.book_idProperty().get(), book, updatedAvailable(book));
                 return rowsAffected > 0;
             }
         } catch (SQLException e) {
@@ -142,9 +118,79 @@ public class BookDAO implements GenericDAO<Book> {
         }
     }
 
+    /**
+     * Bulk update of several books in one transaction
+     */
+    @Override
+    public int updateAll(List<Book> books, IntConsumer progress) {
+        int affected = BatchWriter.run(UPDATE_SQL, books, this::bindUpdate, progress);
+        for (Book book : books) {
+            summarize(book.book_idProperty().get(), book, updatedAvailable(book));
+        }
+        return affected;
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, Book book) throws SQLException {
+        // Validate NOT NULL fields
+        String title = book.titleProperty().get();
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Title is required and cannot be empty");
+        }
+        
+        pstmt.setString(1, title.trim());
+        
+        // Handle nullable publisher_id
+        int publisherId = book.publisher_idProperty().get();
+        if (publisherId <= 0) {
+            pstmt.setNull(2, java.sql.Types.INTEGER);
+        } else {
+            pstmt.setInt(2, publisherId);
+        }
+        
+        // Handle nullable category
+        String category = book.categoryProperty().get();
+        if (category == null || category.trim().isEmpty()) {
+            pstmt.setNull(3, java.sql.Types.VARCHAR);
+        } else {
+            pstmt.setString(3, category.trim());
+        }
+        
+        // Handle nullable book_type
+        String bookType = book.book_typeProperty().get();
+        if (bookType == null || bookType.trim().isEmpty()) {
+            pstmt.setNull(4, java.sql.Types.VARCHAR);
+        } else {
+            pstmt.setString(4, bookType.trim());
+        }
+        
+        // Handle nullable original_price
+        double price = book.original_priceProperty().get();
+        if (price <= 0) {
+            pstmt.setNull(5, java.sql.Types.DECIMAL);
+        } else {
+            pstmt.setDouble(5, price);
+        }
+        
+        pstmt.setInt(6, updatedAvailable(book));
+        pstmt.setInt(7, book.book_idProperty().get());
+    }
+
+    private static int updatedAvailable(Book book) {
+        return book.availableProperty().get().equals("Yes") ? 1 : 0;
+    }
+
+    // Feed the dashboard aggregates with the values as they were written (empty category and price <= 0 are NULL)
+    private static void summarize(int id, Book book, int available) {
+        String category = book.categoryProperty().get();
+        double price = book.original_priceProperty().get();
+        SummaryStore.get().bookWritten(id,
+                category == null || category.trim().isEmpty() ? null : category.trim(),
+                price <= 0 ? 0 : price, available);
+    }
+
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM book WHERE book_id = ?";
+        String sql = DELETE_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return false;
@@ -152,6 +198,7 @@ public class BookDAO implements GenericDAO<Book> {
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setInt(1, id);
                 int rowsAffected = pstmt.executeUpdate();
+                if (rowsAffected > 0) SummaryStore.get().bookDeleted(id);
                 return rowsAffected > 0;
             }
         } catch (SQLException e) {
@@ -161,7 +208,7 @@ public class BookDAO implements GenericDAO<Book> {
         }
     }
 public  int getIDbyString(String name){
-        String sql = "SELECT publisher_id,name FROM publisher WHERE name = ?";
+        String sql = PUBLISHER_BY_NAME_SQL;
         System.out.println(name);
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return -1;
@@ -182,9 +229,22 @@ public  int getIDbyString(String name){
         return -1; // Return -1 if not found or error occurs
 
 }
+    /**
+     * Bulk delete of several books in one transaction
+     */
+    @Override
+    public int deleteAll(List<Integer> ids, IntConsumer progress) {
+        int affected = BatchWriter.run(DELETE_SQL, ids, (pstmt, id) -> pstmt.setInt(1, id), progress);
+        for (int id : ids) {
+            SummaryStore.get().bookDeleted(id);
+        }
+        return affected;
+    }
+
     @Override
     public Book getById(int id) {
-        String sql = "SELECT * FROM book WHERE book_id = ?";
+        // Same columns as the list (including the publisher name) so a row can be refreshed in place
+        String sql = LIST_SQL + " WHERE book.book_id = ?";
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return null;
@@ -193,15 +253,7 @@ public  int getIDbyString(String name){
                 pstmt.setInt(1, id);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     if (rs.next()) {
-                        return new Book(
-                            rs.getInt("book_id"),
-                            rs.getString("title"),
-                            rs.getInt("publisher_id"),
-                            rs.getString("category"),
-                            rs.getString("book_type"),
-                            rs.getDouble("original_price"),
-                            rs.getInt("available")>0? "Yes": "No"
-                        );
+                        return mapRow(rs);
                     }
                 }
             }
@@ -216,7 +268,7 @@ public  int getIDbyString(String name){
     public List<Book> getAll() {
         // Always return a non-null list
         ObservableList<Book> books = FXCollections.observableArrayList();
-        String query = "SELECT book_id,title,publisher.publisher_id, name, category, book_type, original_price, available FROM book  left JOIN publisher ON book.publisher_id = publisher.publisher_id";
+        String query = LIST_SQL;
 
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
@@ -228,17 +280,7 @@ public  int getIDbyString(String name){
 
                 while (rs.next()) {
                     try {
-                        Book book = new Book(
-                                rs.getInt("book_id"),
-                                rs.getInt("publisher_id"),
-                                rs.getString("title"),
-                                rs.getString("name"),
-                                rs.getString("category"),
-                                rs.getString("book_type"),
-                                rs.getDouble("original_price"),
-                                rs.getInt("available")>0 ? "Yes": "No"
-                                );
-                        books.add(book);
+                        books.add(mapRow(rs));
                     } catch (Exception e) {
                         // Skip invalid records, continue with others
                         System.err.println("Error creating book from result set: " + e.getMessage());
@@ -258,5 +300,40 @@ public  int getIDbyString(String name){
         // Always return the list (never null)
         return books;
     }
-}
 
+    // Fields that can be sorted by the database, mapped to their SQL columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "book_id", "book.book_id",
+            "title", "book.title",
+            "name", "publisher.name",
+            "category", "book.category",
+            "book_type", "book.book_type",
+            "original_price", "book.original_price"
+    );
+
+    @Override
+    public Map<String, String> sortColumns() {
+        return SORT_COLUMNS;
+    }
+
+    @Override
+    public KeysetPager.Page<Book> getPage(String sortField, boolean ascending, KeysetPager.Cursor after, int limit) {
+        String sortExpr = SORT_COLUMNS.get(sortField);
+        if (sortExpr == null) {
+            throw new IllegalArgumentException("Cannot sort book by " + sortField);
+        }
+        return KeysetPager.fetch(LIST_SQL, sortExpr, "book.book_id", ascending, after, limit, this::mapRow);
+    }
+
+    private Book mapRow(ResultSet rs) throws SQLException {
+        return new Book(
+                rs.getInt("book_id"),
+                rs.getInt("publisher_id"),
+                rs.getString("title"),
+                rs.getString("name"),
+                rs.getString("category"),
+                rs.getString("book_type"),
+                rs.getDouble("original_price"),
+                rs.getInt("available") > 0 ? "Yes" : "No");
+    }
+}
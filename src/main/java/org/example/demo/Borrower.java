@@ -3,12 +3,13 @@ import javafx.beans.property.*;
 
 import java.time.LocalDate;
 
-public class Borrower {
+public class Borrower implements Projected {
     private IntegerProperty borrower_id;
     private StringProperty first_name;
     private StringProperty last_name;
     private IntegerProperty type_id;
     private StringProperty contact_info;
+    private boolean contactInfoLoaded = true; // false while a projected read left contact_info out
     
 
     public Borrower(int borrower_id, String first_name, 
@@ -18,6 +19,15 @@ public class Borrower {
         this.last_name = new SimpleStringProperty(last_name);
         this.type_id = new SimpleIntegerProperty(type_id);
         this.contact_info = new SimpleStringProperty(contact_info);
+        this.contact_info.addListener((obs, o, n) -> contactInfoLoaded = true);
+    }
+
+    /**
+     * Borrower read without contact_info; it is loaded later when it is shown
+     */
+    public Borrower(int borrower_id, String first_name, String last_name, int type_id) {
+        this(borrower_id, first_name, last_name, type_id, null);
+        this.contactInfoLoaded = false;
     }
 
     // Getters for TableView binding
@@ -26,5 +36,11 @@ public class Borrower {
     public StringProperty last_nameProperty() { return last_name; }
     public IntegerProperty type_idProperty() { return type_id; }
     public StringProperty contact_infoProperty() { return contact_info; }
+
+    @Override
+    public boolean isLoaded(String field) { return !field.equals("contact_info") || contactInfoLoaded; }
+
+    @Override
+    public void markLoaded(String field) { if (field.equals("contact_info")) contactInfoLoaded = true; }
 }
 
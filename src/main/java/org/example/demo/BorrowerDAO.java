@@ -4,15 +4,35 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.sql.*;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntConsumer;
 
 /**
  * Data Access Object for Borrower CRUD operations
  */
-public class BorrowerDAO implements GenericDAO<Borrower> {
+public class BorrowerDAO implements SortableDAO<Borrower>, ProjectedDAO<Borrower> {
+
+    // contact_info is only written when it was loaded, so a projected row never clears it
+    static final String BY_ID_SQL = "SELECT * FROM borrower WHERE borrower_id = ?";
+    static final String DELETE_SQL = "DELETE FROM borrower WHERE borrower_id = ?";
+    static final String UPDATE_SQL = "UPDATE borrower SET first_name = ?, last_name = ?, type_id = ?, contact_info = CASE WHEN ? THEN ? ELSE contact_info END WHERE borrower_id = ?";
+
+    private static final List<String> COLUMNS = List.of("borrower_id", "first_name", "last_name", "type_id", "contact_info");
+    private static final Set<String> ALL_FIELDS = Set.copyOf(COLUMNS);
+    private static final Set<String> WIDE_FIELDS = Set.of("contact_info");
+    // Columns read for list pages: everything but the wide text
+    private static final Set<String> LIST_FIELDS = Set.of("borrower_id", "first_name", "last_name", "type_id");
 
     @Override
     public boolean add(Borrower borrower) {
+        return addReturningId(borrower) >= 0;
+    }
+
+    @Override
+    public int addReturningId(Borrower borrower) {
         // Validate NOT NULL fields
         String firstName = borrower.first_nameProperty().get();
         String lastName = borrower.last_nameProperty().get();
@@ -35,7 +55,7 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
                 throw new SQLException("Failed to establish database connection");
             }
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, firstName.trim());
                 pstmt.setString(2, lastName.trim());
                 pstmt.setInt(3, typeId);
@@ -49,7 +69,10 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
                 }
                 
                 int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+                if (rowsAffected == 0) return -1;
+                try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                    return keys.next() ? keys.getInt(1) : 0;
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error adding borrower: " + e.getMessage());
@@ -60,6 +83,32 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
 
     @Override
     public boolean update(Borrower borrower) {
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                bindUpdate(pstmt, borrower);
+                int rowsAffected = pstmt.executeUpdate();
+                return rowsAffected > 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error updating borrower: " + e.getMessage());
+            e.printStackTrace();
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Bulk update of several borrowers in one transaction
+     */
+    @Override
+    public int updateAll(List<Borrower> borrowers, IntConsumer progress) {
+        return BatchWriter.run(UPDATE_SQL, borrowers, this::bindUpdate, progress);
+    }
+
+    private void bindUpdate(PreparedStatement pstmt, Borrower borrower) throws SQLException {
         // Validate NOT NULL fields
         String firstName = borrower.first_nameProperty().get();
         String lastName = borrower.last_nameProperty().get();
@@ -75,41 +124,25 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
             throw new IllegalArgumentException("Type ID is required and must be greater than 0");
         }
         
-        String sql = "UPDATE borrower SET first_name = ?, last_name = ?, type_id = ?, contact_info = ? WHERE borrower_id = ?";
+        pstmt.setString(1, firstName.trim());
+        pstmt.setString(2, lastName.trim());
+        pstmt.setInt(3, typeId);
         
-        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-            if (conn == null) {
-                throw new SQLException("Failed to establish database connection");
-            }
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, firstName.trim());
-                pstmt.setString(2, lastName.trim());
-                pstmt.setInt(3, typeId);
-                
-                // Handle nullable contact_info
-                String contactInfo = borrower.contact_infoProperty().get();
-                if (contactInfo == null || contactInfo.trim().isEmpty()) {
-                    pstmt.setNull(4, java.sql.Types.VARCHAR);
-                } else {
-                    pstmt.setString(4, contactInfo.trim());
-                }
-                
-                pstmt.setInt(5, borrower.borrower_idProperty().get());
-                
-                int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error updating borrower: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        // Handle nullable contact_info
+        pstmt.setBoolean(4, borrower.isLoaded("contact_info"));
+        String contactInfo = borrower.contact_infoProperty().get();
+        if (contactInfo == null || contactInfo.trim().isEmpty()) {
+            pstmt.setNull(5, java.sql.Types.VARCHAR);
+        } else {
+            pstmt.setString(5, contactInfo.trim());
         }
+        
+        pstmt.setInt(6, borrower.borrower_idProperty().get());
     }
 
     @Override
     public boolean delete(int id) {
-        String sql = "DELETE FROM borrower WHERE borrower_id = ?";
+        String sql = DELETE_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return false;
@@ -126,9 +159,17 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
         }
     }
 
+    /**
+     * Bulk delete of several borrowers in one transaction
+     */
+    @Override
+    public int deleteAll(List<Integer> ids, IntConsumer progress) {
+        return BatchWriter.run(DELETE_SQL, ids, (pstmt, id) -> pstmt.setInt(1, id), progress);
+    }
+
     @Override
     public Borrower getById(int id) {
-        String sql = "SELECT * FROM borrower WHERE borrower_id = ?";
+        String sql = BY_ID_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) return null;
@@ -156,9 +197,30 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
 
     @Override
     public List<Borrower> getAll() {
+        return query("SELECT * FROM borrower", ALL_FIELDS);
+    }
+
+    @Override
+    public List<Borrower> getAll(Set<String> fields) {
+        return query("SELECT " + ProjectedDAO.selectList("borrower_id", COLUMNS, fields) + " FROM borrower", fields);
+    }
+
+    @Override
+    public Set<String> wideFields() {
+        return WIDE_FIELDS;
+    }
+
+    @Override
+    public Map<Integer, String> getWideField(String field, Collection<Integer> ids) {
+        if (!WIDE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Not a wide borrower field: " + field);
+        }
+        return ProjectedDAO.fetchColumn("borrower", "borrower_id", field, ids);
+    }
+
+    private List<Borrower> query(String query, Set<String> fields) {
         // Always return a non-null list
         ObservableList<Borrower> borrowers = FXCollections.observableArrayList();
-        String query = "SELECT * FROM borrower";
 
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
@@ -170,13 +232,7 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
 
                 while (rs.next()) {
                     try {
-                        Borrower borrower = new Borrower(
-                                rs.getInt("borrower_id"),
-                                rs.getString("first_name"),
-                                rs.getString("last_name"),
-                                rs.getInt("type_id"),
-                                rs.getString("contact_info"));
-                        borrowers.add(borrower);
+                        borrowers.add(mapRow(rs, fields));
                     } catch (Exception e) {
                         // Skip invalid records, continue with others
                         System.err.println("Error creating borrower from result set: " + e.getMessage());
@@ -196,5 +252,37 @@ public class BorrowerDAO implements GenericDAO<Borrower> {
         // Always return the list (never null)
         return borrowers;
     }
-}
 
+    // Fields that can be sorted by the database, mapped to their SQL columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "borrower_id", "borrower.borrower_id",
+            "first_name", "borrower.first_name",
+            "last_name", "borrower.last_name",
+            "type_id", "borrower.type_id"
+    );
+
+    @Override
+    public Map<String, String> sortColumns() {
+        return SORT_COLUMNS;
+    }
+
+    @Override
+    public KeysetPager.Page<Borrower> getPage(String sortField, boolean ascending, KeysetPager.Cursor after, int limit) {
+        String sortExpr = SORT_COLUMNS.get(sortField);
+        if (sortExpr == null) {
+            throw new IllegalArgumentException("Cannot sort borrower by " + sortField);
+        }
+        return KeysetPager.fetch("SELECT " + ProjectedDAO.selectList("borrower_id", COLUMNS, LIST_FIELDS) + " FROM borrower",
+                sortExpr, "borrower.borrower_id", ascending, after, limit, rs -> mapRow(rs, LIST_FIELDS));
+    }
+
+    private Borrower mapRow(ResultSet rs, Set<String> fields) throws SQLException {
+        int id = rs.getInt("borrower_id");
+        String firstName = fields.contains("first_name") ? rs.getString("first_name") : null;
+        String lastName = fields.contains("last_name") ? rs.getString("last_name") : null;
+        int typeId = fields.contains("type_id") ? rs.getInt("type_id") : 0;
+        return fields.contains("contact_info")
+                ? new Borrower(id, firstName, lastName, typeId, rs.getString("contact_info"))
+                : new Borrower(id, firstName, lastName, typeId);
+    }
+}
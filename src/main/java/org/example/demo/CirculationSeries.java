@@ -0,0 +1,117 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.example.demo.ColumnarStore.Bucket;
+
+/**
+ * Loans, returns and sales per day, week or month over a date range, for
+ * the circulation chart.
+ *
+ * The bucketing is never done on individual rows in the client: when
+ * ColumnarStore is loaded (-Drankings.snapshot=true, a snapshot reloaded
+ * every few minutes) the counts come from its columns (countByBucket), so
+ * they can be that old; otherwise MySQL groups by
+ * the bucket start and only one row per bucket is read. Weeks start on
+ * Monday in both, like ColumnarStore.Bucket.
+ */
+public class CirculationSeries {
+
+    public enum Measure {
+        LOANS("Loans", "loan", "loan_date"),
+        RETURNS("Returns", "loan", "return_date"),
+        SALES("Sales", "sale", "sale_date");
+
+        final String label;
+        final String table;
+        final String column;
+
+        Measure(String label, String table, String column) {
+            this.label = label;
+            this.table = table;
+            this.column = column;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * Count per bucket; element i is the bucket firstBucket + i, buckets without rows are 0
+     */
+    public record Series(Measure measure, Bucket bucket, int firstBucket, int[] counts) {
+
+        public LocalDate start(int i) {
+            return bucket.start(firstBucket + i);
+        }
+    }
+
+    /**
+     * Whether the counts were read from memory or from the database
+     */
+    public record Result(Map<Measure, Series> series, boolean fromMemory) {}
+
+    public static Result load(Bucket bucket, LocalDate from, LocalDate to) throws SQLException {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int first = bucket.of(fromDay);
+        Map<Measure, Series> series = new EnumMap<>(Measure.class);
+
+        ColumnarStore store = ColumnarStore.get();
+        if (store.isLoaded()) {
+            ColumnarStore.Loans loans = store.loans();
+            ColumnarStore.Sales sales = store.sales();
+            series.put(Measure.LOANS, new Series(Measure.LOANS, bucket, first,
+                    ColumnarStore.countByBucket(loans.loanDay(), loans.size(), null, bucket, fromDay, toDay)));
+            series.put(Measure.RETURNS, new Series(Measure.RETURNS, bucket, first,
+                    ColumnarStore.countByBucket(loans.returnDay(), loans.size(), null, bucket, fromDay, toDay)));
+            series.put(Measure.SALES, new Series(Measure.SALES, bucket, first,
+                    ColumnarStore.countByBucket(sales.saleDay(), sales.size(), null, bucket, fromDay, toDay)));
+            return new Result(series, true);
+        }
+
+        int buckets = bucket.of(toDay) - first + 1;
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            for (Measure measure : Measure.values()) {
+                int[] counts = new int[buckets];
+                try (PreparedStatement pstmt = conn.prepareStatement(sql(measure, bucket))) {
+                    pstmt.setQueryTimeout(ReportExecutor.TIMEOUT_SECONDS);
+                    pstmt.setDate(1, java.sql.Date.valueOf(from));
+                    pstmt.setDate(2, java.sql.Date.valueOf(to));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            int slot = bucket.of((int) rs.getDate(1).toLocalDate().toEpochDay()) - first;
+                            if (slot >= 0 && slot < buckets) counts[slot] = rs.getInt(2);
+                        }
+                    }
+                }
+                series.put(measure, new Series(measure, bucket, first, counts));
+            }
+        }
+        return new Result(series, false);
+    }
+
+    /**
+     * One row per non-empty bucket: its first day and the row count
+     */
+    static String sql(Measure measure, Bucket bucket) {
+        String col = measure.column;
+        String start = switch (bucket) {
+            case DAY -> col;
+            case WEEK -> "DATE_SUB(" + col + ", INTERVAL WEEKDAY(" + col + ") DAY)";
+            case MONTH -> "DATE_SUB(" + col + ", INTERVAL DAYOFMONTH(" + col + ") - 1 DAY)";
+        };
+        return "SELECT " + start + " AS bucket_start, COUNT(*) AS n FROM " + measure.table +
+                " WHERE " + col + " BETWEEN ? AND ? GROUP BY bucket_start";
+    }
+}
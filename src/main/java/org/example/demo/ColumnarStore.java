@@ -0,0 +1,371 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory column store of all loans and sales for circulation analytics.
+ *
+ * Each attribute is one primitive array (ids as int, dates as int epoch days
+ * with Loan.Row.NO_DATE for null, prices as double), about 24 bytes per loan
+ * and 20 per sale instead of an object per row. The store is filled by
+ * streaming the tables in the background (start) and reloaded periodically
+ * (-Dcolumnar.reloadMinutes=N, default 5, 0 disables), since loans and sales
+ * are written outside this application. Columns are never changed once they
+ * are swapped in, so analytics run on a snapshot with the static
+ * operations below: a filter produces a selection (array of row numbers) and
+ * the aggregations run over a selection in tight loops over the columns, so
+ * millions of rows take milliseconds and never touch MySQL.
+ */
+public class ColumnarStore {
+
+    public static final long RELOAD_MINUTES = Long.getLong("columnar.reloadMinutes", 5);
+    public static final int NO_DATE = Loan.Row.NO_DATE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    static final String LOANS_SQL = "SELECT loan_id, book_id, borrower_id, loan_date, due_date, return_date FROM loan ORDER BY loan_id";
+    static final String SALES_SQL = "SELECT sale_id, book_id, borrower_id, sale_date, sale_price FROM sale ORDER BY sale_id";
+
+    private static final ColumnarStore INSTANCE = new ColumnarStore();
+
+    /**
+     * Time buckets for aggregations; weeks start on Monday
+     */
+    public enum Bucket {
+        DAY, WEEK, MONTH;
+
+        /**
+         * Bucket number of an epoch day; consecutive buckets have consecutive numbers
+         */
+        public int of(int epochDay) {
+            return switch (this) {
+                case DAY -> epochDay;
+                case WEEK -> Math.floorDiv(epochDay + 3, 7); // epoch day -3 is a Monday
+                case MONTH -> monthIndex(epochDay);
+            };
+        }
+
+        /**
+         * First day of a bucket number
+         */
+        public LocalDate start(int bucket) {
+            return switch (this) {
+                case DAY -> LocalDate.ofEpochDay(bucket);
+                case WEEK -> LocalDate.ofEpochDay(bucket * 7L - 3);
+                case MONTH -> LocalDate.of(Math.floorDiv(bucket, 12), Math.floorMod(bucket, 12) + 1, 1);
+            };
+        }
+    }
+
+    /**
+     * Consistent view of the loan columns; rows 0..size-1 are valid
+     */
+    public record Loans(int size, int[] loanId, int[] bookId, int[] borrowerId,
+                        int[] loanDay, int[] dueDay, int[] returnDay) {}
+
+    /**
+     * Consistent view of the sale columns; rows 0..size-1 are valid
+     */
+    public record Sales(int size, int[] saleId, int[] bookId, int[] borrowerId, int[] saleDay, double[] price) {}
+
+    // Loan columns, ordered by loan_id; guarded by this
+    private int loanCount;
+    private int[] loanId = new int[INITIAL_CAPACITY];
+    private int[] loanBook = new int[INITIAL_CAPACITY];
+    private int[] loanBorrower = new int[INITIAL_CAPACITY];
+    private int[] loanDay = new int[INITIAL_CAPACITY];
+    private int[] dueDay = new int[INITIAL_CAPACITY];
+    private int[] returnDay = new int[INITIAL_CAPACITY];
+
+    // Sale columns, ordered by sale_id; guarded by this
+    private int saleCount;
+    private int[] saleId = new int[INITIAL_CAPACITY];
+    private int[] saleBook = new int[INITIAL_CAPACITY];
+    private int[] saleBorrower = new int[INITIAL_CAPACITY];
+    private int[] saleDay = new int[INITIAL_CAPACITY];
+    private double[] salePrice = new double[INITIAL_CAPACITY];
+
+    private volatile boolean loaded = false;
+    private boolean loading = false; // guarded by this
+
+    private ScheduledExecutorService scheduler;
+
+    public static ColumnarStore get() {
+        return INSTANCE;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Load in the background and schedule the periodic reload; later calls do nothing
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "columnar-reload");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.execute(this::reload);
+        if (RELOAD_MINUTES > 0) {
+            scheduler.scheduleWithFixedDelay(this::reload, RELOAD_MINUTES, RELOAD_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    // Scheduled: an exception would cancel the later reloads
+    private void reload() {
+        try {
+            load();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Error loading circulation columns: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stream both tables into fresh columns and swap them in. Does nothing if
+     * a load is already running.
+     */
+    public void load() throws SQLException {
+        synchronized (this) {
+            if (loading) return;
+            loading = true;
+        }
+        long start = System.nanoTime();
+        ColumnarStore fresh = new ColumnarStore();
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            stream(conn, LOANS_SQL,
+                    rs -> fresh.appendLoan(rs.getInt(1), rs.getInt(2), rs.getInt(3), day(rs.getDate(4)), day(rs.getDate(5)), day(rs.getDate(6))));
+            stream(conn, SALES_SQL,
+                    rs -> fresh.appendSale(rs.getInt(1), rs.getInt(2), rs.getInt(3), day(rs.getDate(4)), rs.getDouble(5)));
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                loading = false;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            loanCount = fresh.loanCount;
+            loanId = fresh.loanId;
+            loanBook = fresh.loanBook;
+            loanBorrower = fresh.loanBorrower;
+            loanDay = fresh.loanDay;
+            dueDay = fresh.dueDay;
+            returnDay = fresh.returnDay;
+            saleCount = fresh.saleCount;
+            saleId = fresh.saleId;
+            saleBook = fresh.saleBook;
+            saleBorrower = fresh.saleBorrower;
+            saleDay = fresh.saleDay;
+            salePrice = fresh.salePrice;
+            loading = false;
+            loaded = true;
+        }
+        System.out.printf("Columnar store: %,d loans, %,d sales loaded in %d ms%n",
+                fresh.loanCount, fresh.saleCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private interface RowSink {
+        void accept(ResultSet rs) throws SQLException;
+    }
+
+    private static void stream(Connection conn, String sql, RowSink sink) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(rs);
+                }
+            }
+        }
+    }
+
+    private static int day(Date date) {
+        return date == null ? NO_DATE : (int) date.toLocalDate().toEpochDay();
+    }
+
+    // Only called on a store being loaded, rows arrive in id order
+    private void appendLoan(int id, int book, int borrower, int loaned, int due, int returned) {
+        if (loanCount == loanId.length) {
+            int capacity = loanId.length * 2;
+            loanId = Arrays.copyOf(loanId, capacity);
+            loanBook = Arrays.copyOf(loanBook, capacity);
+            loanBorrower = Arrays.copyOf(loanBorrower, capacity);
+            loanDay = Arrays.copyOf(loanDay, capacity);
+            dueDay = Arrays.copyOf(dueDay, capacity);
+            returnDay = Arrays.copyOf(returnDay, capacity);
+        }
+        loanId[loanCount] = id;
+        loanBook[loanCount] = book;
+        loanBorrower[loanCount] = borrower;
+        loanDay[loanCount] = loaned;
+        dueDay[loanCount] = due;
+        returnDay[loanCount] = returned;
+        loanCount++;
+    }
+
+    private void appendSale(int id, int book, int borrower, int day, double price) {
+        if (saleCount == saleId.length) {
+            int capacity = saleId.length * 2;
+            saleId = Arrays.copyOf(saleId, capacity);
+            saleBook = Arrays.copyOf(saleBook, capacity);
+            saleBorrower = Arrays.copyOf(saleBorrower, capacity);
+            saleDay = Arrays.copyOf(saleDay, capacity);
+            salePrice = Arrays.copyOf(salePrice, capacity);
+        }
+        saleId[saleCount] = id;
+        saleBook[saleCount] = book;
+        saleBorrower[saleCount] = borrower;
+        saleDay[saleCount] = day;
+        salePrice[saleCount] = price;
+        saleCount++;
+    }
+
+    // ---- Snapshots: the arrays of a loaded store are never written, a reload swaps in new ones ----
+
+    public synchronized Loans loans() {
+        return new Loans(loanCount, loanId, loanBook, loanBorrower, loanDay, dueDay, returnDay);
+    }
+
+    public synchronized Sales sales() {
+        return new Sales(saleCount, saleId, saleBook, saleBorrower, saleDay, salePrice);
+    }
+
+    // ---- Vectorised operations; a null selection means all rows 0..size-1 ----
+
+    /**
+     * Rows of the selection whose value lies in from..to (inclusive); NO_DATE never matches a range above it
+     */
+    public static int[] where(int[] column, int size, int[] selection, int from, int to) {
+        int n = selection == null ? size : selection.length;
+        int[] out = new int[n];
+        int count = 0;
+        if (selection == null) {
+            for (int i = 0; i < size; i++) {
+                int v = column[i];
+                out[count] = i;
+                count += (v >= from & v <= to) ? 1 : 0;
+            }
+        } else {
+            for (int row : selection) {
+                int v = column[row];
+                out[count] = row;
+                count += (v >= from & v <= to) ? 1 : 0;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    /**
+     * Rows of the selection whose value equals value
+     */
+    public static int[] whereEquals(int[] column, int size, int[] selection, int value) {
+        return where(column, size, selection, value, value);
+    }
+
+    /**
+     * Number of selected rows per key; the result is indexed by key (keys are ids, so it is dense)
+     */
+    public static int[] countBy(int[] keys, int size, int[] selection) {
+        int[] counts = new int[maxKey(keys, size, selection) + 1];
+        if (selection == null) {
+            for (int i = 0; i < size; i++) counts[keys[i]]++;
+        } else {
+            for (int row : selection) counts[keys[row]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Sum of values over the selected rows per key, indexed by key
+     */
+    public static double[] sumBy(int[] keys, double[] values, int size, int[] selection) {
+        double[] sums = new double[maxKey(keys, size, selection) + 1];
+        if (selection == null) {
+            for (int i = 0; i < size; i++) sums[keys[i]] += values[i];
+        } else {
+            for (int row : selection) sums[keys[row]] += values[row];
+        }
+        return sums;
+    }
+
+    /**
+     * Number of selected rows per time bucket between fromDay and toDay;
+     * element 0 is the bucket containing fromDay, rows outside the range are ignored
+     */
+    public static int[] countByBucket(int[] days, int size, int[] selection, Bucket bucket, int fromDay, int toDay) {
+        int[] slot = slots(bucket, fromDay, toDay);
+        int[] counts = new int[slot[slot.length - 1] + 1];
+        int n = selection == null ? size : selection.length;
+        for (int k = 0; k < n; k++) {
+            int offset = days[selection == null ? k : selection[k]] - fromDay;
+            if (offset < 0 || offset >= slot.length) continue;
+            counts[slot[offset]]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Sum of values per time bucket between fromDay and toDay, laid out like countByBucket
+     */
+    public static double[] sumByBucket(int[] days, double[] values, int size, int[] selection,
+                                       Bucket bucket, int fromDay, int toDay) {
+        int[] slot = slots(bucket, fromDay, toDay);
+        double[] sums = new double[slot[slot.length - 1] + 1];
+        int n = selection == null ? size : selection.length;
+        for (int k = 0; k < n; k++) {
+            int row = selection == null ? k : selection[k];
+            int offset = days[row] - fromDay;
+            if (offset < 0 || offset >= slot.length) continue;
+            sums[slot[offset]] += values[row];
+        }
+        return sums;
+    }
+
+    // Result slot of every day in fromDay..toDay, so the row loops only do an array lookup
+    private static int[] slots(Bucket bucket, int fromDay, int toDay) {
+        int first = bucket.of(fromDay);
+        int[] slot = new int[toDay - fromDay + 1];
+        for (int d = 0; d < slot.length; d++) {
+            slot[d] = bucket.of(fromDay + d) - first;
+        }
+        return slot;
+    }
+
+    private static int maxKey(int[] keys, int size, int[] selection) {
+        int max = 0;
+        if (selection == null) {
+            for (int i = 0; i < size; i++) max = Math.max(max, keys[i]);
+        } else {
+            for (int row : selection) max = Math.max(max, keys[row]);
+        }
+        return max;
+    }
+
+    // year * 12 + month - 1 from an epoch day, without creating a LocalDate (civil-from-days)
+    static int monthIndex(int epochDay) {
+        int z = epochDay + 719468;
+        int era = Math.floorDiv(z, 146097);
+        int doe = z - era * 146097;
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+}
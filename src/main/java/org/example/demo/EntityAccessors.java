@@ -0,0 +1,328 @@
+package org.example.demo;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WritableValue;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Precompiled access to the xxxProperty() methods of an entity class.
+ *
+ * The accessors are resolved once per class into MethodHandles, so table
+ * cells, sorting and search don't go through reflection while rendering.
+ */
+public class EntityAccessors<E> {
+
+    private static final ClassValue<EntityAccessors<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected EntityAccessors<?> computeValue(Class<?> type) {
+            return new EntityAccessors<>(type);
+        }
+    };
+
+    private final Class<E> clazz;
+    private final Map<String, Accessor> accessors = new LinkedHashMap<>();
+    private final Field[] columnFields;
+    private final MethodHandle rowDiffers; // (Object, Object) boolean over all fields
+
+    @SuppressWarnings("unchecked")
+    public static <E> EntityAccessors<E> of(Class<E> clazz) {
+        return (EntityAccessors<E>) CACHE.get(clazz);
+    }
+
+    private EntityAccessors(Class<E> clazz) {
+        this.clazz = clazz;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        List<Field> columns = new ArrayList<>();
+        for (Field f : clazz.getDeclaredFields()) {
+            String name = f.getName();
+            try {
+                MethodHandle mh = lookup.findVirtual(clazz, name + "Property", MethodType.methodType(f.getType()))
+                        .asType(MethodType.methodType(ObservableValue.class, Object.class));
+                accessors.put(name, new Accessor(name, f.getType(), mh, findGetter(lookup, clazz, name)));
+                columns.add(f);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                // Field without a property accessor (internal storage, not shown in tables)
+            }
+        }
+        this.columnFields = columns.toArray(new Field[0]);
+        this.rowDiffers = composeDiffers(lookup);
+    }
+
+    /**
+     * One handle that compares every field, first difference wins. Called once
+     * per row it stays cheap on a whole table, where a call per field through
+     * each Accessor costs several times more.
+     */
+    private MethodHandle composeDiffers(MethodHandles.Lookup lookup) {
+        MethodType test = MethodType.methodType(boolean.class, Object.class, Object.class);
+        MethodHandle result = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Object.class, Object.class);
+        MethodHandle yes = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Object.class, Object.class);
+        List<Accessor> fields = new ArrayList<>(accessors.values());
+        try {
+            for (int i = fields.size() - 1; i >= 0; i--) {
+                Accessor a = fields.get(i);
+                MethodHandle field;
+                if (a.getter == null) {
+                    field = lookup.findVirtual(Accessor.class, "differs", test).bindTo(a);
+                } else {
+                    Class<?> type = a.getter.type().returnType();
+                    MethodHandle cmp = lookup.findStatic(EntityAccessors.class, "valueDiffers",
+                            MethodType.methodType(boolean.class, type, type));
+                    field = MethodHandles.filterArguments(cmp, 0, a.getter, a.getter);
+                }
+                result = MethodHandles.guardWithTest(field, yes, result);
+            }
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot compare " + clazz.getName(), e);
+        }
+        return result;
+    }
+
+    private static boolean valueDiffers(int a, int b) {
+        return a != b;
+    }
+
+    private static boolean valueDiffers(double a, double b) {
+        return Double.compare(a, b) != 0;
+    }
+
+    private static boolean valueDiffers(Object a, Object b) {
+        return !Objects.equals(a, b);
+    }
+
+    /**
+     * Optional plain getter (getXxx) that reads the value without creating the property
+     */
+    private static MethodHandle findGetter(MethodHandles.Lookup lookup, Class<?> clazz, String name) {
+        String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (java.lang.reflect.Method m : clazz.getMethods()) {
+            if (m.getName().equals(getter) && m.getParameterCount() == 0) {
+                try {
+                    MethodHandle mh = lookup.unreflect(m);
+                    Class<?> rt = m.getReturnType();
+                    return mh.asType(MethodType.methodType(rt.isPrimitive() ? rt : Object.class, Object.class));
+                } catch (IllegalAccessException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Declared fields that are entity columns (have an xxxProperty() accessor), in declaration order
+     */
+    public Field[] columnFields() {
+        return columnFields.clone();
+    }
+
+    public Class<E> entityClass() {
+        return clazz;
+    }
+
+    /**
+     * Accessors in field declaration order
+     */
+    public List<Accessor> all() {
+        return Collections.unmodifiableList(new ArrayList<>(accessors.values()));
+    }
+
+    public Accessor get(String fieldName) {
+        return accessors.get(fieldName);
+    }
+
+    /**
+     * True if the two rows hold different values in any field (see Accessor.differs)
+     */
+    public boolean differs(E a, E b) {
+        try {
+            return (boolean) rowDiffers.invokeExact((Object) a, (Object) b);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Cannot compare " + clazz.getName(), t);
+        }
+    }
+
+    /**
+     * Row comparator for a table's sort order (columns named after fields,
+     * descending ones reversed); reads ints and doubles through the primitive
+     * accessors. Null if no column of the order is a field.
+     */
+    public Comparator<E> comparator(List<? extends TableColumn<E, ?>> sortOrder) {
+        Comparator<E> result = null;
+        for (TableColumn<E, ?> column : sortOrder) {
+            Accessor a = accessors.get(column.getText());
+            if (a == null) continue;
+            Comparator<E> c = a.rowComparator();
+            if (column.getSortType() == TableColumn.SortType.DESCENDING) c = c.reversed();
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result;
+    }
+
+    /**
+     * Cell value factory for the given field, replacing PropertyValueFactory
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Callback<TableColumn.CellDataFeatures<E, T>, ObservableValue<T>> cellValueFactory(String fieldName) {
+        Accessor a = accessors.get(fieldName);
+        if (a == null) return cd -> null;
+        return cd -> (ObservableValue<T>) a.property(cd.getValue());
+    }
+
+    /**
+     * Single accessor for one xxxProperty() method
+     */
+    public static final class Accessor {
+        private final String name;
+        private final Class<?> propertyType;
+        private final MethodHandle handle;
+        private final MethodHandle getter; // may be null
+
+        Accessor(String name, Class<?> propertyType, MethodHandle handle, MethodHandle getter) {
+            this.name = name;
+            this.propertyType = propertyType;
+            this.handle = handle;
+            this.getter = getter != null && getter.type().returnType() == expectedGetterType(propertyType) ? getter : null;
+        }
+
+        private static Class<?> expectedGetterType(Class<?> propertyType) {
+            if (IntegerProperty.class.isAssignableFrom(propertyType)) return int.class;
+            if (DoubleProperty.class.isAssignableFrom(propertyType)) return double.class;
+            return Object.class;
+        }
+
+        public String name() { return name; }
+
+        public Class<?> propertyType() { return propertyType; }
+
+        public boolean isInt() { return IntegerProperty.class.isAssignableFrom(propertyType); }
+
+        public boolean isDouble() { return DoubleProperty.class.isAssignableFrom(propertyType); }
+
+        public boolean isString() { return StringProperty.class.isAssignableFrom(propertyType); }
+
+        public boolean isObject() { return ObjectProperty.class.isAssignableFrom(propertyType); }
+
+        public ObservableValue<?> property(Object row) {
+            try {
+                return (ObservableValue<?>) handle.invokeExact(row);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        // Value reads prefer the plain getter so rows that are never shown keep no properties
+
+        public int getInt(Object row) {
+            if (getter != null) {
+                try {
+                    return (int) getter.invokeExact(row);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            }
+            IntegerProperty p = (IntegerProperty) property(row);
+            return p == null ? 0 : p.get();
+        }
+
+        public double getDouble(Object row) {
+            if (getter != null) {
+                try {
+                    return (double) getter.invokeExact(row);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            }
+            DoubleProperty p = (DoubleProperty) property(row);
+            return p == null ? 0 : p.get();
+        }
+
+        public String getString(Object row) {
+            return (String) getValue(row);
+        }
+
+        public Object getValue(Object row) {
+            if (getter != null) {
+                try {
+                    if (isInt()) return (int) getter.invokeExact(row);
+                    if (isDouble()) return (double) getter.invokeExact(row);
+                    return (Object) getter.invokeExact(row);
+                } catch (Throwable t) {
+                    throw rethrow(t);
+                }
+            }
+            ObservableValue<?> p = property(row);
+            return p == null ? null : p.getValue();
+        }
+
+        /**
+         * Set the value through the property (created if needed); null numbers become 0
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public void setValue(Object row, Object value) {
+            if (property(row) instanceof WritableValue w) {
+                if (value == null && (isInt() || isDouble())) value = 0;
+                w.setValue(value);
+            }
+        }
+
+        /**
+         * True if the two rows hold different values for this field (no boxing for ints and doubles)
+         */
+        public boolean differs(Object a, Object b) {
+            if (isInt()) return getInt(a) != getInt(b);
+            if (isDouble()) return Double.compare(getDouble(a), getDouble(b)) != 0;
+            return !Objects.equals(getValue(a), getValue(b));
+        }
+
+        private RuntimeException rethrow(Throwable t) {
+            if (t instanceof RuntimeException r) return r;
+            if (t instanceof Error e) throw e;
+            return new IllegalStateException("Cannot read " + name, t);
+        }
+
+        /**
+         * Row comparator that compares ints and doubles without boxing; nulls sort first
+         */
+        public <E> Comparator<E> rowComparator() {
+            if (isInt()) return (a, b) -> Integer.compare(getInt(a), getInt(b));
+            if (isDouble()) return (a, b) -> Double.compare(getDouble(a), getDouble(b));
+            if (isString()) {
+                return (a, b) -> compareNullable(getString(a), getString(b), String.CASE_INSENSITIVE_ORDER);
+            }
+            return (a, b) -> {
+                Object x = getValue(a), y = getValue(b);
+                if (x instanceof LocalDate dx && y instanceof LocalDate dy) {
+                    return Long.compare(dx.toEpochDay(), dy.toEpochDay());
+                }
+                return compareNullable(x == null ? null : x.toString(), y == null ? null : y.toString(),
+                        Comparator.naturalOrder());
+            };
+        }
+
+        private static <V> int compareNullable(V x, V y, Comparator<? super V> cmp) {
+            if (x == null || y == null) return x == null ? (y == null ? 0 : -1) : 1;
+            return cmp.compare(x, y);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.demo;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Control;
+import javafx.scene.control.TextField;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Form description for one entity class, computed once and shared by every
+ * GenericFormBuilder of that class: which fields get an input, which control
+ * type, the NOT NULL rules and how a row is copied into the controls.
+ */
+public class FormModel<T> {
+
+    private static final ClassValue<FormModel<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected FormModel<?> computeValue(Class<?> type) {
+            return new FormModel<>(type);
+        }
+    };
+
+    // Publisher names for the publisher picker, loaded once and shared by all forms
+    private static final ObservableList<String> PUBLISHER_NAMES = FXCollections.observableArrayList();
+    private static final Map<String, Integer> PUBLISHER_IDS = new ConcurrentHashMap<>(); // also read by write tasks
+    private static boolean publishersRequested = false;
+    private static boolean publishersLoaded = false; // FX thread only
+
+    enum ControlKind { TEXT, PUBLISHER_CHOICE, AVAILABLE_CHOICE }
+
+    /**
+     * One form input: its field, control type, label and NOT NULL rule
+     */
+    public static final class FieldSpec {
+        final Field field;
+        final ControlKind kind;
+        final String label;
+        final EntityAccessors.Accessor accessor;
+        final String requiredMessage;   // null if the field may be empty
+        final boolean positiveInt;      // value must parse to an int > 0
+
+        FieldSpec(Field field, ControlKind kind, String label, EntityAccessors.Accessor accessor,
+                  String requiredMessage, boolean positiveInt) {
+            this.field = field;
+            this.kind = kind;
+            this.label = label;
+            this.accessor = accessor;
+            this.requiredMessage = requiredMessage;
+            this.positiveInt = positiveInt;
+        }
+
+        public Field field() { return field; }
+
+        public String label() { return label; }
+
+        public boolean isPublisherChoice() { return kind == ControlKind.PUBLISHER_CHOICE; }
+
+        Control createControl() {
+            switch (kind) {
+                case PUBLISHER_CHOICE: {
+                    ComboBox<String> comboBox = new ComboBox<>(PUBLISHER_NAMES);
+                    comboBox.setEditable(false);
+                    comboBox.setPromptText("select publisher");
+                    return comboBox;
+                }
+                case AVAILABLE_CHOICE: {
+                    ComboBox<String> comboBox = new ComboBox<>();
+                    comboBox.setEditable(false);
+                    comboBox.setPromptText("Is Available?");
+                    comboBox.getItems().addAll("Yes", "No");
+                    return comboBox;
+                }
+                default: {
+                    TextField input = new TextField();
+                    input.setPromptText(field.getName());
+                    return input;
+                }
+            }
+        }
+
+        /**
+         * Copy the row's value for this field into the control (no-op if the row has no value)
+         */
+        @SuppressWarnings("unchecked")
+        void bind(Object row, Control control) {
+            if (accessor == null || accessor.property(row) == null) return;
+            Object v = accessor.getValue(row);
+            if (control instanceof ComboBox) {
+                ((ComboBox<String>) control).setValue(v == null ? null : v.toString());
+            } else if (control instanceof TextField) {
+                ((TextField) control).setText(v == null ? "" : v.toString());
+            }
+        }
+    }
+
+    private final List<FieldSpec> fields;
+
+    @SuppressWarnings("unchecked")
+    public static <T> FormModel<T> of(Class<T> clazz) {
+        return (FormModel<T>) CACHE.get(clazz);
+    }
+
+    private FormModel(Class<T> clazz) {
+        EntityAccessors<T> accessors = EntityAccessors.of(clazz);
+        String className = clazz.getSimpleName();
+        List<FieldSpec> specs = new ArrayList<>();
+
+        for (Field f : accessors.columnFields()) {
+            String name = f.getName();
+            // skip ID (auto)
+            if (name.contains("id") && name.contains(className.toLowerCase()) || name.equals("publisher_id"))
+                continue;
+            f.setAccessible(true);
+
+            ControlKind kind = ControlKind.TEXT;
+            String label = capitalize(name) + ":";
+            if (name.equals("name")) {
+                kind = ControlKind.PUBLISHER_CHOICE;
+                label = "publisher names:";
+            } else if (name.equals("available")) {
+                kind = ControlKind.AVAILABLE_CHOICE;
+                label = "Available:";
+            }
+
+            specs.add(new FieldSpec(f, kind, label, accessors.get(name),
+                    requiredMessage(className, name), className.equals("Borrower") && name.equals("type_id")));
+        }
+        this.fields = Collections.unmodifiableList(specs);
+    }
+
+    // NOT NULL columns of the underlying tables
+    private static String requiredMessage(String className, String fieldName) {
+        switch (className + "." + fieldName) {
+            case "Author.first_name":
+            case "Borrower.first_name": return "First name is required.";
+            case "Author.last_name":
+            case "Borrower.last_name": return "Last name is required.";
+            case "Book.title": return "Title is required.";
+            case "Borrower.type_id": return "Type ID is required.";
+            default: return null;
+        }
+    }
+
+    public List<FieldSpec> fields() {
+        return fields;
+    }
+
+    /**
+     * Check NOT NULL rules against the current control values; returns the first error or null
+     */
+    public String validateRequired(Map<Field, Control> inputs) {
+        for (FieldSpec spec : fields) {
+            if (spec.requiredMessage == null) continue;
+            Control c = inputs.get(spec.field);
+            String value = c instanceof TextField ? ((TextField) c).getText().trim() : null;
+            if (value == null || value.isEmpty()) {
+                return spec.requiredMessage;
+            }
+            if (spec.positiveInt) {
+                try {
+                    if (Integer.parseInt(value) <= 0) {
+                        return "Type ID must be greater than 0.";
+                    }
+                } catch (NumberFormatException e) {
+                    return "Type ID must be a valid number.";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Publisher names for the picker; loaded in the background on first use
+     */
+    static synchronized void ensurePublishersLoaded() {
+        if (publishersRequested) return;
+        publishersRequested = true;
+        BackgroundTasks.run(DataCollector::getAllPublisher, publishers -> {
+            List<String> names = new ArrayList<>(publishers.size());
+            PUBLISHER_IDS.clear();
+            for (Publisher p : publishers) {
+                names.add(p.nameProperty().get());
+                PUBLISHER_IDS.put(p.nameProperty().get(), p.publisher_idProperty().get());
+            }
+            PUBLISHER_NAMES.setAll(names);
+            publishersLoaded = true;
+        }, ex -> {
+            System.err.println("Error loading publishers: " + ex.getMessage());
+            synchronized (FormModel.class) {
+                publishersRequested = false;
+            }
+        });
+    }
+
+    /**
+     * Whether the publisher names and IDs have arrived; forms with a
+     * publisher picker must not save before (FX thread only)
+     */
+    static boolean publishersLoaded() {
+        return publishersLoaded;
+    }
+
+    /**
+     * ID of the named publisher in the loaded map, -1 if it isn't there
+     * (not loaded yet, or a publisher added since the load). Never queries
+     * the database, so it is safe on the FX thread.
+     */
+    static int knownPublisherId(String name) {
+        if (name == null || name.isEmpty()) return -1;
+        Integer id = PUBLISHER_IDS.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * ID of the named publisher, -1 if there is none. Answered from the
+     * loaded map; a name it doesn't know is looked up in the database and
+     * remembered. Queries the database: background threads only.
+     */
+    static int publisherId(String name) {
+        int id = knownPublisherId(name);
+        if (id >= 0 || name == null || name.isEmpty()) return id;
+        int stored = new BookDAO().getIDbyString(name);
+        if (stored > 0) PUBLISHER_IDS.put(name, stored);
+        return stored;
+    }
+
+    private static String capitalize(String s) {
+        if (s == null || s.isEmpty()) return s;
+        // Handle snake_case
+        if (s.contains("_")) {
+            String[] parts = s.split("_");
+            StringBuilder result = new StringBuilder();
+            for (String part : parts) {
+                if (!part.isEmpty()) {
+                    result.append(part.substring(0, 1).toUpperCase())
+                          .append(part.substring(1).toLowerCase())
+                          .append(" ");
+                }
+            }
+            return result.toString().trim();
+        }
+        return s.substring(0, 1).toUpperCase() + s.substring(1);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watchdog for the JavaFX application thread.
+ *
+ * A daemon thread posts a heartbeat with Platform.runLater and waits for the
+ * FX thread to run it. While a heartbeat is late by more than the threshold
+ * the FX thread's stack is sampled every poll, for as long as the stall lasts.
+ * Once the heartbeat runs the stall is logged with its duration, the UI action
+ * most samples were in (outermost app frame, e.g. a button handler, and the
+ * innermost app frame it was blocked in, e.g. a DAO method) and that stack.
+ * An idle UI only sees one runLater per heartbeat; no pulses are requested.
+ * Threshold: -Dfx.stallThresholdMs=N (default 500), disable with -Dfx.stallDetector=false.
+ */
+public class FxStallDetector {
+
+    public static final long THRESHOLD_MS = Long.getLong("fx.stallThresholdMs", 500);
+    private static final long HEARTBEAT_MS = 100;
+    private static final long POLL_MS = 50;
+    private static final int LOGGED_FRAMES = 12;
+    private static final String APP_PACKAGE = "org.example.demo.";
+
+    private static boolean installed = false;
+
+    // Running totals per action, guarded by the class lock
+    private static final Map<String, Totals> TOTALS = new LinkedHashMap<>();
+    private static int stallCount = 0;
+    private static long stallMillis = 0;
+
+    private static final class Totals {
+        int count;
+        long totalMs;
+        long maxMs;
+    }
+
+    /**
+     * Start watching; must be called on the FX application thread
+     */
+    public static synchronized void install() {
+        if (installed || !Boolean.parseBoolean(System.getProperty("fx.stallDetector", "true"))) return;
+        installed = true;
+
+        Thread fxThread = Thread.currentThread();
+        Thread watchdog = new Thread(() -> watch(fxThread), "fx-stall-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    private static void watch(Thread fxThread) {
+        long thresholdNanos = THRESHOLD_MS * 1_000_000;
+        try {
+            while (fxThread.isAlive()) {
+                AtomicLong answered = new AtomicLong();
+                long posted = System.nanoTime();
+                Platform.runLater(() -> answered.set(System.nanoTime()));
+
+                // Sample the FX thread for as long as the heartbeat is overdue
+                List<StackTraceElement[]> samples = new ArrayList<>();
+                while (answered.get() == 0 && fxThread.isAlive()) {
+                    Thread.sleep(POLL_MS);
+                    if (answered.get() == 0 && System.nanoTime() - posted > thresholdNanos) {
+                        samples.add(fxThread.getStackTrace());
+                    }
+                }
+                if (!samples.isEmpty() && answered.get() != 0) {
+                    record((answered.get() - posted) / 1_000_000, samples);
+                }
+                Thread.sleep(HEARTBEAT_MS);
+            }
+        } catch (InterruptedException | IllegalStateException e) {
+            // Interrupted, or the FX toolkit has shut down
+        }
+    }
+
+    private static void record(long millis, List<StackTraceElement[]> samples) {
+        // The action most samples were in, and the first stack taken in it
+        Map<String, Integer> hits = new LinkedHashMap<>();
+        Map<String, StackTraceElement[]> stacks = new LinkedHashMap<>();
+        for (StackTraceElement[] sample : samples) {
+            String a = describe(sample);
+            hits.merge(a, 1, Integer::sum);
+            stacks.putIfAbsent(a, sample);
+        }
+        String action = null;
+        for (Map.Entry<String, Integer> e : hits.entrySet()) {
+            if (action == null || e.getValue() > hits.get(action)) action = e.getKey();
+        }
+        StackTraceElement[] stack = stacks.get(action);
+
+        synchronized (FxStallDetector.class) {
+            Totals t = TOTALS.computeIfAbsent(action, k -> new Totals());
+            t.count++;
+            t.totalMs += millis;
+            t.maxMs = Math.max(t.maxMs, millis);
+            stallCount++;
+            stallMillis += millis;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("FX thread stalled ").append(millis).append(" ms in ").append(action)
+                .append(" (").append(hits.get(action)).append(" of ").append(samples.size()).append(" samples)");
+        for (Map.Entry<String, Integer> e : hits.entrySet()) {
+            if (!e.getKey().equals(action)) sb.append(", ").append(e.getValue()).append(" in ").append(e.getKey());
+        }
+        sb.append('\n');
+        for (int i = 0; i < Math.min(stack.length, LOGGED_FRAMES); i++) {
+            sb.append("    at ").append(stack[i]).append('\n');
+        }
+        System.err.print(sb);
+    }
+
+    /**
+     * "action -> blocking call" from the outermost and innermost application frames
+     */
+    static String describe(StackTraceElement[] stack) {
+        List<StackTraceElement> app = new ArrayList<>();
+        for (StackTraceElement e : stack) {
+            if (e.getClassName().startsWith(APP_PACKAGE) && !e.getClassName().startsWith(FxStallDetector.class.getName())) {
+                app.add(e);
+            }
+        }
+        if (app.isEmpty()) {
+            return stack.length > 0 ? "JavaFX internals (" + frame(stack[0]) + ")" : "unknown";
+        }
+        String innermost = frame(app.get(0));
+        String outermost = frame(app.get(app.size() - 1));
+        return innermost.equals(outermost) ? innermost : outermost + " -> " + innermost;
+    }
+
+    // Class and method only, so every sample in one method counts for the same action; lines are in the logged stack
+    private static String frame(StackTraceElement e) {
+        String cls = e.getClassName();
+        return cls.substring(cls.lastIndexOf('.') + 1) + "." + e.getMethodName();
+    }
+
+    /**
+     * Running totals, worst actions first
+     */
+    public static synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("UI stalls over %d ms: %d, total %d ms%n%n", THRESHOLD_MS, stallCount, stallMillis));
+        TOTALS.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().totalMs, a.getValue().totalMs))
+                .forEach(e -> sb.append(String.format("%4d x  total %6d ms  max %6d ms  %s%n",
+                        e.getValue().count, e.getValue().totalMs, e.getValue().maxMs, e.getKey())));
+        return sb.toString();
+    }
+
+    public static synchronized void reset() {
+        TOTALS.clear();
+        stallCount = 0;
+        stallMillis = 0;
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.demo;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 
 public interface GenericDAO<E> {
     public boolean add(E obj);
@@ -8,4 +9,36 @@ public interface GenericDAO<E> {
     public boolean delete(int id);
     public E getById(int id);
     public List<E> getAll();
-}
\ No newline at end of file
+
+    /**
+     * Insert and return the generated ID; 0 if the DAO can't report it, -1 if nothing was inserted
+     */
+    default int addReturningId(E obj) {
+        return add(obj) ? 0 : -1;
+    }
+
+    /**
+     * Update several rows; progress (may be null) receives the number of rows done.
+     * DAOs override this to write all rows in one batched transaction.
+     */
+    default int updateAll(List<E> rows, IntConsumer progress) {
+        int updated = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (update(rows.get(i))) updated++;
+            if (progress != null) progress.accept(i + 1);
+        }
+        return updated;
+    }
+
+    /**
+     * Delete several rows by ID; see updateAll
+     */
+    default int deleteAll(List<Integer> ids, IntConsumer progress) {
+        int deleted = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            if (delete(ids.get(i))) deleted++;
+            if (progress != null) progress.accept(i + 1);
+        }
+        return deleted;
+    }
+}
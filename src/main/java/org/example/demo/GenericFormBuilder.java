@@ -1,6 +1,10 @@
 package org.example.demo;
 
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.concurrent.Task;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -11,6 +15,9 @@ import org.example.demo.GenericDAO;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.IntConsumer;
 
 public class GenericFormBuilder<T> {
 
@@ -20,9 +27,21 @@ public class GenericFormBuilder<T> {
     private final javafx.collections.ObservableList<T> observableList; // Backing list for TableView
     private final Runnable reloadCallback; // Callback to reload from database
     private boolean canEdit = true; // For role-based access control
+    private final FormModel<T> formModel; // Fields, controls and rules, shared per entity class
+
+    private static final String SELECTION_LISTENER_KEY = "GenericFormBuilder.selectionListener";
+    private static final String SELECTION_COUNT_LISTENER_KEY = "GenericFormBuilder.selectionCountListener";
+
+    // Rows whose background write hasn't finished; Update/Delete stay disabled while one is selected
+    private final Set<T> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Button updateButton;
+    private Button deleteButton;
+    private final Label selectionHint = new Label();
+    private Map<Field, Control> boundInputs; // inputs of the form built by buildForm
 
     public GenericFormBuilder(Class<T> clazz, GenericDAO<T> dao, TableView<T> table) {
         this.clazz = clazz;
+        this.formModel = FormModel.of(clazz);
         this.dao = dao;
         this.table = table;
         this.observableList = null;
@@ -31,6 +50,7 @@ public class GenericFormBuilder<T> {
 
     public GenericFormBuilder(Class<T> clazz, GenericDAO<T> dao, TableView<T> table, boolean canEdit) {
         this.clazz = clazz;
+        this.formModel = FormModel.of(clazz);
         this.dao = dao;
         this.table = table;
         this.observableList = null;
@@ -45,6 +65,7 @@ public class GenericFormBuilder<T> {
                              javafx.collections.ObservableList<T> observableList, 
                              boolean canEdit, Runnable reloadCallback) {
         this.clazz = clazz;
+        this.formModel = FormModel.of(clazz);
         this.dao = dao;
         this.table = table;
         this.observableList = observableList;
@@ -59,52 +80,16 @@ public class GenericFormBuilder<T> {
         form.setVgap(8);
 
         Map<Field, Control> fieldInputs = new LinkedHashMap<>();
+        boundInputs = fieldInputs;
 
+        // Controls come from the per-class form model (field scan done once per class)
+        FormModel.ensurePublishersLoaded();
         int row = 0;
-
-
-        for (Field f : clazz.getDeclaredFields()) {
-            if (f.getName().contains("id") && f.getName().contains(clazz.getSimpleName().toLowerCase())|| f.getName().equals("publisher_id"))
-                continue;
-             ; // skip ID (auto)
-            f.setAccessible(true);
-            Label label = new Label(capitalize(f.getName()) + ":");
-            TextField input = new TextField();
-            input.setPromptText(f.getName());
-
-
- if (f.getName().equals("name")) {
-    ComboBox<String> comboBox = new ComboBox<>();
-    comboBox.setEditable(false);
-    comboBox.setPromptText("select publisher");
-    for (Publisher p : DataCollector.getAllPublisher()) {
-        comboBox.getItems().add(p.nameProperty().get());
-    }
-    Label label2= new Label("publisher names:");
-
-    form.add(label2, 0, row);
-    form.add(comboBox, 1, row);
-    fieldInputs.put(f, comboBox);
-    row++;
-    continue;
-}
- else if (f.getName().equals("available")) {
-                ComboBox<String> comboBox = new ComboBox<>();
-                comboBox.setEditable(false);
-                comboBox.setPromptText("Is Available?");
-                comboBox.getItems().addAll("Yes", "No");
-                Label label2= new Label("Available:");
-
-                form.add(label2, 0, row);
-                form.add(comboBox, 1, row);
-                fieldInputs.put(f, comboBox);
-                row++;
-                continue;
-            }
-            form.add(label, 0, row);
+        for (FormModel.FieldSpec spec : formModel.fields()) {
+            Control input = spec.createControl();
+            form.add(new Label(spec.label()), 0, row);
             form.add(input, 1, row);
-            fieldInputs.put(f, input);
-
+            fieldInputs.put(spec.field(), input);
             row++;
         }
 
@@ -121,12 +106,25 @@ public class GenericFormBuilder<T> {
             btnDelete.setDisable(true);
         }
 
+        updateButton = btnUpdate;
+        deleteButton = btnDelete;
+
         HBox actions = new HBox(10, btnAdd, btnUpdate, btnDelete, btnClear);
         actions.setAlignment(Pos.CENTER_RIGHT);
         form.add(actions, 0, row, 2, 1);
 
-        // Add
+        // Several rows selected: Update assigns the filled fields to all of them, Delete removes them all
+        if (canEdit && observableList != null) {
+            table.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        }
+        selectionHint.setWrapText(true);
+        selectionHint.setMaxWidth(320);
+        form.add(selectionHint, 0, row + 1, 2, 1);
+
+        // Add: the row appears at once, the insert runs in the background and
+        // the row is then refreshed from the database (or removed again on failure)
         btnAdd.setOnAction(e -> {
+            T obj;
             try {
                 // Validate required fields
                 String validationError = validateRequiredFields(fieldInputs);
@@ -140,68 +138,75 @@ public class GenericFormBuilder<T> {
                     showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid values for all fields.");
                     return;
                 }
+                String publisherError = publisherError(fieldInputs);
+                if (publisherError != null) {
+                    showAlert(Alert.AlertType.ERROR, "Validation Error", publisherError);
+                    return;
+                }
 
                 // Create object using constructor with default values, then set fields
-                T obj = createNewInstance(fieldInputs);
-                System.out.println("Created new instance: " + obj);
-                
-                // Attempt to add
-                boolean success = dao.add(obj);
-                
-                if (success) {
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Record added successfully!");
-                    // Clear all input fields
-                    fieldInputs.values().forEach(c -> {
-                        if (c instanceof TextField tf) {
-                            tf.clear();
-                        }
-                        else if (c instanceof ComboBox<?> cb){
-                            cb.setValue(null);
-                           cb.setPromptText(cb.getPromptText());
-                           }
-                    });
-                    
-                    // Update TableView: reload from database to get auto-generated ID
-                    if (reloadCallback != null && observableList != null) {
-                        // Reload from database and update ObservableList
-                        reloadCallback.run();
-                        // Refresh table to show new record
-                        table.refresh();
-                    } else {
-                        // Fallback: use old refresh method
-                        refreshTable();
-                    }
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to add record. Please check your input and try again.");
-                }
+                obj = createNewInstance(fieldInputs);
             } catch (NumberFormatException ex) {
                 showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid numbers for numeric fields.");
-            } catch (IllegalArgumentException ex) {
-                // Validation errors from DAO
-                showAlert(Alert.AlertType.ERROR, "Validation Error", ex.getMessage());
-            } catch (RuntimeException ex) {
-                // Database errors wrapped in RuntimeException
-                String errorMsg = ex.getMessage();
-                if (errorMsg != null && errorMsg.contains("Database error:")) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", errorMsg.replace("Database error: ", ""));
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error", "An error occurred: " + errorMsg);
-                }
-                ex.printStackTrace();
+                return;
             } catch (Exception ex) {
                 showAlert(Alert.AlertType.ERROR, "Error", "An unexpected error occurred: " + ex.getMessage());
                 ex.printStackTrace();
+                return;
+            }
+
+            materialize(obj);
+            if (observableList != null) {
+                observableList.add(obj);
+                markPending(obj, true);
             }
+            PublisherPick publisher = pickPublisher(fieldInputs);
+            clearInputs(fieldInputs);
+
+            BackgroundTasks.run(() -> {
+                resolvePublisher(List.of(obj), publisher);
+                int id = dao.addReturningId(obj);
+                if (id < 0) {
+                    throw new WriteFailedException("Failed to add record. Please check your input and try again.");
+                }
+                return Optional.ofNullable(id > 0 ? dao.getById(id) : null);
+            }, stored -> {
+                tableWritten();
+                markPending(obj, false);
+                if (observableList == null) {
+                    refreshTable();
+                } else if (stored.isPresent()) {
+                    copyValues(stored.get(), obj);
+                    rowsEdited();
+                } else if (reloadCallback != null) {
+                    // No generated key from this DAO: reload to pick up the new ID
+                    reloadCallback.run();
+                }
+            }, ex -> {
+                markPending(obj, false);
+                if (observableList != null) observableList.remove(obj);
+                // Put the input back so nothing has to be retyped
+                for (FormModel.FieldSpec spec : formModel.fields()) {
+                    spec.bind(obj, fieldInputs.get(spec.field()));
+                }
+                showWriteError(ex);
+            });
         });
 
-        // Update
+        // Update: the row shows the new values at once and is rolled back if the update fails
         btnUpdate.setOnAction(e -> {
+            if (table.getSelectionModel().getSelectedItems().size() > 1) {
+                bulkUpdate(fieldInputs);
+                return;
+            }
             T selected = table.getSelectionModel().getSelectedItem();
-            System.out.println("Selected item: " + selected);
             if (selected == null) {
                 showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a record to update.");
                 return;
             }
+            if (pending.contains(selected)) return;
+
+            Map<EntityAccessors.Accessor, Object> before;
             try {
                 // Validate required fields
                 String validationError = validateRequiredFields(fieldInputs);
@@ -215,6 +220,14 @@ public class GenericFormBuilder<T> {
                     showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid values for all fields.");
                     return;
                 }
+                String publisherError = publisherError(fieldInputs);
+                if (publisherError != null) {
+                    showAlert(Alert.AlertType.ERROR, "Validation Error", publisherError);
+                    return;
+                }
+
+                materialize(selected);
+                before = snapshot(selected);
 
                 // Update all fields from form inputs
                 for (Field f : fieldInputs.keySet()) {
@@ -230,12 +243,12 @@ public class GenericFormBuilder<T> {
                         ComboBox<String> comboBox=(ComboBox<String>) fieldInputs.get(f);
                         String value= comboBox.getValue();
                         // Skip ID fields (they shouldn't be updated)
-                        if(f.getName().equals("name")){
+                        if(f.getName().equals("name") && value != null){
                             Field publisherField = clazz.getDeclaredField("publisher_id");
 
 
 
-                            setFieldValue(selected,publisherField, new BookDAO().getIDbyString(value)+"");
+                            setFieldValue(selected,publisherField, FormModel.knownPublisherId(value)+"");
 
                         }
 
@@ -244,60 +257,56 @@ public class GenericFormBuilder<T> {
                     }
 
                 }
-                System.out.println("Updated instance: " + selected);
-                // Attempt to update
-                boolean success = dao.update(selected);
-                
-                if (success) {
-                    showAlert(Alert.AlertType.INFORMATION, "Success", "Record updated successfully!");
-                    for (final Field f : fieldInputs.keySet()) {
-                       if(fieldInputs.get(f) instanceof TextField) {
-                        ((TextField) fieldInputs.get(f)).clear();
-                       }
-                       else {
-                           ((ComboBox<String>) fieldInputs.get(f)).setValue("");
-                       }
-                    }
-                    // Update TableView: reload from database to get latest data
-                    if (reloadCallback != null && observableList != null) {
-                        // Reload from database and update ObservableList
-                        reloadCallback.run();
-                        // Refresh table to show updated data
-                        table.refresh();
-                    } else {
-                        // Fallback: use old refresh method
-                        refreshTable();
-                    }
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to update record. Please check your input and try again.");
-                }
             } catch (NumberFormatException ex) {
                 showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid numbers for numeric fields.");
-            } catch (IllegalArgumentException ex) {
-                // Validation errors from DAO
-                showAlert(Alert.AlertType.ERROR, "Validation Error", ex.getMessage());
-            } catch (RuntimeException ex) {
-                // Database errors wrapped in RuntimeException
-                String errorMsg = ex.getMessage();
-                if (errorMsg != null && errorMsg.contains("Database error:")) {
-                    showAlert(Alert.AlertType.ERROR, "Database Error", errorMsg.replace("Database error: ", ""));
-                } else {
-                    showAlert(Alert.AlertType.ERROR, "Error", "An error occurred: " + errorMsg);
-                }
-                ex.printStackTrace();
+                return;
             } catch (Exception ex) {
                 showAlert(Alert.AlertType.ERROR, "Error", "An unexpected error occurred: " + ex.getMessage());
                 ex.printStackTrace();
+                return;
             }
+
+            int id = getId(selected);
+            PublisherPick publisher = pickPublisher(fieldInputs);
+            markPending(selected, true);
+            clearInputs(fieldInputs);
+            rowsEdited();
+
+            BackgroundTasks.run(() -> {
+                resolvePublisher(List.of(selected), publisher);
+                if (!dao.update(selected)) {
+                    throw new WriteFailedException("Failed to update record. Please check your input and try again.");
+                }
+                return Optional.ofNullable(id > 0 ? dao.getById(id) : null);
+            }, stored -> {
+                tableWritten();
+                markPending(selected, false);
+                if (observableList == null) {
+                    refreshTable();
+                    return;
+                }
+                stored.ifPresent(s -> copyValues(s, selected));
+                rowsEdited();
+            }, ex -> {
+                markPending(selected, false);
+                restore(selected, before);
+                rowsEdited();
+                showWriteError(ex);
+            });
         });
 
-        // Delete
+        // Delete: the row disappears at once and is put back if the delete fails
         btnDelete.setOnAction(e -> {
+            if (table.getSelectionModel().getSelectedItems().size() > 1) {
+                bulkDelete(fieldInputs);
+                return;
+            }
             T selected = table.getSelectionModel().getSelectedItem();
             if (selected == null) {
                 showAlert(Alert.AlertType.WARNING, "No Selection", "Please select a record to delete.");
                 return;
             }
+            if (pending.contains(selected)) return;
             // Confirmation dialog
             Alert confirmAlert = new Alert(Alert.AlertType.CONFIRMATION);
             confirmAlert.setTitle("Confirm Delete");
@@ -305,126 +314,355 @@ public class GenericFormBuilder<T> {
             confirmAlert.setContentText("Are you sure you want to delete this record? This action cannot be undone.");
             
             Optional<ButtonType> result = confirmAlert.showAndWait();
-            if (result.isPresent() && result.get() == ButtonType.OK) {
+            if (result.isEmpty() || result.get() != ButtonType.OK) return;
+
+            int id = getId(selected);
+            if (id <= 0) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Invalid record ID. Cannot delete.");
+                return;
+            }
+
+            clearInputs(fieldInputs);
+            int index = observableList != null ? observableList.indexOf(selected) : -1;
+            if (index >= 0) observableList.remove(index);
+
+            BackgroundTasks.run(() -> dao.delete(id), success -> {
+                if (success) tableWritten();
+                if (!success) {
+                    reinsert(selected, index);
+                    showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete record. It may be referenced by other records.");
+                } else if (observableList == null) {
+                    refreshTable();
+                }
+            }, ex -> {
+                reinsert(selected, index);
+                String errorMsg = ex.getMessage();
+                if (errorMsg != null && (errorMsg.contains("foreign key") || errorMsg.contains("constraint"))) {
+                    showAlert(Alert.AlertType.ERROR, "Delete Error", "Cannot delete this record. It is referenced by other records in the database.");
+                } else {
+                    showAlert(Alert.AlertType.ERROR, "Error", "An error occurred while deleting: " + errorMsg);
+                }
+                ex.printStackTrace();
+            });
+        });
+        // Clear
+        btnClear.setOnAction(e -> clearInputs(fieldInputs));
+
+
+        // Table selection listener: one per table, replacing the listener of any earlier form
+        installSelectionListener((obs, old, val) -> {
+            updateFormState();
+            if (val == null || table.getSelectionModel().getSelectedItems().size() > 1) return;
+            for (FormModel.FieldSpec spec : formModel.fields()) {
                 try {
-                    int id = getIdFromObject(selected);
-                    if (id <= 0) {
-                        showAlert(Alert.AlertType.ERROR, "Error", "Invalid record ID. Cannot delete.");
-                        return;
-                    }
-                    
-                    boolean success = dao.delete(id);
-                    
-                    if (success) {
-                        showAlert(Alert.AlertType.INFORMATION, "Success", "Record deleted successfully!");
-                        // Clear input fields
-
-                                fieldInputs.values().forEach(c -> {
-                                    if (c instanceof TextField tf) {
-                                        tf.clear();
-                                    }
-                                    else if (c instanceof ComboBox<?> cb){
-                                        cb.setValue(null);
-                                       cb.setPromptText(cb.getPromptText());
-                                       }
-                                });
-
-
-                        // Update TableView: remove from ObservableList directly
-                        if (observableList != null) {
-                            // Remove the selected item directly from the list
-                            observableList.remove(selected);
-                            // Refresh table to update display
-                            table.refresh();
-                        } else {
-                            // Fallback: reload from database
-                            if (reloadCallback != null) {
-                                reloadCallback.run();
-                                table.refresh();
-                            } else {
-                                refreshTable();
-                            }
-                        }
-                    } else {
-                        showAlert(Alert.AlertType.ERROR, "Error", "Failed to delete record. It may be referenced by other records.");
-                    }
+                    spec.bind(val, fieldInputs.get(spec.field()));
                 } catch (Exception ex) {
-                    String errorMsg = ex.getMessage();
-                    if (errorMsg != null && errorMsg.contains("foreign key") || errorMsg.contains("constraint")) {
-                        showAlert(Alert.AlertType.ERROR, "Delete Error", "Cannot delete this record. It is referenced by other records in the database.");
-                    } else {
-                        showAlert(Alert.AlertType.ERROR, "Error", "An error occurred while deleting: " + errorMsg);
-                    }
                     ex.printStackTrace();
                 }
             }
+        }, c -> {
+            int count = table.getSelectionModel().getSelectedItems().size();
+            if (count > 1) {
+                clearInputs(fieldInputs);
+                selectionHint.setText(count + " rows selected. Update sets the filled fields on all of them "
+                        + "(empty fields are left unchanged); Delete removes them all.");
+            } else {
+                selectionHint.setText("");
+            }
+            updateFormState();
         });
+        return form;
+    }
 
-        // Clear
-        btnClear.setOnAction(e ->
-                fieldInputs.values().forEach(c-> {
-                    if (c instanceof TextField tf) {
-                        tf.clear();
-                    }
-                    else if (c instanceof ComboBox<?> cb){
-                        cb.setValue(null);
-                       cb.setPromptText(cb.getPromptText());
-                       }
+    /**
+     * Copy the row into the form again if it is still the only selected row
+     * (used when fields of the row arrive after it was selected)
+     */
+    public void refreshSelected(T row) {
+        if (boundInputs == null || table.getSelectionModel().getSelectedItems().size() != 1
+                || table.getSelectionModel().getSelectedItem() != row) return;
+        for (FormModel.FieldSpec spec : formModel.fields()) {
+            spec.bind(row, boundInputs.get(spec.field()));
+        }
+    }
 
-                    }
-                )
-        );
+    private void clearInputs(Map<Field, Control> fieldInputs) {
+        fieldInputs.values().forEach(c -> {
+            if (c instanceof TextField tf) {
+                tf.clear();
+            }
+            else if (c instanceof ComboBox<?> cb){
+                cb.setValue(null);
+                cb.setPromptText(cb.getPromptText());
+            }
+        });
+    }
 
+    // ---- optimistic writes ----
 
-        // Table selection listener
-        table.getSelectionModel().selectedItemProperty().addListener((obs, old, val) -> {
-            if (val == null) return;
-            try {
-                for (Field f : fieldInputs.keySet()) {
-                    f.setAccessible(true);
-                    Object v = f.get(val);
-                    Control control = fieldInputs.get(f);
-                    if (v != null) {
-                        System.out.println(
-                                "Field: " + f.getName() +
-                                        " actual control: " + control.getClass().getSimpleName()
-                        );
-
-                        if (control instanceof ComboBox) {
-                            System.out.println("Setting ComboBox for field " + f.getName() + " to value: " + v);
-                            ComboBox<String> comboBox = (ComboBox<String>) control;
-                            if (v != null) {
-                                if (v instanceof javafx.beans.property.Property) {
-                                    v = ((javafx.beans.property.Property<?>) v).getValue();
-                                }
-
-                                comboBox.setValue(v.toString());
-                            } else {
-                                comboBox.setValue(null);
-                            }
-                        } else if (control instanceof TextField) {
-                            TextField textField = (TextField) control;
+    /**
+     * Thrown by a background write when the DAO reports that nothing was written
+     */
+    private static class WriteFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
 
+        WriteFailedException(String message) {
+            super(message);
+        }
+    }
 
-                            if (v != null) {
-                                if (v instanceof javafx.beans.property.Property) {
-                                    v = ((javafx.beans.property.Property<?>) v).getValue();
-                                }
-                                textField.setText(v.toString());
-                            } else {
-                                textField.setText("");
-                            }
-                        }
-                        else
-                            System.out.println("Unknown control type for field " + f.getName());
-                    }}}
-                     catch (Exception ex) {
-                        ex.printStackTrace();
-                    }}
+    // Cached reports that read this entity's table are stale after a write
+    private void tableWritten() {
+        ReportEngine.get().invalidate(clazz.getSimpleName().toLowerCase());
+    }
+
+    // Rows were changed in place: redraw them and test them against the active search again
+    private void rowsEdited() {
+        table.refresh();
+        SearchBox.refilter(table);
+    }
+
+    private void markPending(T row, boolean isPending) {
+        if (isPending) pending.add(row); else pending.remove(row);
+        updateFormState();
+    }
+
+    private void updateFormState() {
+        if (!canEdit || updateButton == null) return;
+        boolean locked = false;
+        for (T selected : table.getSelectionModel().getSelectedItems()) {
+            if (selected != null && pending.contains(selected)) {
+                locked = true;
+                break;
+            }
+        }
+        updateButton.setDisable(locked);
+        deleteButton.setDisable(locked);
+    }
+
+    /**
+     * Create every property of the row on the FX thread before a background
+     * DAO call reads it, so lazy properties are never created concurrently
+     */
+    private void materialize(T row) {
+        for (EntityAccessors.Accessor a : EntityAccessors.of(clazz).all()) {
+            a.property(row);
+        }
+    }
+
+    private Map<EntityAccessors.Accessor, Object> snapshot(T row) {
+        Map<EntityAccessors.Accessor, Object> values = new LinkedHashMap<>();
+        for (EntityAccessors.Accessor a : EntityAccessors.of(clazz).all()) {
+            values.put(a, a.getValue(row));
+        }
+        return values;
+    }
+
+    private void restore(T row, Map<EntityAccessors.Accessor, Object> values) {
+        values.forEach((a, v) -> a.setValue(row, v));
+    }
+
+    /**
+     * Copy the database copy of a row into the row shown in the table
+     */
+    private void copyValues(T from, T to) {
+        for (EntityAccessors.Accessor a : EntityAccessors.of(clazz).all()) {
+            a.setValue(to, a.getValue(from));
+        }
+    }
+
+    private void reinsert(T row, int index) {
+        if (observableList == null || index < 0) return;
+        observableList.add(Math.min(index, observableList.size()), row);
+    }
+
+    private void showWriteError(Throwable ex) {
+        if (ex instanceof WriteFailedException) {
+            showAlert(Alert.AlertType.ERROR, "Error", ex.getMessage());
+        } else if (ex instanceof NumberFormatException) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid numbers for numeric fields.");
+        } else if (ex instanceof IllegalArgumentException) {
+            // Validation errors from DAO
+            showAlert(Alert.AlertType.ERROR, "Validation Error", ex.getMessage());
+        } else {
+            // Database errors wrapped in RuntimeException
+            String errorMsg = ex.getMessage();
+            if (errorMsg != null && errorMsg.contains("Database error:")) {
+                showAlert(Alert.AlertType.ERROR, "Database Error", errorMsg.replace("Database error: ", ""));
+            } else {
+                showAlert(Alert.AlertType.ERROR, "Error", "An error occurred: " + errorMsg);
+            }
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Attach the form's selection listener to the table, removing the one a
+     * previous form for the same table registered, so listeners never pile up
+     */
+    @SuppressWarnings("unchecked")
+    private void installSelectionListener(ChangeListener<T> listener, ListChangeListener<T> countListener) {
+        ChangeListener<T> previous = (ChangeListener<T>) table.getProperties().get(SELECTION_LISTENER_KEY);
+        if (previous != null) {
+            table.getSelectionModel().selectedItemProperty().removeListener(previous);
+        }
+        table.getSelectionModel().selectedItemProperty().addListener(listener);
+        table.getProperties().put(SELECTION_LISTENER_KEY, listener);
+
+        ListChangeListener<T> previousCount = (ListChangeListener<T>) table.getProperties().get(SELECTION_COUNT_LISTENER_KEY);
+        if (previousCount != null) {
+            table.getSelectionModel().getSelectedItems().removeListener(previousCount);
+        }
+        table.getSelectionModel().getSelectedItems().addListener(countListener);
+        table.getProperties().put(SELECTION_COUNT_LISTENER_KEY, countListener);
+    }
 
-        );  return form;}
+    // ---- bulk edit / delete ----
+
+    /**
+     * Assign every filled form field to all selected rows and write them in one batched transaction
+     */
+    @SuppressWarnings("unchecked")
+    private void bulkUpdate(Map<Field, Control> fieldInputs) {
+        List<T> rows = new ArrayList<>(table.getSelectionModel().getSelectedItems());
+        for (T row : rows) {
+            if (pending.contains(row)) return;
+        }
 
+        // Only the fields the user filled in are assigned
+        Map<Field, String> assignments = new LinkedHashMap<>();
+        for (Map.Entry<Field, Control> entry : fieldInputs.entrySet()) {
+            String value = entry.getValue() instanceof TextField tf
+                    ? tf.getText().trim()
+                    : ((ComboBox<String>) entry.getValue()).getValue();
+            if (value != null && !value.isEmpty()) assignments.put(entry.getKey(), value);
+        }
+        if (assignments.isEmpty()) {
+            showAlert(Alert.AlertType.WARNING, "Nothing to Update",
+                    "Fill in the fields to set on all " + rows.size() + " selected records.");
+            return;
+        }
+        if (!validateFields(fieldInputs)) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error", "Please enter valid values for all fields.");
+            return;
+        }
+        String publisherError = publisherError(fieldInputs);
+        if (publisherError != null) {
+            showAlert(Alert.AlertType.ERROR, "Validation Error", publisherError);
+            return;
+        }
 
+        StringBuilder summary = new StringBuilder();
+        for (Field f : assignments.keySet()) {
+            if (summary.length() > 0) summary.append(", ");
+            summary.append(f.getName()).append(" = ").append(assignments.get(f));
+        }
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Confirm Bulk Update");
+        confirm.setHeaderText("Update " + rows.size() + " records");
+        confirm.setContentText("Set " + summary + " on all selected records?");
+        Optional<ButtonType> answer = confirm.showAndWait();
+        if (answer.isEmpty() || answer.get() != ButtonType.OK) return;
+
+        List<Map<EntityAccessors.Accessor, Object>> before = new ArrayList<>(rows.size());
+        try {
+            for (T row : rows) {
+                materialize(row);
+                before.add(snapshot(row));
+                for (Map.Entry<Field, String> a : assignments.entrySet()) {
+                    if (a.getKey().getName().equals("name")) {
+                        setFieldValue(row, clazz.getDeclaredField("publisher_id"), FormModel.knownPublisherId(a.getValue()) + "");
+                    }
+                    setFieldValue(row, a.getKey(), a.getValue());
+                }
+            }
+        } catch (Exception ex) {
+            for (int i = 0; i < before.size(); i++) restore(rows.get(i), before.get(i));
+            showWriteError(ex instanceof NumberFormatException ? ex : new RuntimeException(ex.getMessage(), ex));
+            return;
+        }
+
+        PublisherPick publisher = pickPublisher(fieldInputs);
+        rows.forEach(r -> pending.add(r));
+        updateFormState();
+        rowsEdited();
+
+        ProgressDialog.run(table.getScene().getWindow(), "Updating " + rows.size() + " records...",
+                batchTask(rows.size(), progress -> {
+                    resolvePublisher(rows, publisher);
+                    return dao.updateAll(rows, progress);
+                }), updated -> {
+                    tableWritten();
+                    rows.forEach(r -> pending.remove(r));
+                    updateFormState();
+                    if (observableList == null) refreshTable(); else rowsEdited();
+                    showAlert(Alert.AlertType.INFORMATION, "Success", updated + " records updated.");
+                }, ex -> {
+                    // The transaction was rolled back, so put the old values back as well
+                    for (int i = 0; i < rows.size(); i++) restore(rows.get(i), before.get(i));
+                    rows.forEach(r -> pending.remove(r));
+                    updateFormState();
+                    rowsEdited();
+                    showWriteError(ex);
+                });
+    }
+
+    /**
+     * Delete all selected rows in one batched transaction and remove them from the list in one change
+     */
+    private void bulkDelete(Map<Field, Control> fieldInputs) {
+        List<T> rows = new ArrayList<>(table.getSelectionModel().getSelectedItems());
+        List<Integer> ids = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            int id = getId(row);
+            if (pending.contains(row)) return;
+            if (id <= 0) {
+                showAlert(Alert.AlertType.ERROR, "Error", "Invalid record ID. Cannot delete.");
+                return;
+            }
+            ids.add(id);
+        }
+
+        Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
+        confirm.setTitle("Confirm Delete");
+        confirm.setHeaderText("Delete " + rows.size() + " Records");
+        confirm.setContentText("Are you sure you want to delete the " + rows.size()
+                + " selected records? This action cannot be undone.");
+        Optional<ButtonType> answer = confirm.showAndWait();
+        if (answer.isEmpty() || answer.get() != ButtonType.OK) return;
+
+        clearInputs(fieldInputs);
+        ProgressDialog.run(table.getScene().getWindow(), "Deleting " + rows.size() + " records...",
+                batchTask(ids.size(), progress -> dao.deleteAll(ids, progress)), deleted -> {
+                    tableWritten();
+                    if (observableList != null) {
+                        Set<T> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+                        removed.addAll(rows);
+                        observableList.removeAll(removed);
+                    } else {
+                        refreshTable();
+                    }
+                    showAlert(Alert.AlertType.INFORMATION, "Success", deleted + " records deleted.");
+                }, ex -> {
+                    String errorMsg = ex.getMessage();
+                    if (errorMsg != null && (errorMsg.contains("foreign key") || errorMsg.contains("constraint"))) {
+                        showAlert(Alert.AlertType.ERROR, "Delete Error", "Nothing was deleted: at least one of the "
+                                + "records is referenced by other records in the database.");
+                    } else {
+                        showWriteError(ex);
+                    }
+                });
+    }
+
+    private static Task<Integer> batchTask(int total, java.util.function.Function<IntConsumer, Integer> work) {
+        return new Task<>() {
+            @Override
+            protected Integer call() {
+                updateProgress(0, total);
+                return work.apply(done -> updateProgress(done, total));
+            }
+        };
+    }
 
 
     /**
@@ -455,8 +693,7 @@ public class GenericFormBuilder<T> {
             
             // Safely update table items
             if (table.getItems() != null) {
-                table.getItems().clear();
-                table.getItems().setAll(allItems);
+                ListDiff.apply(table.getItems(), allItems);
             } else {
                 // If items list is null, initialize it
                 javafx.collections.ObservableList<T> items = javafx.collections.FXCollections.observableArrayList(allItems);
@@ -496,8 +733,9 @@ public class GenericFormBuilder<T> {
         f.setAccessible(true);
         Class<?> fieldType = f.getType();
         
-        // Handle JavaFX properties
-        Object fieldValue = f.get(obj);
+        // Handle JavaFX properties (through the accessor, which creates lazy properties on demand)
+        EntityAccessors.Accessor accessor = EntityAccessors.of(clazz).get(f.getName());
+        Object fieldValue = accessor != null ? accessor.property(obj) : f.get(obj);
         if (fieldValue instanceof javafx.beans.property.Property) {
             Class<?> propertyType = getPropertyType(fieldValue);
             if (propertyType == Integer.class || propertyType == int.class) {
@@ -526,17 +764,14 @@ public class GenericFormBuilder<T> {
         return String.class; // default
     }
 
-    private int getIdFromObject(T obj) throws Exception {
+    private int getId(T obj) {
         // Try to find ID field (author_id, book_id, borrower_id, etc.)
-        Field[] fields = clazz.getDeclaredFields();
+        Field[] fields = EntityAccessors.of(clazz).columnFields();
         for (Field f : fields) {
             if (f.getName().toLowerCase().endsWith("_id") || f.getName().equalsIgnoreCase("id")) {
-                f.setAccessible(true);
-                Object value = f.get(obj);
-                if (value instanceof javafx.beans.property.IntegerProperty) {
-                    return ((javafx.beans.property.IntegerProperty) value).get();
-                } else if (value instanceof Integer) {
-                    return (Integer) value;
+                EntityAccessors.Accessor accessor = EntityAccessors.of(clazz).get(f.getName());
+                if (accessor.isInt()) {
+                    return accessor.getInt(obj);
                 }
             }
         }
@@ -547,58 +782,7 @@ public class GenericFormBuilder<T> {
      * Validate required fields based on NOT NULL constraints
      */
     private String validateRequiredFields(Map<Field, Control> fieldInputs) {
-        String className = clazz.getSimpleName();
-        
-        // Author: first_name, last_name are NOT NULL
-        if (className.equals("Author")) {
-            String firstName = getFieldValueByName("first_name", fieldInputs);
-            String lastName = getFieldValueByName("last_name", fieldInputs);
-            if (firstName == null || firstName.trim().isEmpty()) {
-                return "First name is required.";
-            }
-            if (lastName == null || lastName.trim().isEmpty()) {
-                return "Last name is required.";
-            }
-        }
-        // Book: title is NOT NULL
-        else if (className.equals("Book")) {
-            String title = getFieldValueByName("title", fieldInputs);
-            if (title == null || title.trim().isEmpty()) {
-                return "Title is required.";
-            }
-        }
-        // Borrower: first_name, last_name, type_id are NOT NULL
-        else if (className.equals("Borrower")) {
-            String firstName = getFieldValueByName("first_name", fieldInputs);
-            String lastName = getFieldValueByName("last_name", fieldInputs);
-            String typeId = getFieldValueByName("type_id", fieldInputs);
-            if (firstName == null || firstName.trim().isEmpty()) {
-                return "First name is required.";
-            }
-            if (lastName == null || lastName.trim().isEmpty()) {
-                return "Last name is required.";
-            }
-            if (typeId == null || typeId.trim().isEmpty()) {
-                return "Type ID is required.";
-            }
-            try {
-                if (Integer.parseInt(typeId) <= 0) {
-                    return "Type ID must be greater than 0.";
-                }
-            } catch (NumberFormatException e) {
-                return "Type ID must be a valid number.";
-            }
-        }
-        return null; // No validation errors
-    }
-
-    private String getFieldValueByName(String fieldName, Map<Field, Control> fieldInputs) {
-        for (Map.Entry<Field, Control> entry : fieldInputs.entrySet()) {
-            if (entry.getKey().getName().equals(fieldName)) {
-                return ((TextField) entry.getValue()).getText().trim();
-            }
-        }
-        return null;
+        return formModel.validateRequired(fieldInputs);
     }
 
     /**
@@ -613,7 +797,7 @@ public class GenericFormBuilder<T> {
                 value = tf.getText().trim();}
             else {
                 ComboBox<String> tf=(ComboBox<String>) entry.getValue();
-                value= String.valueOf(new BookDAO().getIDbyString(tf.getValue()));
+                value= tf.getValue() == null ? "" : tf.getValue();
             }
 
             
@@ -648,6 +832,63 @@ public class GenericFormBuilder<T> {
         return true;
     }
 
+    /**
+     * Why the picked publisher can't be saved yet (names still loading), null
+     * if it can. A name the database doesn't know is reported by the write
+     * task (resolvePublisher), the lookup must not run on the FX thread.
+     */
+    private String publisherError(Map<Field, Control> fieldInputs) {
+        if (pickPublisher(fieldInputs) == null || FormModel.publishersLoaded()) return null;
+        FormModel.ensurePublishersLoaded();
+        return "Publishers are still loading. Please try again in a moment.";
+    }
+
+    /**
+     * Publisher picked for a write, and the ID the rows were given for it on
+     * the FX thread (-1 if the name wasn't among the loaded ones)
+     */
+    private record PublisherPick(String name, int givenId) {}
+
+    /**
+     * The publisher picked in the form, null if the form has no publisher choice or nothing is picked
+     */
+    @SuppressWarnings("unchecked")
+    private PublisherPick pickPublisher(Map<Field, Control> fieldInputs) {
+        for (FormModel.FieldSpec spec : formModel.fields()) {
+            if (!spec.isPublisherChoice()) continue;
+            String name = ((ComboBox<String>) fieldInputs.get(spec.field())).getValue();
+            return name == null ? null : new PublisherPick(name, FormModel.knownPublisherId(name));
+        }
+        return null;
+    }
+
+    /**
+     * First step of a write task: look up the ID of the picked publisher
+     * (from the loaded names, else the database) and give it to the rows on
+     * the FX thread before they are written. An unknown name fails the write
+     * with "Unknown publisher", so publisher_id is never written as NULL by mistake.
+     */
+    private void resolvePublisher(List<T> rows, PublisherPick publisher) {
+        if (publisher == null) return;
+        int id = FormModel.publisherId(publisher.name());
+        if (id < 0) throw new WriteFailedException("Unknown publisher: " + publisher.name());
+        if (id == publisher.givenId()) return;
+        FutureTask<Void> apply = new FutureTask<>(() -> {
+            Field publisherField = clazz.getDeclaredField("publisher_id");
+            for (T row : rows) setFieldValue(row, publisherField, String.valueOf(id));
+            return null;
+        });
+        Platform.runLater(apply);
+        try {
+            apply.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteFailedException("Interrupted before the record was saved.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
     private void showAlert(Alert.AlertType type, String title, String message) {
         Alert alert = new Alert(type);
         alert.setTitle(title);
@@ -656,28 +897,10 @@ public class GenericFormBuilder<T> {
         alert.showAndWait();
     }
 
-    private String capitalize(String s) {
-        if (s == null || s.isEmpty()) return s;
-        // Handle snake_case
-        if (s.contains("_")) {
-            String[] parts = s.split("_");
-            StringBuilder result = new StringBuilder();
-            for (String part : parts) {
-                if (!part.isEmpty()) {
-                    result.append(part.substring(0, 1).toUpperCase())
-                          .append(part.substring(1).toLowerCase())
-                          .append(" ");
-                }
-            }
-            return result.toString().trim();
-        }
-        return s.substring(0, 1).toUpperCase() + s.substring(1);
-    }
-
     @SuppressWarnings("unchecked")
     private T createNewInstance(Map<Field, Control> fieldInputs) throws Exception {
-        // Get all declared fields in order
-        Field[] fields = clazz.getDeclaredFields();
+        // Get all entity column fields in order (skips internal storage fields)
+        Field[] fields = EntityAccessors.of(clazz).columnFields();
         java.util.List<Object> constructorArgs = new java.util.ArrayList<>();
         java.util.List<Class<?>> paramTypes = new java.util.ArrayList<>();
         
@@ -686,12 +909,11 @@ public class GenericFormBuilder<T> {
             Class<?> fieldType = f.getType();
             String fieldName = f.getName();
             String value = getFieldValue(f, fieldInputs);
-            System.out.println(value+" for field "+fieldName);
             if(fieldName.equals("publisher_id"))
               continue;
             else if(fieldName.equals("name"))
             {
-                value= String.valueOf(new BookDAO().getIDbyString(value));
+                value= String.valueOf(FormModel.knownPublisherId(value));
              fieldType=int.class;
             }
             // Handle JavaFX properties - get the actual type
@@ -743,7 +965,6 @@ public class GenericFormBuilder<T> {
                 }
             }
         }
-        System.out.println("constructorArgs: " + constructorArgs);
         // Find and call constructor
         java.lang.reflect.Constructor<?> constructor = clazz.getConstructor(paramTypes.toArray(new Class[0]));
         return (T) constructor.newInstance(constructorArgs.toArray());
@@ -17,9 +17,10 @@ public class HelloController {
     }
 
     public static class DatabaseConnection {
-        private static final String URL = "jdbc:mysql://localhost:3306/libr";
-        private static final String USER = "root"; // change if needed
-        private static final String PASSWORD = ""; // change if needed
+        // Override with -Ddb.url / -Ddb.user / -Ddb.password, e.g. to point tools at a seeded copy
+        private static final String URL = System.getProperty("db.url", "jdbc:mysql://localhost:3306/libr");
+        private static final String USER = System.getProperty("db.user", "root"); // change if needed
+        private static final String PASSWORD = System.getProperty("db.password", ""); // change if needed
 
         static {
             try {
@@ -0,0 +1,72 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Warns when a column used for ORDER BY / keyset pagination has no index
+ * starting with it, since MySQL then has to filesort the whole table for every page.
+ */
+public class IndexAdvisor {
+
+    // "table(col1,col2)" -> whether a supporting index exists
+    private static final Map<String, Boolean> CHECKED = new ConcurrentHashMap<>();
+
+    /**
+     * Check a qualified column ("table.column") once per run and log a warning if it is not indexed
+     */
+    public static void checkSortColumn(String qualifiedColumn) {
+        int dot = qualifiedColumn.indexOf('.');
+        if (dot < 0) return;
+        checkIndex(qualifiedColumn.substring(0, dot), qualifiedColumn.substring(dot + 1));
+    }
+
+    /**
+     * Check once per run that some index of the table starts with these columns
+     * (in this order) and log a warning with the CREATE INDEX to run if not
+     */
+    public static boolean checkIndex(String table, String... columns) {
+        String key = table + "(" + String.join(",", columns) + ")";
+        return CHECKED.computeIfAbsent(key, k -> {
+            boolean indexed = hasLeadingIndex(table, columns);
+            if (!indexed) {
+                System.err.println("IndexAdvisor: no index starts with " + k
+                        + "; queries filtering or sorting by it will scan the table. Consider: CREATE INDEX idx_"
+                        + table + "_" + String.join("_", columns) + " ON " + k);
+            }
+            return indexed;
+        });
+    }
+
+    /**
+     * True if some index of the table has the columns as its leading columns, in order
+     */
+    private static boolean hasLeadingIndex(String table, String... columns) {
+        StringBuilder sql = new StringBuilder("SELECT index_name FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND (");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) sql.append(" OR ");
+            sql.append("(seq_in_index = ").append(i + 1).append(" AND column_name = ?)");
+        }
+        sql.append(") GROUP BY index_name HAVING COUNT(*) = ").append(columns.length).append(" LIMIT 1");
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) return true; // can't tell, don't warn
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                pstmt.setString(1, table);
+                for (int i = 0; i < columns.length; i++) {
+                    pstmt.setString(i + 2, columns[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("IndexAdvisor: could not read index metadata: " + e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.demo;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds and runs keyset-paginated queries for SortableDAO implementations.
+ *
+ * Instead of OFFSET, the next page continues after the sort key and id of the
+ * last row already loaded, so every page is an index range scan when the sort
+ * column is indexed. MySQL sorts NULLs first ascending and last descending,
+ * which the continuation conditions below follow. The cursor keeps the sort
+ * key as the database returned it, so a NULL continues as NULL even where the
+ * entity shows it as 0.
+ */
+public class KeysetPager {
+
+    public interface RowMapper<E> {
+        E map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Sort key (null for NULL) and primary key of the last row of a page
+     */
+    public record Cursor(Object key, int id) {}
+
+    /**
+     * Rows of one page and the cursor to continue after it (null when the page is empty)
+     */
+    public record Page<E>(List<E> rows, Cursor next) {}
+
+    /**
+     * @param baseSql   SELECT ... FROM ... without WHERE / ORDER BY
+     * @param sortExpr  qualified sort column, e.g. "book.title"
+     * @param idExpr    qualified primary key column, e.g. "book.book_id"
+     * @param after     next cursor of the previous page, null for the first page
+     */
+    public static <E> Page<E> fetch(String baseSql, String sortExpr, String idExpr, boolean ascending,
+                                    Cursor after, int limit, RowMapper<E> mapper) {
+        IndexAdvisor.checkSortColumn(sortExpr);
+
+        String dir = ascending ? "ASC" : "DESC";
+        String cmp = ascending ? ">" : "<";
+        // The keys are selected as well, the mapped entity may not hold them as stored
+        StringBuilder sql = new StringBuilder(baseSql.replaceFirst(" FROM ",
+                ", " + sortExpr + " AS keyset_key, " + idExpr + " AS keyset_id FROM "));
+        List<Object> params = new ArrayList<>();
+
+        if (after != null) {
+            Object afterKey = after.key();
+            int afterId = after.id();
+            if (afterKey == null) {
+                // Still inside the NULL block: ascending continues with the non-null keys afterwards
+                sql.append(" WHERE ((").append(sortExpr).append(" IS NULL AND ").append(idExpr).append(' ').append(cmp).append(" ?)");
+                params.add(afterId);
+                if (ascending) sql.append(" OR ").append(sortExpr).append(" IS NOT NULL");
+                sql.append(')');
+            } else {
+                sql.append(" WHERE (").append(sortExpr).append(' ').append(cmp).append(" ? OR (")
+                   .append(sortExpr).append(" = ? AND ").append(idExpr).append(' ').append(cmp).append(" ?)");
+                params.add(afterKey);
+                params.add(afterKey);
+                params.add(afterId);
+                if (!ascending) sql.append(" OR ").append(sortExpr).append(" IS NULL");
+                sql.append(')');
+            }
+        }
+        sql.append(" ORDER BY ").append(sortExpr).append(' ').append(dir)
+           .append(", ").append(idExpr).append(' ').append(dir)
+           .append(" LIMIT ?");
+        params.add(limit);
+
+        List<E> rows = new ArrayList<>(limit);
+        Cursor next = null;
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) return new Page<>(rows, null);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    Object p = params.get(i);
+                    if (p instanceof LocalDate d) {
+                        pstmt.setDate(i + 1, Date.valueOf(d));
+                    } else {
+                        pstmt.setObject(i + 1, p);
+                    }
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapper.map(rs));
+                        next = new Cursor(rs.getObject("keyset_key"), rs.getInt("keyset_id"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading sorted page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(rows, next);
+    }
+}
@@ -11,6 +11,12 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Main application class for Library Management System
  */
@@ -43,15 +49,35 @@ public class LibraryApp extends Application {
     private ReportsView reportsView;
     private AboutView aboutView;
 
+    // Columns the author / borrower lists show; the wide text (bio, contact_info)
+    // is left out of list reads and loaded when a row is selected or the column is shown
+    private static final Set<String> AUTHOR_COLUMNS =
+            Set.of("author_id", "first_name", "last_name", "country");
+    private static final Set<String> BORROWER_COLUMNS =
+            Set.of("borrower_id", "first_name", "last_name", "type_id");
+
+    // Sidebar views, built once per login and reused between clicks
+    private ViewRegistry views;
+
+    // Startup timings, logged once the main window has all its data
+    private StartupProfile startupProfile;
+
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
+        startupProfile = new StartupProfile();
+        FxStallDetector.install();
         
-        // Initialize database connection and create Users table
-        UserDAO.createUsersTable();
+        // Create Users table in the background so the login view appears immediately;
+        // a login or signup that comes first waits for it in UserDAO
+        StartupProfile profile = startupProfile;
+        BackgroundTasks.run(() -> {
+            profile.time("users table", UserDAO::createUsersTable);
+            return null;
+        }, null, null);
         
         // Show login view first
-        showLoginView();
+        startupProfile.time("login view", this::showLoginView);
         
         primaryStage.setTitle("Library Management System");
         primaryStage.setMinWidth(1000);
@@ -80,6 +106,9 @@ public class LibraryApp extends Application {
     }
 
     private void showMainWindow() {
+        if (startupProfile == null) startupProfile = new StartupProfile();
+        Runnable shellDone = startupProfile.begin("main window shell");
+
         // Create main layout
         mainLayout = new BorderPane();
         
@@ -87,17 +116,20 @@ public class LibraryApp extends Application {
         authorDAO = new AuthorDAO();
         bookDAO = new BookDAO();
         borrowerDAO = new BorrowerDAO();
+
+        // Heavy reports are computed in the background before anyone opens them
+        ReportsView.schedulePrecomputed();
+        
+        views = new ViewRegistry();
+        authorTable = null;
+        bookTable = null;
+        borrowerTable = null;
         
         // Initialize ObservableLists
         authorList = FXCollections.observableArrayList();
         bookList = FXCollections.observableArrayList();
         borrowerList = FXCollections.observableArrayList();
         
-        // Load initial data
-        reloadAuthors();
-        reloadBooks();
-        reloadBorrowers();
-        
         // Create menu bar
         createMenuBar();
         mainLayout.setTop(menuBar);
@@ -117,35 +149,44 @@ public class LibraryApp extends Application {
         Scene scene = new Scene(mainLayout, 1400, 900);
         scene.getStylesheets().add(getClass().getResource("/org/example/demo/styles.css").toExternalForm());
         primaryStage.setScene(scene);
+        shellDone.run();
+
+        // Shell is on screen with empty tables; fill each table as its data arrives
+        loadInitialData();
     }
-    
+
     /**
-     * Reload authors from database and update ObservableList
+     * Load the three main tables in parallel background tasks.
+     * The profile is logged once all of them have finished.
      */
-    private void reloadAuthors() {
-        java.util.List<Author> list = authorDAO.getAll();
-        if (list == null) list = new java.util.ArrayList<>();
-        authorList.setAll(list);
+    private void loadInitialData() {
+        StartupProfile profile = startupProfile;
+        AtomicInteger pending = new AtomicInteger(3);
+        Runnable stageFinished = () -> {
+            if (pending.decrementAndGet() == 0) {
+                profile.log();
+                startupProfile = null;
+            }
+        };
+
+        loadInBackground(profile, "load authors", () -> authorDAO.getAll(AUTHOR_COLUMNS), authorList, stageFinished);
+        loadInBackground(profile, "load books", bookDAO::getAll, bookList, stageFinished);
+        loadInBackground(profile, "load borrowers", () -> borrowerDAO.getAll(BORROWER_COLUMNS), borrowerList, stageFinished);
     }
-    
-    /**
-     * Reload books from database and update ObservableList
-     */
-    private void reloadBooks() {
-        java.util.List<Book> list = bookDAO.getAll();
-        if (list == null) list = new java.util.ArrayList<>();
-        bookList.setAll(list);
+
+    private <T> void loadInBackground(StartupProfile profile, String stage,
+                                      Callable<List<T>> loader,
+                                      ObservableList<T> target, Runnable onFinished) {
+        // Timed inside the task, so the profile shows the worker thread for the query
+        BackgroundTasks.run(() -> profile.call(stage + " (query)", loader), list -> {
+            profile.time(stage + " (render)", () -> ListDiff.apply(target, list == null ? new ArrayList<>() : list));
+            onFinished.run();
+        }, ex -> {
+            System.err.println("Error during " + stage + ": " + ex.getMessage());
+            onFinished.run();
+        });
     }
     
-    /**
-     * Reload borrowers from database and update ObservableList
-     */
-    private void reloadBorrowers() {
-        java.util.List<Borrower> list = borrowerDAO.getAll();
-        if (list == null) list = new java.util.ArrayList<>();
-        borrowerList.setAll(list);
-    }
-
     private void createMenuBar() {
         menuBar = new MenuBar();
         
@@ -156,17 +197,32 @@ public class LibraryApp extends Application {
             SessionManager.logout();
             showLoginView();
         });
+        Menu exportMenu = new Menu("Export Table");
+        String[][] tables = {
+            {"Authors", "author"}, {"Books", "book"}, {"Borrowers", "borrower"}, {"Publishers", "publisher"},
+            {"Loans", "loan"}, {"Sales", "sale"}, {"Borrower Types", "borrowertype"}, {"Loan Periods", "loanperiod"}
+        };
+        for (String[] t : tables) {
+            MenuItem item = new MenuItem(t[0] + "...");
+            // Streamed straight from the table, so it works for any size
+            item.setOnAction(e -> StreamingExporter.exportWithDialog(primaryStage, t[0], "SELECT * FROM " + t[1]));
+            exportMenu.getItems().add(item);
+        }
         MenuItem exitItem = new MenuItem("Exit");
         exitItem.setOnAction(e -> primaryStage.close());
-        fileMenu.getItems().addAll(logoutItem, new SeparatorMenuItem(), exitItem);
+        fileMenu.getItems().addAll(exportMenu, logoutItem, new SeparatorMenuItem(), exitItem);
         
         // View menu
         Menu viewMenu = new Menu("View");
         MenuItem reportsItem = new MenuItem("Reports");
         reportsItem.setOnAction(e -> showReportsView());
+        MenuItem refreshItem = new MenuItem("Refresh Data");
+        refreshItem.setOnAction(e -> views.refreshAll());
+        MenuItem stallsItem = new MenuItem("UI Stalls");
+        stallsItem.setOnAction(e -> showStallReport());
         MenuItem aboutItem = new MenuItem("About");
         aboutItem.setOnAction(e -> showAboutView());
-        viewMenu.getItems().addAll(reportsItem, new SeparatorMenuItem(), aboutItem);
+        viewMenu.getItems().addAll(reportsItem, refreshItem, new SeparatorMenuItem(), stallsItem, aboutItem);
         
         // User info
         Menu userMenu = new Menu("User");
@@ -212,123 +268,122 @@ public class LibraryApp extends Application {
     }
 
     private void showAuthorView() {
-        // Create or reuse table
-        if (authorTable == null) {
+        views.show("authors", contentArea, () -> {
             authorTable = new getTable<Author>().gettable(Author.class, authorList);
             authorTable.setItems(authorList);
-        }
-        
-        HBox searchBox = new SearchBox<Author>().createSearchBox(Author.class, authorList, authorTable);
-        
-        boolean canEdit = SessionManager.canEdit();
-        GenericFormBuilder<Author> formBuilder = new GenericFormBuilder<>(
-            Author.class, 
-            authorDAO, 
-            authorTable,
-            authorList,
-            canEdit,
-            () -> reloadAuthors() // Reload callback
-        );
-        
-        contentArea.setCenter(authorTable);
-        contentArea.setBottom(formBuilder.buildForm());
-        contentArea.setRight(searchBox);
+            ServerSortController.install(authorTable, Author.class, authorList, authorDAO);
+
+            HBox searchBox = new SearchBox<Author>().createSearchBox(Author.class, authorList, authorTable);
+
+            GenericFormBuilder<Author> formBuilder = new GenericFormBuilder<>(
+                Author.class,
+                authorDAO,
+                authorTable,
+                authorList,
+                SessionManager.canEdit(),
+                () -> reloadInBackground(() -> authorDAO.getAll(AUTHOR_COLUMNS), authorList, authorTable) // Reload callback
+            );
+            WideColumnLoader.install(authorTable, Author.class, authorDAO, formBuilder::refreshSelected);
+            return new ViewRegistry.View(authorTable, formBuilder.buildForm(), searchBox,
+                    () -> reloadInBackground(() -> authorDAO.getAll(AUTHOR_COLUMNS), authorList, authorTable));
+        });
     }
 
     private void showBookView() {
-        // Create or reuse table
-        if (bookTable == null) {
+        views.show("books", contentArea, () -> {
             bookTable = new getTable<Book>().gettable(Book.class, bookList);
             bookTable.setItems(bookList);
-        }
-        
-        HBox searchBox = new SearchBox<Book>().createSearchBox(Book.class, bookList, bookTable);
-        
-        boolean canEdit = SessionManager.canEdit();
-        GenericFormBuilder<Book> formBuilder = new GenericFormBuilder<>(
-            Book.class,
-            bookDAO, 
-            bookTable,
-            bookList,
-            canEdit,
-            () -> reloadBooks() // Reload callback
-        );
-        
-        contentArea.setCenter(bookTable);
-        contentArea.setBottom(formBuilder.buildForm());
-        contentArea.setRight(searchBox);
+            ServerSortController.install(bookTable, Book.class, bookList, bookDAO);
+
+            HBox searchBox = new SearchBox<Book>().createSearchBox(Book.class, bookList, bookTable);
+
+            GenericFormBuilder<Book> formBuilder = new GenericFormBuilder<>(
+                Book.class,
+                bookDAO,
+                bookTable,
+                bookList,
+                SessionManager.canEdit(),
+                () -> reloadInBackground(bookDAO::getAll, bookList, bookTable) // Reload callback
+            );
+            return new ViewRegistry.View(bookTable, formBuilder.buildForm(), searchBox,
+                    () -> reloadInBackground(bookDAO::getAll, bookList, bookTable));
+        });
     }
 
     private void showBorrowerView() {
-        // Create or reuse table
-        if (borrowerTable == null) {
+        views.show("borrowers", contentArea, () -> {
             borrowerTable = new getTable<Borrower>().gettable(Borrower.class, borrowerList);
             borrowerTable.setItems(borrowerList);
-        }
-        
-        HBox searchBox = new SearchBox<Borrower>().createSearchBox(Borrower.class, borrowerList, borrowerTable);
-        
-        boolean canEdit = SessionManager.canEdit();
-        GenericFormBuilder<Borrower> formBuilder = new GenericFormBuilder<>(
-            Borrower.class, 
-            borrowerDAO, 
-            borrowerTable,
-            borrowerList,
-            canEdit,
-            () -> reloadBorrowers() // Reload callback
-        );
-        
-        contentArea.setCenter(borrowerTable);
-        contentArea.setBottom(formBuilder.buildForm());
-        contentArea.setRight(searchBox);
+            ServerSortController.install(borrowerTable, Borrower.class, borrowerList, borrowerDAO);
+
+            HBox searchBox = new SearchBox<Borrower>().createSearchBox(Borrower.class, borrowerList, borrowerTable);
+
+            GenericFormBuilder<Borrower> formBuilder = new GenericFormBuilder<>(
+                Borrower.class,
+                borrowerDAO,
+                borrowerTable,
+                borrowerList,
+                SessionManager.canEdit(),
+                () -> reloadInBackground(() -> borrowerDAO.getAll(BORROWER_COLUMNS), borrowerList, borrowerTable) // Reload callback
+            );
+            WideColumnLoader.install(borrowerTable, Borrower.class, borrowerDAO, formBuilder::refreshSelected);
+            return new ViewRegistry.View(borrowerTable, formBuilder.buildForm(), searchBox,
+                    () -> reloadInBackground(() -> borrowerDAO.getAll(BORROWER_COLUMNS), borrowerList, borrowerTable));
+        });
     }
 
+    // Publishers, loans, sales, borrower types and loan periods are view-only for now (no DAO implemented)
     private void showPublisherView() {
-        TableView<Publisher> table = new getTable<Publisher>().gettable(Publisher.class, DataCollector.getAllPublisher());
-        HBox searchBox = new SearchBox<Publisher>().createSearchBox(Publisher.class, DataCollector.getAllPublisher(), table);
-        
-        // Publishers are view-only for now (no DAO implemented)
-        contentArea.setCenter(table);
-        contentArea.setBottom(new VBox()); // Empty form for view-only
-        contentArea.setRight(searchBox);
+        views.show("publishers", contentArea, () -> readOnlyView(Publisher.class, DataCollector::getAllPublisher));
     }
 
     private void showLoanView() {
-        TableView<Loan> table = new getTable<Loan>().gettable(Loan.class, DataCollector.getAllLoan());
-        HBox searchBox = new SearchBox<Loan>().createSearchBox(Loan.class, DataCollector.getAllLoan(), table);
-        
-        // Loans are view-only for now
-        contentArea.setCenter(table);
-        contentArea.setBottom(new VBox());
-        contentArea.setRight(searchBox);
+        views.show("loans", contentArea, () -> readOnlyView(Loan.class, DataCollector::getAllLoan));
     }
 
     private void showSaleView() {
-        TableView<Sale> table = new getTable<Sale>().gettable(Sale.class, DataCollector.getAllSale());
-        HBox searchBox = new SearchBox<Sale>().createSearchBox(Sale.class, DataCollector.getAllSale(), table);
-        
-        // Sales are view-only for now
-        contentArea.setCenter(table);
-        contentArea.setBottom(new VBox());
-        contentArea.setRight(searchBox);
+        views.show("sales", contentArea, () -> readOnlyView(Sale.class, DataCollector::getAllSale));
     }
 
     private void showBorrowerTypeView() {
-        TableView<BorrowerType> table = new getTable<BorrowerType>().gettable(BorrowerType.class, DataCollector.getAllBorrowerType());
-        HBox searchBox = new SearchBox<BorrowerType>().createSearchBox(BorrowerType.class, DataCollector.getAllBorrowerType(), table);
-        
-        contentArea.setCenter(table);
-        contentArea.setBottom(new VBox());
-        contentArea.setRight(searchBox);
+        views.show("borrowerTypes", contentArea, () -> readOnlyView(BorrowerType.class, DataCollector::getAllBorrowerType));
     }
 
     private void showLoanPeriodView() {
-        TableView<LoanPeriod> table = new getTable<LoanPeriod>().gettable(LoanPeriod.class, DataCollector.getAllLoanPeriod());
-        HBox searchBox = new SearchBox<LoanPeriod>().createSearchBox(LoanPeriod.class, DataCollector.getAllLoanPeriod(), table);
-        
-        contentArea.setCenter(table);
-        contentArea.setBottom(new VBox());
-        contentArea.setRight(searchBox);
+        views.show("loanPeriods", contentArea, () -> readOnlyView(LoanPeriod.class, DataCollector::getAllLoanPeriod));
+    }
+
+    /**
+     * Build a view-only entity view; the table and search box share one backing list
+     */
+    private <T> ViewRegistry.View readOnlyView(Class<T> clazz, Callable<? extends List<T>> loader) {
+        ObservableList<T> list = FXCollections.observableArrayList();
+        TableView<T> table = new getTable<T>().gettable(clazz, list);
+        HBox searchBox = new SearchBox<T>().createSearchBox(clazz, list, table);
+        ServerSortController.install(table, clazz, list, null);
+
+        Runnable refresh = () -> reloadInBackground(loader, list, table);
+        refresh.run();
+        return new ViewRegistry.View(table, new VBox(), searchBox, refresh);
+    }
+
+    /**
+     * Reload a list from the database without blocking the FX thread;
+     * only the rows that changed are touched, so selection and scroll survive
+     * (rows updated in place are tested against the table's search again).
+     * The diff is worked out in the background against a copy of the shown rows.
+     * A table showing server-sorted pages reloads its first page instead.
+     */
+    private <T> void reloadInBackground(Callable<? extends List<T>> loader,
+                                        ObservableList<T> target, TableView<T> table) {
+        if (ServerSortController.reloadIfPaging(table)) return;
+        List<T> shown = new ArrayList<>(target);
+        BackgroundTasks.run(() -> {
+            List<T> list = loader.call();
+            return list == null ? null : ListDiff.plan(shown, list);
+        }, plan -> {
+            if (plan != null && plan.applyTo(target).updated() > 0) SearchBox.refilter(table);
+        }, ex -> System.err.println("Error reloading data: " + ex.getMessage()));
     }
 
     private void showReportsView() {
@@ -349,6 +404,20 @@ public class LibraryApp extends Application {
         contentArea.setRight(null);
     }
 
+    private void showStallReport() {
+        TextArea text = new TextArea(FxStallDetector.report());
+        text.setEditable(false);
+        text.setPrefSize(720, 300);
+
+        ButtonType resetButton = new ButtonType("Reset", ButtonBar.ButtonData.LEFT);
+        Alert alert = new Alert(Alert.AlertType.INFORMATION, null, resetButton, ButtonType.CLOSE);
+        alert.setTitle("UI Stalls");
+        alert.setHeaderText("Times the UI thread was blocked, grouped by the action that blocked it");
+        alert.getDialogPane().setContent(text);
+        alert.initOwner(primaryStage);
+        alert.showAndWait().filter(b -> b == resetButton).ifPresent(b -> FxStallDetector.reset());
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
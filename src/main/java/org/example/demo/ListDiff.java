@@ -0,0 +1,236 @@
+package org.example.demo;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a reloaded list to an ObservableList as a minimal change instead of setAll.
+ *
+ * Rows are matched by primary key (the first int xxx_id field of the entity).
+ * A reload usually returns the rows in the order already shown, so both lists
+ * are first walked side by side while the keys line up; only the rest is
+ * matched through a key index. Rows that are gone are removed in one change,
+ * new rows are inserted next to the row they follow in the reloaded list (at
+ * their reloaded index when the order is unchanged), and rows that still
+ * exist stay the same objects with only their changed properties updated
+ * (fields a projected reload left out are kept as they are). The TableView
+ * therefore keeps its selection and scroll position and only re-renders the
+ * cells that changed. When more than CHANGE_RATIO of the rows were added or
+ * removed the list is replaced with setAll, which is cheaper at that point.
+ *
+ * Matching and comparing every row costs more than setAll itself, so a
+ * reload works it out with plan() on the background thread that loaded the
+ * rows and only Plan.applyTo runs on the FX thread, touching the changed
+ * rows alone (see ReloadDiffBenchmark).
+ */
+public class ListDiff {
+
+    static final double CHANGE_RATIO = 0.5;
+
+    /**
+     * What a diff changed; updated counts rows with at least one changed property
+     */
+    public record Result(int removed, int added, int updated) {
+        public boolean isEmpty() {
+            return removed == 0 && added == 0 && updated == 0;
+        }
+    }
+
+    /**
+     * Diff and apply on the calling thread (the FX thread for a shown list)
+     */
+    public static <E> Result apply(ObservableList<E> target, List<? extends E> fresh) {
+        return ListDiff.<E>plan(target, fresh).applyTo(target);
+    }
+
+    /**
+     * Work out the changes from shown to fresh without touching either list.
+     * May run on a background thread: pass a copy of the shown list taken on
+     * the FX thread; row values are only read.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Plan<E> plan(List<? extends E> shown, List<? extends E> fresh) {
+        if (fresh == null) return new Plan<>(shown, List.of(), false);
+        E sample = !fresh.isEmpty() ? fresh.get(0) : !shown.isEmpty() ? shown.get(0) : null;
+        if (sample == null) return new Plan<>(shown, fresh, false);
+
+        EntityAccessors<E> accessors = EntityAccessors.of((Class<E>) sample.getClass());
+        EntityAccessors.Accessor key = keyAccessor(accessors);
+        if (key == null || shown.isEmpty()) {
+            // No usable primary key, or nothing shown yet: replace everything
+            return new Plan<>(shown, fresh, true);
+        }
+        Plan<E> plan = new Plan<>(shown, fresh, false);
+        plan.accessors = accessors;
+
+        // Rows still in the same place: compare fields in place, no key index
+        int same = 0;
+        int limit = Math.min(shown.size(), fresh.size());
+        while (same < limit && key.getInt(shown.get(same)) == key.getInt(fresh.get(same))) {
+            plan.compare(fresh.get(same), shown.get(same));
+            same++;
+        }
+        plan.same = same;
+        if (same == shown.size() && same == fresh.size()) return plan;
+
+        // The rest: match by key
+        Map<Integer, E> freshByKey = index(key, fresh, same);
+        if (freshByKey == null) return new Plan<>(shown, fresh, true);
+
+        Map<Integer, Integer> keptOrdinal = new HashMap<>(freshByKey.size() * 2); // key -> place among kept tail rows
+        for (int i = same; i < shown.size(); i++) {
+            E row = shown.get(i);
+            int k = key.getInt(row);
+            E newer = freshByKey.get(k);
+            if (newer == null || keptOrdinal.containsKey(k)) {
+                plan.gone.add(row);
+            } else {
+                keptOrdinal.put(k, keptOrdinal.size());
+                plan.compare(newer, row);
+            }
+        }
+        plan.added = fresh.size() - same - keptOrdinal.size();
+        if (plan.gone.size() + plan.added > CHANGE_RATIO * Math.max(shown.size(), fresh.size())) {
+            return new Plan<>(shown, fresh, true);
+        }
+
+        // New rows go after the kept row they follow in the reloaded list (-1: before every kept tail row)
+        int anchor = -1;
+        for (int i = same; i < fresh.size(); i++) {
+            E row = fresh.get(i);
+            Integer ordinal = keptOrdinal.get(key.getInt(row));
+            if (ordinal != null) {
+                anchor = ordinal;
+            } else if (!plan.inserts.isEmpty() && plan.inserts.get(plan.inserts.size() - 1).anchor == anchor) {
+                plan.inserts.get(plan.inserts.size() - 1).rows.add(row);
+            } else {
+                plan.inserts.add(new Insert<>(anchor, row));
+            }
+        }
+        plan.inserts.sort(Comparator.comparingInt(ins -> ins.anchor)); // stable: equal anchors keep reloaded order
+        return plan;
+    }
+
+    /**
+     * The changes from one list of rows to a reloaded one
+     */
+    public static final class Plan<E> {
+        private final List<? extends E> shown;
+        private final List<? extends E> fresh;
+        private final boolean replace;
+        private EntityAccessors<E> accessors;
+        private final List<E> updates = new ArrayList<>(); // pairs: reloaded row, shown row
+        private final Set<E> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final List<Insert<E>> inserts = new ArrayList<>();
+        private int same;
+        private int added;
+
+        private Plan(List<? extends E> shown, List<? extends E> fresh, boolean replace) {
+            this.shown = shown;
+            this.fresh = fresh;
+            this.replace = replace;
+        }
+
+        private void compare(E newer, E row) {
+            if (differs(accessors, newer, row)) {
+                updates.add(newer);
+                updates.add(row);
+            }
+        }
+
+        /**
+         * Apply on the FX thread; if target no longer holds the rows the plan
+         * was made against (edited meanwhile) the diff is redone here
+         */
+        public Result applyTo(ObservableList<E> target) {
+            if (target != shown && !sameRows(target)) {
+                return ListDiff.<E>plan(target, fresh).applyTo(target);
+            }
+            if (replace) {
+                int removed = target.size();
+                target.setAll(fresh);
+                return new Result(removed, fresh.size(), 0);
+            }
+            int updated = 0;
+            for (int i = 0; i < updates.size(); i += 2) {
+                if (copyChanged(accessors, updates.get(i), updates.get(i + 1))) updated++;
+            }
+            if (!gone.isEmpty()) {
+                target.removeAll(gone);
+            }
+            int shift = 0;
+            for (Insert<E> ins : inserts) {
+                target.addAll(same + ins.anchor + 1 + shift, ins.rows);
+                shift += ins.rows.size();
+            }
+            return new Result(gone.size(), added, updated);
+        }
+
+        private boolean sameRows(List<E> target) {
+            if (target.size() != shown.size()) return false;
+            for (int i = 0; i < target.size(); i++) {
+                if (target.get(i) != shown.get(i)) return false;
+            }
+            return true;
+        }
+    }
+
+    // A run of new rows inserted after the kept tail row with this ordinal
+    private static final class Insert<E> {
+        final int anchor;
+        final List<E> rows = new ArrayList<>();
+
+        Insert(int anchor, E first) {
+            this.anchor = anchor;
+            rows.add(first);
+        }
+    }
+
+    private static EntityAccessors.Accessor keyAccessor(EntityAccessors<?> accessors) {
+        for (EntityAccessors.Accessor a : accessors.all()) {
+            if (a.isInt() && a.name().endsWith("_id")) return a;
+        }
+        return null;
+    }
+
+    // Rows from index from on; null if two rows share a key (e.g. a join), so the caller falls back to setAll
+    private static <E> Map<Integer, E> index(EntityAccessors.Accessor key, List<? extends E> rows, int from) {
+        Map<Integer, E> byKey = new HashMap<>((rows.size() - from) * 2);
+        for (int i = from; i < rows.size(); i++) {
+            E row = rows.get(i);
+            if (byKey.put(key.getInt(row), row) != null) return null;
+        }
+        return byKey;
+    }
+
+    // Most rows are unchanged: one composed comparison per row, field by field only for projected rows
+    private static <E> boolean differs(EntityAccessors<E> accessors, E from, E to) {
+        if (from == to) return false;
+        if (!(from instanceof Projected p)) return accessors.differs(from, to);
+        for (EntityAccessors.Accessor a : accessors.all()) {
+            if (p.isLoaded(a.name()) && a.differs(from, to)) return true;
+        }
+        return false;
+    }
+
+    private static boolean copyChanged(EntityAccessors<?> accessors, Object from, Object to) {
+        boolean changed = false;
+        for (EntityAccessors.Accessor a : accessors.all()) {
+            // A field the reload left out (projected read) keeps the value already loaded
+            if (from instanceof Projected p && !p.isLoaded(a.name())) continue;
+            if (a.differs(from, to)) {
+                a.setValue(to, a.getValue(from));
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
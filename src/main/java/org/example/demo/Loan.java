@@ -3,6 +3,10 @@ import javafx.beans.property.*;
 
 import java.time.LocalDate;
 
+/**
+ * Loan row. Values live in a compact Row record; the JavaFX properties are
+ * only created when a cell or form asks for them (row visible or edited).
+ */
 public class Loan {
     private IntegerProperty loan_id;
     private IntegerProperty borrower_id;
@@ -11,26 +15,68 @@ public class Loan {
     private ObjectProperty<LocalDate> loan_date;
     private ObjectProperty<LocalDate> due_date;
     private ObjectProperty<LocalDate> return_date;
+
+    private final Row row;
+
+    /**
+     * Primitive storage for one loan; dates are epoch days, NO_DATE for null
+     */
+    public record Row(int loanId, int borrowerId, int bookId, int periodId,
+                      int loanDay, int dueDay, int returnDay) {
+        public static final int NO_DATE = Integer.MIN_VALUE;
+
+        static int day(LocalDate d) { return d == null ? NO_DATE : (int) d.toEpochDay(); }
+
+        static LocalDate date(int day) { return day == NO_DATE ? null : LocalDate.ofEpochDay(day); }
+    }
    
     
     public Loan(int loan_id, int borrower_id,int book_id, int period_id,
     		LocalDate loan_date, LocalDate due_date, LocalDate return_date) {
-        this.loan_id = new SimpleIntegerProperty(loan_id);
-        this.borrower_id = new SimpleIntegerProperty(borrower_id);
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.period_id = new SimpleIntegerProperty(period_id);
-        this.loan_date = new SimpleObjectProperty<>(loan_date);
-        this.due_date = new SimpleObjectProperty<>(due_date);
-        this.return_date = new SimpleObjectProperty<>(return_date);
-    }
-
-    // Getters for TableView binding
-    public IntegerProperty loan_idProperty() { return loan_id; }
-    public IntegerProperty borrower_idProperty() { return borrower_id; }
-    public IntegerProperty book_idProperty() { return book_id; }
-    public IntegerProperty period_idProperty() { return period_id; }
-    public ObjectProperty<LocalDate> loan_dateProperty() { return loan_date; }
-    public ObjectProperty<LocalDate> due_dateProperty() { return due_date; }
-    public ObjectProperty<LocalDate> return_dateProperty() { return return_date; }
-}
+        this(new Row(loan_id, borrower_id, book_id, period_id,
+                Row.day(loan_date), Row.day(due_date), Row.day(return_date)));
+    }
+
+    public Loan(Row row) {
+        this.row = row;
+    }
 
+    // Getters for TableView binding (created on first use)
+    public IntegerProperty loan_idProperty() {
+        if (loan_id == null) loan_id = new SimpleIntegerProperty(row.loanId());
+        return loan_id;
+    }
+    public IntegerProperty borrower_idProperty() {
+        if (borrower_id == null) borrower_id = new SimpleIntegerProperty(row.borrowerId());
+        return borrower_id;
+    }
+    public IntegerProperty book_idProperty() {
+        if (book_id == null) book_id = new SimpleIntegerProperty(row.bookId());
+        return book_id;
+    }
+    public IntegerProperty period_idProperty() {
+        if (period_id == null) period_id = new SimpleIntegerProperty(row.periodId());
+        return period_id;
+    }
+    public ObjectProperty<LocalDate> loan_dateProperty() {
+        if (loan_date == null) loan_date = new SimpleObjectProperty<>(Row.date(row.loanDay()));
+        return loan_date;
+    }
+    public ObjectProperty<LocalDate> due_dateProperty() {
+        if (due_date == null) due_date = new SimpleObjectProperty<>(Row.date(row.dueDay()));
+        return due_date;
+    }
+    public ObjectProperty<LocalDate> return_dateProperty() {
+        if (return_date == null) return_date = new SimpleObjectProperty<>(Row.date(row.returnDay()));
+        return return_date;
+    }
+
+    // Plain getters read the property if it exists, otherwise the compact row
+    public int getLoan_id() { return loan_id != null ? loan_id.get() : row.loanId(); }
+    public int getBorrower_id() { return borrower_id != null ? borrower_id.get() : row.borrowerId(); }
+    public int getBook_id() { return book_id != null ? book_id.get() : row.bookId(); }
+    public int getPeriod_id() { return period_id != null ? period_id.get() : row.periodId(); }
+    public LocalDate getLoan_date() { return loan_date != null ? loan_date.get() : Row.date(row.loanDay()); }
+    public LocalDate getDue_date() { return due_date != null ? due_date.get() : Row.date(row.dueDay()); }
+    public LocalDate getReturn_date() { return return_date != null ? return_date.get() : Row.date(row.returnDay()); }
+}
@@ -0,0 +1,68 @@
+package org.example.demo;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of a line series.
+ *
+ * Keeps the first and last point and, from each of threshold - 2 equal
+ * buckets in between, the point forming the largest triangle with the point
+ * kept before it and the average of the next bucket. Peaks and dips survive,
+ * so a chart drawn from threshold points looks like the full series.
+ */
+public class Lttb {
+
+    /**
+     * Indices of the points to keep, ascending; all indices when there are
+     * not more than threshold points (threshold below 3 counts as 3).
+     * x must be ascending.
+     */
+    public static int[] downsample(double[] x, double[] y, int threshold) {
+        int n = x.length;
+        threshold = Math.max(threshold, 3);
+        if (n <= threshold) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] kept = new int[threshold];
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        kept[0] = 0;
+        for (int b = 0; b < threshold - 2; b++) {
+            // Average of the next bucket (the last point for the last bucket)
+            int nextStart = (int) Math.floor((b + 1) * every) + 1;
+            int nextEnd = Math.min((int) Math.floor((b + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            if (nextCount > 0) {
+                avgX /= nextCount;
+                avgY /= nextCount;
+            } else {
+                avgX = x[n - 1];
+                avgY = y[n - 1];
+            }
+
+            // Point of this bucket with the largest triangle (a, point, average)
+            int start = (int) Math.floor(b * every) + 1;
+            int end = (int) Math.floor((b + 1) * every) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[a] - avgX) * (y[i] - y[a]) - (x[a] - x[i]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            kept[b + 1] = chosen;
+            a = chosen;
+        }
+        kept[threshold - 1] = n - 1;
+        return kept;
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.demo;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+/**
+ * Evaluates a search predicate over a large list on the ForkJoin common pool.
+ *
+ * The list is split into chunks whose boundaries are multiples of 64, so every
+ * chunk writes its own words of the result bitset and no locking is needed.
+ * Lists smaller than the threshold are evaluated on the calling thread.
+ * The default of 50000 rows is where free text, the slowest query, takes
+ * about 11 ms sequentially (ParallelFilterBenchmark.serial on one core);
+ * below that a search fits in a frame and splitting only adds the ForkJoin
+ * overhead. Where the parallel path starts to win depends on the cores of
+ * the machine, so tune it from ParallelFilterBenchmark run there, with
+ * -Dsearch.parallelThreshold=N.
+ */
+public class ParallelFilter {
+
+    public static final int PARALLEL_THRESHOLD = Integer.getInteger("search.parallelThreshold", 50_000);
+    private static final int CHUNK_SIZE = 64 * 128; // rows per leaf task
+
+    /**
+     * Bitset with bit i set when predicate accepts items.get(i)
+     */
+    public static <T> BitSet evaluate(List<T> items, Predicate<? super T> predicate) {
+        if (items.size() < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return evaluateSerial(items, predicate);
+        }
+        return evaluateParallel(items, predicate);
+    }
+
+    static <T> BitSet evaluateSerial(List<T> items, Predicate<? super T> predicate) {
+        long[] words = new long[(items.size() + 63) >>> 6];
+        evaluateRange(items, predicate, words, 0, items.size());
+        return BitSet.valueOf(words);
+    }
+
+    static <T> BitSet evaluateParallel(List<T> items, Predicate<? super T> predicate) {
+        long[] words = new long[(items.size() + 63) >>> 6];
+        ForkJoinPool.commonPool().invoke(new Chunk<>(items, predicate, words, 0, items.size()));
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * Same as evaluate, but only the rows set in candidates are tested
+     */
+    public static <T> BitSet evaluate(List<T> items, Predicate<? super T> predicate, BitSet candidates) {
+        BitSet result = new BitSet(items.size());
+        for (int i = candidates.nextSetBit(0); i >= 0 && i < items.size(); i = candidates.nextSetBit(i + 1)) {
+            if (predicate.test(items.get(i))) result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * Predicate for a FilteredList that accepts exactly the rows set in matches
+     */
+    public static <T> Predicate<T> asPredicate(List<T> items, BitSet matches) {
+        Set<T> accepted = Collections.newSetFromMap(new IdentityHashMap<>(matches.cardinality() * 2));
+        for (int i = matches.nextSetBit(0); i >= 0 && i < items.size(); i = matches.nextSetBit(i + 1)) {
+            accepted.add(items.get(i));
+        }
+        return accepted::contains;
+    }
+
+    private static <T> void evaluateRange(List<T> items, Predicate<? super T> predicate,
+                                          long[] words, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (predicate.test(items.get(i))) {
+                words[i >>> 6] |= 1L << i;
+            }
+        }
+    }
+
+    private static final class Chunk<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<T> items;
+        private final Predicate<? super T> predicate;
+        private final long[] words;
+        private final int from;
+        private final int to;
+
+        Chunk(List<T> items, Predicate<? super T> predicate, long[] words, int from, int to) {
+            this.items = items;
+            this.predicate = predicate;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                evaluateRange(items, predicate, words, from, to);
+                return;
+            }
+            // Split on a word boundary so the halves never share a long
+            int mid = ((from + (to - from) / 2) >>> 6) << 6;
+            invokeAll(new Chunk<>(items, predicate, words, from, mid),
+                      new Chunk<>(items, predicate, words, mid, to));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.demo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Case-insensitive prefix index over a set of names.
+ *
+ * Names are kept in a sorted array and looked up with binary search, so a
+ * lookup costs O(log n + N) for the top N matches. The index can be filled
+ * in batches from a background thread while the UI is already querying it:
+ * every batch is merged into a new snapshot that is published atomically.
+ * A merge copies the whole index, so a loader should grow its batches
+ * (AutoCompleteField doubles them) to keep filling it linear.
+ */
+public class PrefixIndex {
+
+    private static final class Snapshot {
+        final String[] keys;    // lower-cased, sorted
+        final String[] values;  // original spelling, same order as keys
+
+        Snapshot(String[] keys, String[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new String[0]);
+
+    /**
+     * Merge a batch of names into the index (duplicates are dropped)
+     */
+    public synchronized void addAll(List<String> names) {
+        if (names == null || names.isEmpty()) return;
+
+        String[][] batch = new String[names.size()][];
+        int n = 0;
+        for (String name : names) {
+            if (name == null || name.isBlank()) continue;
+            batch[n++] = new String[]{name.toLowerCase(), name};
+        }
+        Arrays.sort(batch, 0, n, (a, b) -> a[0].compareTo(b[0]));
+
+        Snapshot old = snapshot;
+        String[] keys = new String[old.keys.length + n];
+        String[] values = new String[old.keys.length + n];
+        int i = 0, j = 0, k = 0;
+        while (i < old.keys.length || j < n) {
+            boolean takeOld = j >= n || (i < old.keys.length && old.keys[i].compareTo(batch[j][0]) <= 0);
+            String key = takeOld ? old.keys[i] : batch[j][0];
+            String value = takeOld ? old.values[i++] : batch[j++][1];
+            if (k > 0 && keys[k - 1].equals(key)) continue;
+            keys[k] = key;
+            values[k++] = value;
+        }
+        snapshot = new Snapshot(Arrays.copyOf(keys, k), Arrays.copyOf(values, k));
+    }
+
+    public synchronized void clear() {
+        snapshot = new Snapshot(new String[0], new String[0]);
+    }
+
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    /**
+     * Return up to limit names starting with the given prefix, in sorted order
+     */
+    public List<String> topMatches(String prefix, int limit) {
+        Snapshot s = snapshot;
+        List<String> result = new ArrayList<>(Math.min(limit, 16));
+        String p = prefix == null ? "" : prefix.toLowerCase();
+
+        for (int i = lowerBound(s.keys, p); i < s.keys.length && result.size() < limit; i++) {
+            if (!s.keys[i].startsWith(p)) break;
+            result.add(s.values[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Canonical spelling of a name if it is present in the index, otherwise null
+     */
+    public String find(String name) {
+        if (name == null) return null;
+        Snapshot s = snapshot;
+        String key = name.trim().toLowerCase();
+        int i = lowerBound(s.keys, key);
+        return i < s.keys.length && s.keys[i].equals(key) ? s.values[i] : null;
+    }
+
+    private static int lowerBound(String[] keys, String key) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.demo;
+
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+
+import java.util.function.Consumer;
+
+/**
+ * Small modal window that shows the progress of a background Task while it runs.
+ */
+public class ProgressDialog {
+
+    /**
+     * Run task on the shared background executor with a progress window;
+     * the window closes before onSuccess / onError are called on the FX thread
+     */
+    public static <V> void run(Window owner, String message, Task<V> task,
+                               Consumer<V> onSuccess, Consumer<Throwable> onError) {
+        show(owner, message, task, false, onSuccess, onError);
+    }
+
+    /**
+     * Like run, with the task's message under the bar and a Cancel button;
+     * a cancelled task just closes the window
+     */
+    public static <V> void runCancellable(Window owner, String message, Task<V> task,
+                                          Consumer<V> onSuccess, Consumer<Throwable> onError) {
+        show(owner, message, task, true, onSuccess, onError);
+    }
+
+    private static <V> void show(Window owner, String message, Task<V> task, boolean cancellable,
+                                 Consumer<V> onSuccess, Consumer<Throwable> onError) {
+        Label label = new Label(message);
+        ProgressBar bar = new ProgressBar();
+        bar.setPrefWidth(320);
+        bar.progressProperty().bind(task.progressProperty());
+
+        VBox box = new VBox(10, label, bar);
+        box.setPadding(new Insets(20));
+        if (cancellable) {
+            Label status = new Label();
+            status.textProperty().bind(task.messageProperty());
+            Button cancel = new Button("Cancel");
+            cancel.setOnAction(e -> task.cancel());
+            box.getChildren().addAll(status, cancel);
+        }
+
+        Stage stage = new Stage(StageStyle.UTILITY);
+        stage.setTitle("Please wait");
+        stage.setResizable(false);
+        if (owner != null) {
+            stage.initOwner(owner);
+            stage.initModality(Modality.WINDOW_MODAL);
+        }
+        stage.setOnCloseRequest(e -> e.consume()); // closes itself when the task ends
+        stage.setScene(new Scene(box));
+
+        task.setOnSucceeded(e -> {
+            stage.close();
+            if (onSuccess != null) onSuccess.accept(task.getValue());
+        });
+        task.setOnCancelled(e -> stage.close());
+        task.setOnFailed(e -> {
+            stage.close();
+            Throwable ex = task.getException();
+            if (onError != null) {
+                onError.accept(ex);
+            } else {
+                System.err.println("Background task failed: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        });
+
+        stage.show();
+        BackgroundTasks.executor().submit(task);
+    }
+}
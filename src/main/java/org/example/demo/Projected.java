@@ -0,0 +1,15 @@
+package org.example.demo;
+
+/**
+ * Entity that can be read without its wide text fields (see ProjectedDAO).
+ * A field that was left out stays null until it is loaded or set.
+ */
+public interface Projected {
+
+    /**
+     * False if the field was left out of the read that created this row and hasn't been loaded since
+     */
+    boolean isLoaded(String field);
+
+    void markLoaded(String field);
+}
@@ -0,0 +1,88 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DAO whose list reads select only the columns a view shows.
+ * Wide text columns are left out and fetched on demand with getWideField.
+ */
+public interface ProjectedDAO<E> extends GenericDAO<E> {
+
+    int IN_CHUNK = 500;
+
+    /**
+     * Wide text fields (e.g. bio) that list reads only include when asked for
+     */
+    Set<String> wideFields();
+
+    /**
+     * All rows with only the given fields read (the primary key is always read)
+     */
+    List<E> getAll(Set<String> fields);
+
+    /**
+     * Values of one wide field by primary key, for the given ids or for every row when ids is null
+     */
+    Map<Integer, String> getWideField(String field, Collection<Integer> ids);
+
+    /**
+     * SELECT list with the id column plus every listed column that is in fields
+     */
+    static String selectList(String idColumn, List<String> columns, Set<String> fields) {
+        StringBuilder sb = new StringBuilder(idColumn);
+        for (String c : columns) {
+            if (!c.equals(idColumn) && fields.contains(c)) sb.append(", ").append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Read id -> column for the given ids (in chunks) or for the whole table when ids is null
+     */
+    static Map<Integer, String> fetchColumn(String table, String idColumn, String column, Collection<Integer> ids) {
+        Map<Integer, String> values = new HashMap<>();
+        String base = "SELECT " + idColumn + ", " + column + " FROM " + table;
+
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) return values;
+            if (ids == null) {
+                try (PreparedStatement pstmt = conn.prepareStatement(base)) {
+                    read(pstmt, values);
+                }
+                return values;
+            }
+            List<Integer> list = new ArrayList<>(ids);
+            for (int from = 0; from < list.size(); from += IN_CHUNK) {
+                List<Integer> chunk = list.subList(from, Math.min(list.size(), from + IN_CHUNK));
+                String sql = base + " WHERE " + idColumn + " IN (" + "?,".repeat(chunk.size() - 1) + "?)";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setInt(i + 1, chunk.get(i));
+                    }
+                    read(pstmt, values);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading " + table + "." + column + ": " + e.getMessage());
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        return values;
+    }
+
+    private static void read(PreparedStatement pstmt, Map<Integer, String> values) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                values.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+    }
+}
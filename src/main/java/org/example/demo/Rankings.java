@@ -0,0 +1,259 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Top-N circulation rankings for a date range: most borrowed books, most
+ * active borrowers (loans and purchases) and top-selling titles.
+ *
+ * Instead of GROUP BY ... ORDER BY ... LIMIT over the whole history, the ids
+ * are streamed once from an index range on the date column into a counter
+ * array indexed by id, and a min-heap of size N keeps the best ids seen; only
+ * the names of those N are read afterwards. With -Drankings.snapshot=true the
+ * counts come from ColumnarStore instead: a periodic in-memory snapshot of
+ * loans and sales, reloaded every -Dcolumnar.reloadMinutes (default 5). A
+ * ranking then needs no id query, but it does not show writes made since the
+ * last reload. -Drankings.size=N sets N (default 20).
+ */
+public class Rankings {
+
+    public static final int TOP_N = Integer.getInteger("rankings.size", 20);
+    public static final boolean SNAPSHOT = Boolean.getBoolean("rankings.snapshot");
+
+    /**
+     * What is ranked; each id query selects the id column of the matching rows, filtered by date range
+     */
+    public enum Ranking {
+        MOST_BORROWED_BOOKS("book", "book_id", "title",
+                "SELECT book_id FROM loan WHERE loan_date BETWEEN ? AND ?"),
+        MOST_ACTIVE_BORROWERS("borrower", "borrower_id", "CONCAT(first_name, ' ', last_name)",
+                "SELECT borrower_id FROM loan WHERE loan_date BETWEEN ? AND ?",
+                "SELECT borrower_id FROM sale WHERE sale_date BETWEEN ? AND ?"),
+        TOP_SELLING_TITLES("book", "book_id", "title",
+                "SELECT book_id FROM sale WHERE sale_date BETWEEN ? AND ?");
+
+        final String table;
+        final String idColumn;
+        final String nameColumn;
+        final String[] idQueries;
+
+        Ranking(String table, String idColumn, String nameColumn, String... idQueries) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.nameColumn = nameColumn;
+            this.idQueries = idQueries;
+        }
+    }
+
+    /**
+     * One place of a ranking
+     */
+    public static class RankedItem {
+        private final int rank;
+        private final int id;
+        private final String name;
+        private final long count;
+
+        public RankedItem(int rank, int id, String name, long count) {
+            this.rank = rank;
+            this.id = id;
+            this.name = name;
+            this.count = count;
+        }
+
+        // Getters
+        public int getRank() { return rank; }
+        public int getId() { return id; }
+        public String getName() { return name; }
+        public long getCount() { return count; }
+    }
+
+    /**
+     * Load (and keep reloading) the snapshot the rankings count on; does nothing unless -Drankings.snapshot=true
+     */
+    public static void start() {
+        if (SNAPSHOT) ColumnarStore.get().start();
+    }
+
+    /**
+     * The TOP_N places of ranking between from and to (inclusive); started,
+     * cancelled and onRow as for ReportExecutor.Work (onRow counts input rows)
+     */
+    public static List<RankedItem> compute(Ranking ranking, LocalDate from, LocalDate to, Consumer<Statement> started,
+                                           BooleanSupplier cancelled, Runnable onRow) throws SQLException {
+        long[] counts = SNAPSHOT && ColumnarStore.get().isLoaded()
+                ? countInMemory(ranking, from, to)
+                : countStreamed(ranking, from, to, started, cancelled, onRow);
+        if (cancelled.getAsBoolean()) return List.of();
+
+        TopHeap heap = new TopHeap(TOP_N);
+        for (int id = 0; id < counts.length; id++) {
+            if (counts[id] > 0) heap.offer(id, counts[id]);
+        }
+        int[] ids = heap.ids();
+        List<Integer> idList = new ArrayList<>(ids.length);
+        for (int id : ids) idList.add(id);
+        Map<Integer, String> names = ids.length == 0 ? Map.of()
+                : ProjectedDAO.fetchColumn(ranking.table, ranking.idColumn, ranking.nameColumn, idList);
+
+        List<RankedItem> places = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            places.add(new RankedItem(i + 1, ids[i], names.get(ids[i]), counts[ids[i]]));
+        }
+        return places;
+    }
+
+    private static long[] countStreamed(Ranking ranking, LocalDate from, LocalDate to, Consumer<Statement> started,
+                                        BooleanSupplier cancelled, Runnable onRow) throws SQLException {
+        long[] counts = new long[1024];
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            for (String sql : ranking.idQueries) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    pstmt.setQueryTimeout(ReportExecutor.TIMEOUT_SECONDS);
+                    pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+                    pstmt.setDate(1, java.sql.Date.valueOf(from));
+                    pstmt.setDate(2, java.sql.Date.valueOf(to));
+                    started.accept(pstmt);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            if (cancelled.getAsBoolean()) {
+                                pstmt.cancel(); // otherwise closing the streamed result reads the rest of it
+                                return counts;
+                            }
+                            int id = rs.getInt(1);
+                            if (id >= counts.length) counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+                            counts[id]++;
+                            onRow.run();
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    private static long[] countInMemory(Ranking ranking, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        ColumnarStore store = ColumnarStore.get();
+        return switch (ranking) {
+            case MOST_BORROWED_BOOKS -> {
+                ColumnarStore.Loans loans = store.loans();
+                yield widen(ColumnarStore.countBy(loans.bookId(), loans.size(),
+                        ColumnarStore.where(loans.loanDay(), loans.size(), null, fromDay, toDay)), null);
+            }
+            case MOST_ACTIVE_BORROWERS -> {
+                ColumnarStore.Loans loans = store.loans();
+                ColumnarStore.Sales sales = store.sales();
+                long[] counts = widen(ColumnarStore.countBy(loans.borrowerId(), loans.size(),
+                        ColumnarStore.where(loans.loanDay(), loans.size(), null, fromDay, toDay)), null);
+                yield widen(ColumnarStore.countBy(sales.borrowerId(), sales.size(),
+                        ColumnarStore.where(sales.saleDay(), sales.size(), null, fromDay, toDay)), counts);
+            }
+            case TOP_SELLING_TITLES -> {
+                ColumnarStore.Sales sales = store.sales();
+                yield widen(ColumnarStore.countBy(sales.bookId(), sales.size(),
+                        ColumnarStore.where(sales.saleDay(), sales.size(), null, fromDay, toDay)), null);
+            }
+        };
+    }
+
+    // counts added onto into (null: a new array), grown as needed
+    private static long[] widen(int[] counts, long[] into) {
+        long[] sum = into == null ? new long[counts.length]
+                : into.length < counts.length ? Arrays.copyOf(into, counts.length) : into;
+        for (int i = 0; i < counts.length; i++) sum[i] += counts[i];
+        return sum;
+    }
+
+    /**
+     * The n largest (id, count) pairs seen, as a min-heap on parallel arrays:
+     * the root is the weakest kept entry, so each offer is one comparison
+     * unless it displaces the root. Equal counts rank the lower id first.
+     */
+    static final class TopHeap {
+        private final int[] ids;
+        private final long[] counts;
+        private int size;
+
+        TopHeap(int n) {
+            ids = new int[n];
+            counts = new long[n];
+        }
+
+        void offer(int id, long count) {
+            if (size < ids.length) {
+                ids[size] = id;
+                counts[size] = count;
+                siftUp(size++);
+            } else if (size > 0 && weaker(ids[0], counts[0], id, count)) {
+                ids[0] = id;
+                counts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Kept ids, best first
+         */
+        int[] ids() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> weaker(ids[a], counts[a], ids[b], counts[b]) ? 1
+                    : weaker(ids[b], counts[b], ids[a], counts[a]) ? -1 : 0);
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) sorted[i] = ids[order[i]];
+            return sorted;
+        }
+
+        // (idA, countA) ranks below (idB, countB)
+        private static boolean weaker(int idA, long countA, int idB, long countB) {
+            return countA < countB || (countA == countB && idA > idB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!weaker(ids[i], counts[i], ids[parent], counts[parent])) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int child = left + 1 < size && weaker(ids[left + 1], counts[left + 1], ids[left], counts[left])
+                        ? left + 1 : left;
+                if (!weaker(ids[child], counts[child], ids[i], counts[i])) return;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            long count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package org.example.demo;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Everything the reports view needs to know about one report: its SQL
+ * template, the parameters the user fills in, how rows are mapped and shown,
+ * and which tables it reads. ReportEngine runs every definition the same way.
+ *
+ * The SQL is built as sql + the clauses of the optional parameters that are
+ * set + (paged) the keyset clause + orderBy + (paged) LIMIT. Bind values
+ * follow the same order: required parameters, set optional ones, then the
+ * keyset cursor.
+ */
+public final class ReportDefinition<R> {
+
+    public enum Kind { CHOICE, DATE, NUMBER }
+
+    /**
+     * An input of the report. Required parameters are bound into sql in
+     * order; a parameter with a clause is optional, its clause is only
+     * appended when it is set (non-null, and not 0 for numbers).
+     */
+    public record Param(String label, Kind kind, String source, String sourceColumn, String clause) {
+
+        /**
+         * Value picked from the distinct values of column in source
+         */
+        public static Param choice(String label, String source, String column) {
+            return new Param(label, Kind.CHOICE, source, column, null);
+        }
+
+        public static Param date(String label) {
+            return new Param(label, Kind.DATE, null, null, null);
+        }
+
+        /**
+         * Whole number, 0 leaves the clause out
+         */
+        public static Param number(String label, String clause) {
+            return new Param(label, Kind.NUMBER, null, null, clause);
+        }
+
+        public boolean isOptional() {
+            return clause != null;
+        }
+
+        boolean isSet(Object value) {
+            return value != null && !(value instanceof Number n && n.longValue() == 0);
+        }
+    }
+
+    /**
+     * Rows produced in Java instead of by running sql (which then only serves Export and the plan audit)
+     */
+    @FunctionalInterface
+    public interface Computation<R> {
+        List<R> compute(Object[] values, Consumer<Statement> started, BooleanSupplier cancelled,
+                        Runnable onRow) throws SQLException;
+    }
+
+    /**
+     * A table column showing a bean property of the row
+     */
+    public record Column(String header, String property) {}
+
+    private final String key;
+    private final String title;
+    private final String sql;
+    private final KeysetPager.RowMapper<R> mapper;
+    private String orderBy = "";
+    private final List<Param> params = new ArrayList<>();
+    private final List<Column> columns = new ArrayList<>();
+    private Class<R> entityType;
+    private Set<String> tables = Set.of();
+    private String runLabel = "Refresh";
+    private int pageSize;
+    private String keysetClause;
+    private Function<R, Object[]> cursor;
+    private Object[] firstCursor;
+    private boolean precomputed;
+    private Supplier<List<R>> memory;
+    private Function<List<R>, String> summary;
+    private Computation<R> computation;
+    private boolean cached = true;
+    private String indexTable;
+    private String[] indexColumns;
+
+    private ReportDefinition(String key, String title, String sql, KeysetPager.RowMapper<R> mapper) {
+        this.key = key;
+        this.title = title;
+        this.sql = sql;
+        this.mapper = mapper;
+    }
+
+    /**
+     * key identifies the report (cache, schedule: -Dreport.schedule.KEY), title is the tab text
+     */
+    public static <R> ReportDefinition<R> of(String key, String title, String sql, KeysetPager.RowMapper<R> mapper) {
+        return new ReportDefinition<>(key, title, sql, mapper);
+    }
+
+    public ReportDefinition<R> orderBy(String orderBy) {
+        this.orderBy = orderBy;
+        return this;
+    }
+
+    public ReportDefinition<R> param(Param param) {
+        params.add(param);
+        return this;
+    }
+
+    public ReportDefinition<R> column(String header, String property) {
+        columns.add(new Column(header, property));
+        return this;
+    }
+
+    /**
+     * Show the rows in a table built from the entity's properties (getTable)
+     */
+    public ReportDefinition<R> entity(Class<R> type) {
+        this.entityType = type;
+        return this;
+    }
+
+    public ReportDefinition<R> tables(String... tables) {
+        this.tables = Set.of(tables);
+        return this;
+    }
+
+    public ReportDefinition<R> runLabel(String label) {
+        this.runLabel = label;
+        return this;
+    }
+
+    /**
+     * Load pageSize rows at a time, with LIMIT/OFFSET
+     */
+    public ReportDefinition<R> paged(int pageSize) {
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Page with a keyset instead of OFFSET: clause compares the ORDER BY
+     * columns with the cursor values, taken from the last loaded row (first
+     * for the first page)
+     */
+    public ReportDefinition<R> keyset(String clause, Function<R, Object[]> cursor, Object... first) {
+        this.keysetClause = clause;
+        this.cursor = cursor;
+        this.firstCursor = first;
+        return this;
+    }
+
+    /**
+     * Computed in the background by ReportScheduler; only for reports without parameters
+     */
+    public ReportDefinition<R> precomputed() {
+        this.precomputed = true;
+        return this;
+    }
+
+    /**
+     * Rows kept current in memory; the supplier returns null when they are not available
+     */
+    public ReportDefinition<R> memory(Supplier<List<R>> memory) {
+        this.memory = memory;
+        return this;
+    }
+
+    /**
+     * Text shown above the rows (or instead of them, for reports without columns)
+     */
+    public ReportDefinition<R> summary(Function<List<R>, String> summary) {
+        this.summary = summary;
+        return this;
+    }
+
+    /**
+     * Produce the rows with computation; sql stays the equivalent query
+     */
+    public ReportDefinition<R> computed(Computation<R> computation) {
+        this.computation = computation;
+        return this;
+    }
+
+    /**
+     * Whether ReportEngine may keep results (default true); off for reports that follow live data
+     */
+    public ReportDefinition<R> cached(boolean cached) {
+        this.cached = cached;
+        return this;
+    }
+
+    /**
+     * Index the query relies on; IndexAdvisor warns when it is missing
+     */
+    public ReportDefinition<R> index(String table, String... columns) {
+        this.indexTable = table;
+        this.indexColumns = columns;
+        return this;
+    }
+
+    public String key() { return key; }
+    public String title() { return title; }
+    public KeysetPager.RowMapper<R> mapper() { return mapper; }
+    public List<Param> params() { return params; }
+    public List<Column> columns() { return columns; }
+    public Class<R> entityType() { return entityType; }
+    public Set<String> tables() { return tables; }
+    public String runLabel() { return runLabel; }
+    public int pageSize() { return pageSize; }
+    public boolean isPaged() { return pageSize > 0; }
+    public boolean isPrecomputed() { return precomputed; }
+    public Supplier<List<R>> memory() { return memory; }
+    public Function<List<R>, String> summary() { return summary; }
+    public Computation<R> computation() { return computation; }
+    public boolean isCached() { return cached; }
+    public String indexTable() { return indexTable; }
+    public String[] indexColumns() { return indexColumns; }
+
+    public boolean hasTable() {
+        return entityType != null || !columns.isEmpty();
+    }
+
+    /**
+     * The whole result for these parameter values, unpaged (also what Export writes)
+     */
+    public String sql(Object[] values) {
+        return where(values) + orderBy;
+    }
+
+    public Object[] bind(Object[] values) {
+        List<Object> bind = new ArrayList<>();
+        for (int i = 0; i < params.size(); i++) {
+            if (!params.get(i).isOptional()) bind.add(values[i]);
+        }
+        for (int i = 0; i < params.size(); i++) {
+            if (params.get(i).isOptional() && params.get(i).isSet(values[i])) bind.add(values[i]);
+        }
+        return bind.toArray();
+    }
+
+    /**
+     * The page after last (null for the first page), which is at offset loaded
+     */
+    public String pageSql(Object[] values, int loaded) {
+        if (keysetClause != null) {
+            return where(values) + keysetClause + orderBy + " LIMIT " + pageSize;
+        }
+        return where(values) + orderBy + " LIMIT " + pageSize + " OFFSET " + loaded;
+    }
+
+    public Object[] pageBind(Object[] values, R last) {
+        Object[] bind = bind(values);
+        if (keysetClause == null) return bind;
+        Object[] keys = last == null ? firstCursor : cursor.apply(last);
+        Object[] all = new Object[bind.length + keys.length];
+        System.arraycopy(bind, 0, all, 0, bind.length);
+        System.arraycopy(keys, 0, all, bind.length, keys.length);
+        return all;
+    }
+
+    private String where(Object[] values) {
+        StringBuilder where = new StringBuilder(sql);
+        for (int i = 0; i < params.size(); i++) {
+            Param param = params.get(i);
+            if (param.isOptional() && param.isSet(values[i])) where.append(param.clause());
+        }
+        return where.toString();
+    }
+}
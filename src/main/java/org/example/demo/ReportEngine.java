@@ -0,0 +1,166 @@
+package org.example.demo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Runs report definitions, all through the same pipeline:
+ *
+ *   memory     rows kept current in memory (SummaryStore) are shown directly;
+ *   precompute reports marked precomputed are served from ReportScheduler;
+ *   cache      other results are kept per report and parameter values for
+ *              -Dreport.cacheSeconds=N (default 300, 0 disables);
+ *   query      otherwise the query (or the computation of a computed
+ *              report) runs asynchronously on the tab's ReportExecutor
+ *              (streamed, timed out, cancellable, exportable), a page at a
+ *              time for paged reports.
+ *
+ * "Refresh now" skips memory, precomputed and cached results. Paged reports
+ * are not cached; each page is a cheap indexed query.
+ */
+public class ReportEngine {
+
+    public static final long CACHE_SECONDS = Long.getLong("report.cacheSeconds", 300);
+    private static final int CACHE_ENTRIES = 100;
+
+    private static final DateTimeFormatter COMPUTED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter CACHED_AT = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private static final ReportEngine INSTANCE = new ReportEngine();
+
+    private record Cached(List<?> rows, LocalDateTime computedAt) {}
+
+    // Least recently used results; guarded by itself
+    private final Map<String, Cached> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+
+    public static ReportEngine get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register the precomputed definitions with ReportScheduler
+     */
+    public void schedule(List<ReportDefinition<?>> definitions) {
+        for (ReportDefinition<?> definition : definitions) {
+            if (definition.isPrecomputed()) entry(definition);
+        }
+    }
+
+    private <R> ReportScheduler.Entry<R> entry(ReportDefinition<R> definition) {
+        return ReportScheduler.get().register(definition.key(), definition.sql(new Object[0]), definition.mapper());
+    }
+
+    /**
+     * Warn (once per table and columns) when the index a definition relies on is missing
+     */
+    public void checkIndex(ReportDefinition<?> definition) {
+        if (definition.indexTable() == null) return;
+        BackgroundTasks.run(() -> IndexAdvisor.checkIndex(definition.indexTable(), definition.indexColumns()), null, null);
+    }
+
+    /**
+     * Show the whole result of definition for these parameter values
+     */
+    @SuppressWarnings("unchecked")
+    public <R> void run(ReportDefinition<R> definition, Object[] values, ReportExecutor executor, boolean refreshNow,
+                        Consumer<List<R>> show, Consumer<Throwable> onError) {
+        String sql = definition.sql(values);
+        Object[] bind = definition.bind(values);
+
+        if (!refreshNow && definition.memory() != null) {
+            List<R> rows = definition.memory().get();
+            if (rows != null) {
+                // Maintained by the writes, no table scan
+                executor.setExportQuery(sql, bind);
+                executor.showResult(String.format("%,d rows from memory", rows.size()));
+                show.accept(rows);
+                return;
+            }
+        }
+
+        if (definition.isPrecomputed()) {
+            ReportScheduler.Entry<R> report = entry(definition);
+            ReportScheduler.Result<R> latest = report.latest();
+            if (!refreshNow && latest != null) {
+                executor.setExportQuery(sql, bind);
+                executor.showResult(String.format("%,d rows, precomputed at %s",
+                        latest.rows().size(), latest.computedAt().format(COMPUTED_AT)));
+                show.accept(latest.rows());
+                return;
+            }
+            executor.run(sql, definition.mapper(), rows -> {
+                report.store(rows);
+                show.accept(rows);
+            }, onError, bind);
+            return;
+        }
+
+        String key = definition.key() + Arrays.asList(values);
+        boolean cacheable = definition.isCached() && CACHE_SECONDS > 0;
+        if (!refreshNow && cacheable) {
+            Cached cached;
+            synchronized (cache) {
+                cached = cache.get(key);
+            }
+            if (cached != null && cached.computedAt().plusSeconds(CACHE_SECONDS).isAfter(LocalDateTime.now())) {
+                executor.setExportQuery(sql, bind);
+                executor.showResult(String.format("%,d rows, cached at %s",
+                        cached.rows().size(), cached.computedAt().format(CACHED_AT)));
+                show.accept((List<R>) cached.rows());
+                return;
+            }
+        }
+        Consumer<List<R>> keep = rows -> {
+            if (cacheable) {
+                synchronized (cache) {
+                    cache.put(key, new Cached(List.copyOf(rows), LocalDateTime.now()));
+                }
+            }
+            show.accept(rows);
+        };
+        ReportDefinition.Computation<R> computation = definition.computation();
+        if (computation != null) {
+            executor.run((started, cancelled, onRow) -> computation.compute(values, started, cancelled, onRow),
+                    keep, onError);
+            executor.setExportQuery(sql, bind);
+        } else {
+            executor.run(sql, definition.mapper(), keep, onError, bind);
+        }
+    }
+
+    /**
+     * Load the page of a paged definition that follows the loaded rows
+     * (none for the first page); loaded must be in the order the pages were
+     * fetched, not a sorted view. Export writes all pages
+     */
+    public <R> void page(ReportDefinition<R> definition, Object[] values, List<R> loaded, ReportExecutor executor,
+                         Consumer<List<R>> show, Consumer<Throwable> onError) {
+        R last = loaded.isEmpty() ? null : loaded.get(loaded.size() - 1);
+        executor.run(definition.pageSql(values, loaded.size()), definition.mapper(), show, onError,
+                definition.pageBind(values, last));
+        executor.setExportQuery(definition.sql(values), definition.bind(values));
+    }
+
+    /**
+     * Drop cached results of the reports that read table (called after writes to it)
+     */
+    public void invalidate(String table) {
+        synchronized (cache) {
+            for (ReportDefinition<?> definition : Reports.all()) {
+                if (definition.tables().contains(table)) {
+                    cache.keySet().removeIf(k -> k.startsWith(definition.key() + "["));
+                }
+            }
+        }
+    }
+}
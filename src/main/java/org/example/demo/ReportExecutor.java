@@ -0,0 +1,233 @@
+package org.example.demo;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.concurrent.Task;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.util.Duration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs the query of one report tab in the background.
+ *
+ * Each tab owns an executor with a status line (elapsed time, rows read so
+ * far) and a Cancel button. Queries get a timeout (-Dreport.timeoutSeconds=N,
+ * default 30) and Cancel stops them on the server through Statement.cancel.
+ * Rows are streamed from MySQL instead of buffered, so the row count moves
+ * while the result is still arriving. Executors of different tabs run
+ * concurrently on the shared background executor; starting a new run on the
+ * same tab cancels the one still running there. Export streams the tab's
+ * last query to a CSV/TSV file.
+ */
+public class ReportExecutor {
+
+    public static final int TIMEOUT_SECONDS = Integer.getInteger("report.timeoutSeconds", 30);
+
+    private final Label status = new Label();
+    private final Button cancelBtn = new Button("Cancel");
+    private final Button exportBtn = new Button("Export...");
+    private final HBox node = new HBox(10, cancelBtn, exportBtn, status);
+    private final Timeline ticker = new Timeline(new KeyFrame(Duration.millis(100), e -> showProgress()));
+
+    private final AtomicInteger rows = new AtomicInteger();
+    private volatile Statement running;
+    private Task<?> task;
+    private long started;
+    private String exportSql;
+    private Object[] exportParams;
+
+    /**
+     * name is the report name, used for the export file
+     */
+    public ReportExecutor(String name) {
+        ticker.setCycleCount(Timeline.INDEFINITE);
+        cancelBtn.setDisable(true);
+        cancelBtn.setOnAction(e -> cancel());
+        exportBtn.setDisable(true);
+        exportBtn.setOnAction(e -> StreamingExporter.exportWithDialog(
+                node.getScene() == null ? null : node.getScene().getWindow(), name, exportSql, exportParams));
+    }
+
+    /**
+     * What Export writes; run sets it to the query it runs, a paged report
+     * sets it afterwards to the unpaged query
+     */
+    public void setExportQuery(String sql, Object... params) {
+        exportSql = sql;
+        exportParams = params;
+        exportBtn.setDisable(sql == null);
+    }
+
+    /**
+     * Status line with the Cancel button, to be placed in the tab
+     */
+    public HBox getNode() {
+        return node;
+    }
+
+    /**
+     * Work that produces the rows of a report: started receives each statement
+     * so Cancel can stop it, cancelled is polled per row and onRow counts rows
+     */
+    @FunctionalInterface
+    public interface Work<R> {
+        List<R> run(Consumer<Statement> started, BooleanSupplier cancelled, Runnable onRow) throws SQLException;
+    }
+
+    /**
+     * Run sql with params (LocalDate values are bound as SQL dates); onSuccess
+     * receives the mapped rows and onError (may be null) any failure other than
+     * a cancel, both on the FX thread
+     */
+    public <R> void run(String sql, KeysetPager.RowMapper<R> mapper, Consumer<List<R>> onSuccess,
+                        Consumer<Throwable> onError, Object... params) {
+        run((started, cancelled, onRow) -> fetch(sql, mapper, params, TIMEOUT_SECONDS, started, cancelled, onRow),
+                onSuccess, onError);
+        setExportQuery(sql, params);
+    }
+
+    /**
+     * Run work that is not a single query (e.g. a computed ranking) with the
+     * same status line, Cancel and callbacks; set the export query separately
+     */
+    public <R> void run(Work<R> work, Consumer<List<R>> onSuccess, Consumer<Throwable> onError) {
+        cancel();
+        rows.set(0);
+
+        Task<List<R>> next = new Task<>() {
+            @Override
+            protected List<R> call() throws Exception {
+                return query(this, work);
+            }
+        };
+        next.setOnSucceeded(e -> {
+            if (task != next) return; // superseded by a newer run
+            finish(String.format("%,d rows in %s", rows.get(), elapsed()));
+            onSuccess.accept(next.getValue());
+        });
+        next.setOnFailed(e -> {
+            if (task != next) return;
+            Throwable ex = next.getException();
+            if (ex instanceof SQLTimeoutException) {
+                finish("Timed out after " + TIMEOUT_SECONDS + " s");
+            } else {
+                finish("Error: " + ex.getMessage());
+            }
+            if (onError != null) onError.accept(ex);
+        });
+        next.setOnCancelled(e -> {
+            if (task == next) finish("Cancelled after " + elapsed());
+        });
+
+        task = next;
+        started = System.nanoTime();
+        cancelBtn.setDisable(false);
+        showProgress();
+        ticker.play();
+        BackgroundTasks.executor().submit(next);
+    }
+
+    /**
+     * Stop the running query, if any; the server is told off the FX thread
+     * because Statement.cancel opens a connection of its own
+     */
+    public void cancel() {
+        if (task == null || task.isDone()) return;
+        task.cancel(false);
+        Statement stmt = running;
+        if (stmt != null) {
+            BackgroundTasks.executor().submit(() -> {
+                try {
+                    stmt.cancel();
+                } catch (SQLException ex) {
+                    System.err.println("Error cancelling report query: " + ex.getMessage());
+                }
+            });
+        }
+    }
+
+    public boolean isRunning() {
+        return task != null && !task.isDone();
+    }
+
+    private <R> List<R> query(Task<?> owner, Work<R> work) throws SQLException {
+        Statement[] mine = new Statement[1];
+        try {
+            return work.run(stmt -> {
+                mine[0] = stmt;
+                running = stmt;
+            }, owner::isCancelled, rows::incrementAndGet);
+        } finally {
+            if (running == mine[0]) running = null;
+        }
+    }
+
+    /**
+     * Stream sql (LocalDate params bound as SQL dates) and map every row;
+     * started receives the statement so it can be cancelled, cancelled is
+     * polled per row and onRow is called after each mapped row
+     */
+    static <R> List<R> fetch(String sql, KeysetPager.RowMapper<R> mapper, Object[] params, int timeoutSeconds,
+                             Consumer<Statement> started, BooleanSupplier cancelled, Runnable onRow) throws SQLException {
+        List<R> result = new ArrayList<>();
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setQueryTimeout(timeoutSeconds);
+                pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+                for (int i = 0; i < params.length; i++) {
+                    Object p = params[i];
+                    pstmt.setObject(i + 1, p instanceof LocalDate d ? java.sql.Date.valueOf(d) : p);
+                }
+                started.accept(pstmt);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (cancelled.getAsBoolean()) break;
+                        result.add(mapper.map(rs));
+                        onRow.run();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Show a result that did not come from a query of this executor (e.g. a precomputed one)
+     */
+    public void showResult(String message) {
+        cancel();
+        finish(message);
+    }
+
+    private void showProgress() {
+        status.setText(String.format("Running... %s, %,d rows", elapsed(), rows.get()));
+    }
+
+    private void finish(String message) {
+        ticker.stop();
+        cancelBtn.setDisable(true);
+        status.setText(message);
+    }
+
+    private String elapsed() {
+        return String.format("%.1f s", (System.nanoTime() - started) / 1e9);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.demo;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Precomputes expensive reports in the background so the first click of the
+ * day is served from memory.
+ *
+ * A report is registered with a key, its SQL and row mapper. It is computed
+ * once shortly after registration and then on its schedule, configured with
+ * -Dreport.schedule.KEY=SPEC where SPEC is
+ *   "07:00" or "07:00,12:30"  daily at these times,
+ *   "every 30m" / "every 2h"  at a fixed interval,
+ *   "off"                     never (computed on demand only).
+ * The default is DEFAULT_SCHEDULE. The work runs on one daemon thread with
+ * minimum priority; results are kept with the time they were computed and a
+ * tab can always replace them with a fresh run ("refresh now").
+ */
+public class ReportScheduler {
+
+    public static final String DEFAULT_SCHEDULE = "06:30";
+    private static final long STARTUP_DELAY_SECONDS = 5;
+    private static final int PRECOMPUTE_TIMEOUT_SECONDS = 600;
+
+    private static final ReportScheduler INSTANCE = new ReportScheduler();
+
+    /**
+     * Rows of a report and when they were computed
+     */
+    public record Result<R>(List<R> rows, LocalDateTime computedAt) {}
+
+    /**
+     * One registered report
+     */
+    public static final class Entry<R> {
+        private final String key;
+        private final String sql;
+        private final KeysetPager.RowMapper<R> mapper;
+        private volatile Result<R> latest;
+
+        private Entry(String key, String sql, KeysetPager.RowMapper<R> mapper) {
+            this.key = key;
+            this.sql = sql;
+            this.mapper = mapper;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public KeysetPager.RowMapper<R> mapper() {
+            return mapper;
+        }
+
+        /**
+         * Latest precomputed or stored result, null if there is none yet
+         */
+        public Result<R> latest() {
+            return latest;
+        }
+
+        /**
+         * Keep rows computed elsewhere (e.g. a manual refresh) as the latest result
+         */
+        public void store(List<R> rows) {
+            latest = new Result<>(List.copyOf(rows), LocalDateTime.now());
+        }
+
+        private void compute() {
+            long start = System.nanoTime();
+            try {
+                List<R> rows = ReportExecutor.fetch(sql, mapper, new Object[0], PRECOMPUTE_TIMEOUT_SECONDS,
+                        stmt -> {}, () -> false, () -> {});
+                store(rows);
+                System.out.printf("Precomputed report %s: %d rows in %d ms%n",
+                        key, rows.size(), (System.nanoTime() - start) / 1_000_000);
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Error precomputing report " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private final Map<String, Entry<?>> entries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "report-precompute");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    public static ReportScheduler get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Register a report and schedule it; registering the same key again returns the existing entry
+     */
+    @SuppressWarnings("unchecked")
+    public <R> Entry<R> register(String key, String sql, KeysetPager.RowMapper<R> mapper) {
+        return (Entry<R>) entries.computeIfAbsent(key, k -> {
+            Entry<R> entry = new Entry<>(k, sql, mapper);
+            schedule(entry, System.getProperty("report.schedule." + k, DEFAULT_SCHEDULE));
+            return entry;
+        });
+    }
+
+    private void schedule(Entry<?> entry, String spec) {
+        spec = spec.trim().toLowerCase();
+        if (spec.equals("off")) return;
+
+        executor.schedule(entry::compute, STARTUP_DELAY_SECONDS, TimeUnit.SECONDS);
+        if (spec.startsWith("every ")) {
+            Duration interval = parseInterval(spec.substring(6).trim());
+            executor.scheduleWithFixedDelay(entry::compute, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        List<LocalTime> times = new ArrayList<>();
+        for (String time : spec.split(",")) {
+            times.add(LocalTime.parse(time.trim()));
+        }
+        scheduleDaily(entry, times);
+    }
+
+    // Next run at the earliest of the times still ahead; rescheduled after each run so clock changes are followed
+    private void scheduleDaily(Entry<?> entry, List<LocalTime> times) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = null;
+        for (LocalTime time : times) {
+            LocalDateTime at = now.toLocalDate().atTime(time);
+            if (!at.isAfter(now)) at = at.plusDays(1);
+            if (next == null || at.isBefore(next)) next = at;
+        }
+        executor.schedule(() -> {
+            entry.compute();
+            scheduleDaily(entry, times);
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // "30m", "2h", "45s"
+    private static Duration parseInterval(String text) {
+        long amount = Long.parseLong(text.substring(0, text.length() - 1).trim());
+        return switch (text.charAt(text.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown interval: " + text);
+        };
+    }
+}
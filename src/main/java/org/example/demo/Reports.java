@@ -0,0 +1,311 @@
+package org.example.demo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.demo.Rankings.RankedItem;
+import org.example.demo.ReportDefinition.Param;
+import org.example.demo.ReportsView.CategoryCount;
+import org.example.demo.ReportsView.LoanInfo;
+import org.example.demo.ReportsView.SaleInfo;
+
+/**
+ * The reports of the reports view, in tab order
+ */
+public class Reports {
+
+    private static final String AUTHOR_NAMES = "SELECT DISTINCT CONCAT(first_name, ' ', last_name) as name FROM author";
+    private static final String BORROWER_NAMES = "SELECT DISTINCT CONCAT(first_name, ' ', last_name) as name FROM borrower";
+    private static final String COUNTRIES = "SELECT DISTINCT country FROM publisher WHERE country IS NOT NULL";
+
+    /**
+     * Single value of the Total Books Value report
+     */
+    public record TotalValue(double value) {}
+
+    // Report 1: Total value of all books
+    static final ReportDefinition<TotalValue> TOTAL_VALUE = ReportDefinition.of("totalValue", "Total Books Value",
+            "SELECT SUM(original_price * available) as total_value FROM book",
+            rs -> new TotalValue(rs.getDouble("total_value")))
+            .tables("book")
+            .runLabel("Calculate Total Value")
+            .memory(() -> SummaryStore.get().isLoaded() ? List.of(new TotalValue(SummaryStore.get().totalValue())) : null)
+            .summary(Reports::totalValueText);
+
+    // Report 2: Books written by a selected author
+    static final ReportDefinition<Book> BOOKS_BY_AUTHOR = ReportDefinition.of("booksByAuthor", "Books by Author",
+            "SELECT DISTINCT b.* FROM book b " +
+            "INNER JOIN bookauthor ba ON b.book_id = ba.book_id " +
+            "INNER JOIN author a ON ba.author_id = a.author_id " +
+            "WHERE CONCAT(a.first_name, ' ', a.last_name) = ?",
+            Reports::mapBook)
+            .param(Param.choice("Author", AUTHOR_NAMES, "name"))
+            .entity(Book.class)
+            .tables("book", "bookauthor", "author")
+            .runLabel("Show Books");
+
+    // Report 3: Books borrowed or bought by a specific borrower; loans and sales are joined separately,
+    // an OR in one join condition cannot use an index and pairs every book with every borrower
+    static final ReportDefinition<Book> BOOKS_BY_BORROWER = ReportDefinition.of("booksByBorrower", "Books by Borrower",
+            "WITH who AS (SELECT borrower_id FROM borrower WHERE CONCAT(first_name, ' ', last_name) = ?) " +
+            "SELECT b.* FROM book b " +
+            "INNER JOIN loan l ON b.book_id = l.book_id " +
+            "INNER JOIN who ON l.borrower_id = who.borrower_id " +
+            "UNION " +
+            "SELECT b.* FROM book b " +
+            "INNER JOIN sale s ON b.book_id = s.book_id " +
+            "INNER JOIN who ON s.borrower_id = who.borrower_id",
+            Reports::mapBook)
+            .param(Param.choice("Borrower", BORROWER_NAMES, "name"))
+            .entity(Book.class)
+            .tables("book", "loan", "sale", "borrower")
+            .runLabel("Show Books");
+
+    // Report 4: Current loans and due dates; open loans, most overdue first, paged by (due_date, loan_id).
+    // return_date IS NULL + due_date order are served by idx_loan_return_due
+    static final ReportDefinition<LoanInfo> CURRENT_LOANS = ReportDefinition.of("currentLoans", "Current Loans",
+            "SELECT l.loan_id, l.loan_date, l.due_date, " +
+            "GREATEST(DATEDIFF(CURDATE(), l.due_date), 0) as days_overdue, " +
+            "b.title as book_title, " +
+            "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
+            "FROM loan l " +
+            "INNER JOIN book b ON l.book_id = b.book_id " +
+            "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
+            "WHERE l.return_date IS NULL",
+            rs -> new LoanInfo(
+                rs.getInt("loan_id"),
+                rs.getString("book_title"),
+                rs.getString("borrower_name"),
+                rs.getDate("loan_date").toLocalDate(),
+                rs.getDate("due_date").toLocalDate(),
+                rs.getInt("days_overdue")
+            ))
+            .param(Param.number("Min. days overdue (0 = all open loans)",
+                    " AND l.due_date <= DATE_SUB(CURDATE(), INTERVAL ? DAY)"))
+            .orderBy(" ORDER BY l.due_date, l.loan_id")
+            .paged(200)
+            .keyset(" AND (l.due_date > ? OR (l.due_date = ? AND l.loan_id > ?))",
+                    last -> new Object[] { last.getDueDate(), last.getDueDate(), last.getLoanId() },
+                    LocalDate.of(1, 1, 1), LocalDate.of(1, 1, 1), 0)
+            .column("Book Title", "bookTitle")
+            .column("Borrower", "borrowerName")
+            .column("Loan Date", "loanDate")
+            .column("Due Date", "dueDate")
+            .column("Days Overdue", "daysOverdue")
+            .tables("loan", "book", "borrower")
+            .index("loan", "return_date", "due_date");
+
+    // Report 5: Books published in a selected country
+    static final ReportDefinition<Book> BOOKS_BY_COUNTRY = ReportDefinition.of("booksByCountry", "Books by Country",
+            "SELECT b.* FROM book b " +
+            "INNER JOIN publisher p ON b.publisher_id = p.publisher_id " +
+            "WHERE p.country = ?",
+            Reports::mapBook)
+            .param(Param.choice("Country", COUNTRIES, "country"))
+            .entity(Book.class)
+            .tables("book", "publisher")
+            .runLabel("Show Books");
+
+    // Report 6: Borrowers who never borrowed or bought a book
+    static final ReportDefinition<Borrower> NEVER_ACTIVE = ReportDefinition.of("neverActive", "Borrowers Never Active",
+            "SELECT br.* FROM borrower br " +
+            "LEFT JOIN loan l ON br.borrower_id = l.borrower_id " +
+            "LEFT JOIN sale s ON br.borrower_id = s.borrower_id " +
+            "WHERE l.borrower_id IS NULL AND s.borrower_id IS NULL",
+            rs -> new Borrower(
+                rs.getInt("borrower_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getInt("type_id"),
+                rs.getString("contact_info")
+            ))
+            .entity(Borrower.class)
+            .tables("borrower", "loan", "sale")
+            .precomputed();
+
+    // Report 7: Books with more than one author
+    static final ReportDefinition<Book> MULTIPLE_AUTHORS = ReportDefinition.of("multipleAuthors", "Books (Multiple Authors)",
+            "SELECT b.*, COUNT(ba.author_id) as author_count " +
+            "FROM book b " +
+            "INNER JOIN bookauthor ba ON b.book_id = ba.book_id " +
+            "GROUP BY b.book_id " +
+            "HAVING COUNT(ba.author_id) > 1",
+            Reports::mapBook)
+            .entity(Book.class)
+            .tables("book", "bookauthor")
+            .precomputed();
+
+    // Report 8: Books that were sold and their sale prices
+    static final ReportDefinition<SaleInfo> BOOKS_SOLD = ReportDefinition.of("booksSold", "Books Sold",
+            "SELECT s.*, b.title as book_title, " +
+            "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
+            "FROM sale s " +
+            "INNER JOIN book b ON s.book_id = b.book_id " +
+            "INNER JOIN borrower br ON s.borrower_id = br.borrower_id",
+            rs -> new SaleInfo(
+                rs.getString("book_title"),
+                rs.getString("borrower_name"),
+                rs.getDate("sale_date").toLocalDate(),
+                rs.getDouble("sale_price")
+            ))
+            .orderBy(" ORDER BY s.sale_date DESC")
+            .column("Book Title", "bookTitle")
+            .column("Borrower", "borrowerName")
+            .column("Sale Date", "saleDate")
+            .column("Sale Price", "salePrice")
+            .tables("sale", "book", "borrower")
+            .precomputed();
+
+    // Report 9: Books currently available for borrowing
+    static final ReportDefinition<Book> AVAILABLE_BOOKS = ReportDefinition.of("availableBooks", "Available Books",
+            "SELECT * FROM book WHERE available > 0",
+            Reports::mapBook)
+            .entity(Book.class)
+            .tables("book");
+
+    // Report 10: Loan history for a selected borrower
+    static final ReportDefinition<LoanInfo> LOAN_HISTORY = ReportDefinition.of("loanHistory", "Loan History",
+            "SELECT l.*, b.title as book_title, " +
+            "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
+            "FROM loan l " +
+            "INNER JOIN book b ON l.book_id = b.book_id " +
+            "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
+            "WHERE CONCAT(br.first_name, ' ', br.last_name) = ?",
+            rs -> new LoanInfo(
+                rs.getString("book_title"),
+                rs.getString("borrower_name"),
+                rs.getDate("loan_date").toLocalDate(),
+                rs.getDate("due_date").toLocalDate(),
+                rs.getDate("return_date") != null ? rs.getDate("return_date").toLocalDate() : null
+            ))
+            .param(Param.choice("Borrower", BORROWER_NAMES, "name"))
+            .orderBy(" ORDER BY l.loan_date DESC")
+            .column("Book Title", "bookTitle")
+            .column("Loan Date", "loanDate")
+            .column("Due Date", "dueDate")
+            .column("Return Date", "returnDate")
+            .tables("loan", "book", "borrower")
+            .runLabel("Show History");
+
+    // Report 11: Books borrowed within a certain date range
+    static final ReportDefinition<LoanInfo> LOANS_BY_DATE_RANGE = ReportDefinition.of("loansByDateRange", "Loans by Date Range",
+            "SELECT l.*, b.title as book_title, " +
+            "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
+            "FROM loan l " +
+            "INNER JOIN book b ON l.book_id = b.book_id " +
+            "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
+            "WHERE l.loan_date BETWEEN ? AND ?",
+            rs -> new LoanInfo(
+                rs.getString("book_title"),
+                rs.getString("borrower_name"),
+                rs.getDate("loan_date").toLocalDate(),
+                rs.getDate("due_date").toLocalDate(),
+                null
+            ))
+            .param(Param.date("Start"))
+            .param(Param.date("End"))
+            .orderBy(" ORDER BY l.loan_date")
+            .column("Book Title", "bookTitle")
+            .column("Borrower", "borrowerName")
+            .column("Loan Date", "loanDate")
+            .tables("loan", "book", "borrower")
+            .runLabel("Search");
+
+    // Report 12: Books per category
+    static final ReportDefinition<CategoryCount> BOOKS_BY_CATEGORY = ReportDefinition.of("booksByCategory", "Books by Category",
+            "SELECT category, COUNT(*) as count FROM book GROUP BY category ORDER BY count DESC",
+            rs -> new CategoryCount(
+                rs.getString("category"),
+                rs.getInt("count")
+            ))
+            .memory(Reports::categoryCounts)
+            .column("Category", "category")
+            .column("Number of Books", "count")
+            .tables("book");
+
+    // Reports 13-15: Top-N rankings for a date range, counted by Rankings; the SQL is the equivalent
+    // GROUP BY query, used for Export
+    static final ReportDefinition<RankedItem> MOST_BORROWED_BOOKS = ranking("mostBorrowedBooks", "Most Borrowed Books",
+            "SELECT l.book_id, b.title, COUNT(*) AS loans FROM loan l " +
+            "INNER JOIN book b ON l.book_id = b.book_id " +
+            "WHERE l.loan_date BETWEEN ? AND ? " +
+            "GROUP BY l.book_id, b.title ORDER BY loans DESC, l.book_id",
+            Rankings.Ranking.MOST_BORROWED_BOOKS, "Book", "Loans")
+            .tables("loan", "book");
+
+    static final ReportDefinition<RankedItem> MOST_ACTIVE_BORROWERS = ranking("mostActiveBorrowers", "Most Active Borrowers",
+            "SELECT a.borrower_id, CONCAT(br.first_name, ' ', br.last_name) AS name, COUNT(*) AS activity " +
+            "FROM (SELECT ? AS from_date, ? AS to_date) r " +
+            "INNER JOIN (SELECT borrower_id, loan_date AS day FROM loan " +
+            "UNION ALL SELECT borrower_id, sale_date FROM sale) a ON a.day BETWEEN r.from_date AND r.to_date " +
+            "INNER JOIN borrower br ON a.borrower_id = br.borrower_id " +
+            "GROUP BY a.borrower_id, name ORDER BY activity DESC, a.borrower_id",
+            Rankings.Ranking.MOST_ACTIVE_BORROWERS, "Borrower", "Loans + Purchases")
+            .tables("loan", "sale", "borrower");
+
+    static final ReportDefinition<RankedItem> TOP_SELLING_TITLES = ranking("topSellingTitles", "Top-Selling Titles",
+            "SELECT s.book_id, b.title, COUNT(*) AS sold FROM sale s " +
+            "INNER JOIN book b ON s.book_id = b.book_id " +
+            "WHERE s.sale_date BETWEEN ? AND ? " +
+            "GROUP BY s.book_id, b.title ORDER BY sold DESC, s.book_id",
+            Rankings.Ranking.TOP_SELLING_TITLES, "Title", "Copies Sold")
+            .tables("sale", "book");
+
+    private static final List<ReportDefinition<?>> ALL = List.of(
+            TOTAL_VALUE, BOOKS_BY_AUTHOR, BOOKS_BY_BORROWER, CURRENT_LOANS, BOOKS_BY_COUNTRY, NEVER_ACTIVE,
+            MULTIPLE_AUTHORS, BOOKS_SOLD, AVAILABLE_BOOKS, LOAN_HISTORY, LOANS_BY_DATE_RANGE, BOOKS_BY_CATEGORY,
+            MOST_BORROWED_BOOKS, MOST_ACTIVE_BORROWERS, TOP_SELLING_TITLES);
+
+    public static List<ReportDefinition<?>> all() {
+        return ALL;
+    }
+
+    private static ReportDefinition<RankedItem> ranking(String key, String title, String sql,
+                                                        Rankings.Ranking ranking, String nameHeader, String countHeader) {
+        return ReportDefinition.of(key, title, sql,
+                rs -> new RankedItem(0, rs.getInt(1), rs.getString(2), rs.getLong(3)))
+                .param(Param.date("Start"))
+                .param(Param.date("End"))
+                .computed((values, started, cancelled, onRow) -> Rankings.compute(ranking,
+                        (LocalDate) values[0], (LocalDate) values[1], started, cancelled, onRow))
+                .cached(!Rankings.SNAPSHOT) // snapshot rankings change with each ColumnarStore reload, a cached result would not
+                .column("#", "rank")
+                .column(nameHeader, "name")
+                .column(countHeader, "count")
+                .runLabel("Rank");
+    }
+
+    private static String totalValueText(List<TotalValue> rows) {
+        if (rows.isEmpty()) return "";
+        String text = String.format("Total Value of All Books: $%.2f", rows.get(0).value());
+        SummaryStore summary = SummaryStore.get();
+        if (summary.isLoaded()) {
+            SummaryStore.DayTotal sales = summary.salesBetween(LocalDate.now().minusDays(29), LocalDate.now());
+            text += String.format("%nSales in the last 30 days: %d, $%.2f", sales.count(), sales.total());
+        }
+        return text;
+    }
+
+    private static List<CategoryCount> categoryCounts() {
+        SummaryStore summary = SummaryStore.get();
+        if (!summary.isLoaded()) return null;
+        List<CategoryCount> categories = new ArrayList<>();
+        summary.categoryCounts().forEach((category, count) -> categories.add(new CategoryCount(category, count)));
+        return categories;
+    }
+
+    static Book mapBook(ResultSet rs) throws SQLException {
+        return new Book(
+            rs.getInt("book_id"),
+            rs.getString("title"),
+            rs.getInt("publisher_id"),
+            rs.getString("category"),
+            rs.getString("book_type"),
+            rs.getDouble("original_price"),
+            rs.getInt("available")>0?"Yes":"No"
+        );
+    }
+}
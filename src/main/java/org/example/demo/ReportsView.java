@@ -2,24 +2,37 @@ package org.example.demo;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.geometry.Insets;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.util.StringConverter;
 
-import java.sql.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
- * Reports view with various SQL queries and reports
+ * Reports view with various SQL queries and reports; the reports themselves
+ * are defined in Reports and run by ReportEngine
  */
 public class ReportsView {
+
     private BorderPane root;
     private TabPane tabPane;
 
     public ReportsView() {
+        SummaryStore.get().start();
+        Rankings.start();
         createView();
     }
 
@@ -29,709 +42,235 @@ public class ReportsView {
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
 
         // Create all report tabs
-        tabPane.getTabs().addAll(
-            createTotalBooksValueTab(),
-            createBooksByAuthorTab(),
-            createBooksByBorrowerTab(),
-            createCurrentLoansTab(),
-            createBooksByCountryTab(),
-            createBorrowersNeverBorrowedTab(),
-            createBooksMultipleAuthorsTab(),
-            createBooksSoldTab(),
-            createAvailableBooksTab(),
-            createLoanHistoryTab(),
-            createLoansByDateRangeTab(),
-            createBooksByCategoryTab()
-        );
+        for (ReportDefinition<?> definition : Reports.all()) {
+            tabPane.getTabs().add(createTab(definition));
+        }
+        tabPane.getTabs().add(createChartTab());
 
         root.setCenter(tabPane);
     }
 
-    // Report 1: Total value of all books
-    private Tab createTotalBooksValueTab() {
-        Tab tab = new Tab("Total Books Value");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        Button refreshBtn = new Button("Calculate Total Value");
-        Label resultLabel = new Label("Click button to calculate");
-
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT SUM(original_price * available) as total_value FROM book";
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        if (rs.next()) {
-                            double total = rs.getDouble("total_value");
-                            resultLabel.setText(String.format("Total Value of All Books: $%.2f", total));
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                resultLabel.setText("Error: " + ex.getMessage());
-            }
-        });
-
-        content.getChildren().addAll(refreshBtn, resultLabel);
-        tab.setContent(content);
-        return tab;
+    /**
+     * Register the precomputed reports so they are ready before the reports view is opened
+     */
+    public static void schedulePrecomputed() {
+        ReportEngine.get().schedule(Reports.all());
     }
 
-    // Report 2: Books written by a selected author
-    private Tab createBooksByAuthorTab() {
-        Tab tab = new Tab("Books by Author");
+    // One tab per report: parameter inputs, run buttons, status line, summary and result table
+    private <R> Tab createTab(ReportDefinition<R> definition) {
+        Tab tab = new Tab(definition.title());
         VBox content = new VBox(10);
         content.setPadding(new Insets(20));
 
-        ComboBox<String> authorCombo = new ComboBox<>();
-        authorCombo.setPromptText("Select Author");
-        loadAuthors(authorCombo);
-
-        TableView<Book> table = createBookTable();
-        Button refreshBtn = new Button("Show Books");
-
-        refreshBtn.setOnAction(e -> {
-            String authorName = authorCombo.getValue();
-            if (authorName == null) {
-                showAlert("Please select an author");
-                return;
-            }
-
-            String sql = "SELECT DISTINCT b.* FROM book b " +
-                        "INNER JOIN bookauthor ba ON b.book_id = ba.book_id " +
-                        "INNER JOIN author a ON ba.author_id = a.author_id " +
-                        "WHERE CONCAT(a.first_name, ' ', a.last_name) = ?";
-            
-            ObservableList<Book> books = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setString(1, authorName);
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            while (rs.next()) {
-                                books.add(new Book(
-                                    rs.getInt("book_id"),
-                                    rs.getString("title"),
-                                    rs.getInt("publisher_id"),
-                                    rs.getString("category"),
-                                    rs.getString("book_type"),
-                                    rs.getDouble("original_price"),
-                                    rs.getInt("available")>0?"Yes":"No"
-                                ));
-                            }
-                        }
-                    }
+        ReportEngine engine = ReportEngine.get();
+        engine.checkIndex(definition);
+
+        List<Supplier<Object>> inputs = new ArrayList<>();
+        HBox inline = new HBox(10);
+        for (ReportDefinition.Param param : definition.params()) {
+            switch (param.kind()) {
+                case CHOICE -> {
+                    // Pickers are filled in the background so building the tab doesn't scale with table size
+                    AutoCompleteField field = new AutoCompleteField("Select " + param.label());
+                    field.loadInBackground(param.source(), param.sourceColumn());
+                    content.getChildren().addAll(new Label("Select " + param.label() + ":"), field.getNode());
+                    inputs.add(field::getValue);
                 }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(books);
-        });
-
-        content.getChildren().addAll(new Label("Select Author:"), authorCombo, refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 3: Books borrowed or bought by a specific borrower
-    private Tab createBooksByBorrowerTab() {
-        Tab tab = new Tab("Books by Borrower");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        ComboBox<String> borrowerCombo = new ComboBox<>();
-        borrowerCombo.setPromptText("Select Borrower");
-        loadBorrowers(borrowerCombo);
-
-        TableView<Book> table = createBookTable();
-        Button refreshBtn = new Button("Show Books");
-
-        refreshBtn.setOnAction(e -> {
-            String borrowerName = borrowerCombo.getValue();
-            if (borrowerName == null) {
-                showAlert("Please select a borrower");
-                return;
-            }
-
-            String sql = "SELECT DISTINCT b.* FROM book b " +
-                        "LEFT JOIN loan l ON b.book_id = l.book_id " +
-                        "LEFT JOIN sale s ON b.book_id = s.book_id " +
-                        "LEFT JOIN borrower br ON (l.borrower_id = br.borrower_id OR s.borrower_id = br.borrower_id) " +
-                        "WHERE CONCAT(br.first_name, ' ', br.last_name) = ?";
-            
-            ObservableList<Book> books = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setString(1, borrowerName);
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            while (rs.next()) {
-                                books.add(new Book(
-                                    rs.getInt("book_id"),
-                                    rs.getString("title"),
-                                    rs.getInt("publisher_id"),
-                                    rs.getString("category"),
-                                    rs.getString("book_type"),
-                                    rs.getDouble("original_price"),
-                                    rs.getInt("available")>0?"Yes":"No"
-                                ));
-                            }
-                        }
-                    }
+                case DATE -> {
+                    DatePicker picker = new DatePicker();
+                    picker.setPromptText(param.label() + " Date");
+                    inline.getChildren().addAll(new Label(param.label() + ":"), picker);
+                    inputs.add(picker::getValue);
                 }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(books);
-        });
-
-        content.getChildren().addAll(new Label("Select Borrower:"), borrowerCombo, refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 4: Current loans and due dates
-    private Tab createCurrentLoansTab() {
-        Tab tab = new Tab("Current Loans");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        TableView<LoanInfo> table = new TableView<>();
-        
-        TableColumn<LoanInfo, String> bookCol = new TableColumn<>("Book Title");
-        bookCol.setCellValueFactory(new PropertyValueFactory<>("bookTitle"));
-        
-        TableColumn<LoanInfo, String> borrowerCol = new TableColumn<>("Borrower");
-        borrowerCol.setCellValueFactory(new PropertyValueFactory<>("borrowerName"));
-        
-        TableColumn<LoanInfo, LocalDate> loanDateCol = new TableColumn<>("Loan Date");
-        loanDateCol.setCellValueFactory(new PropertyValueFactory<>("loanDate"));
-        
-        TableColumn<LoanInfo, LocalDate> dueDateCol = new TableColumn<>("Due Date");
-        dueDateCol.setCellValueFactory(new PropertyValueFactory<>("dueDate"));
-        
-        TableColumn<LoanInfo, Integer> daysOverdueCol = new TableColumn<>("Days Overdue");
-        daysOverdueCol.setCellValueFactory(new PropertyValueFactory<>("daysOverdue"));
-
-        table.getColumns().addAll(bookCol, borrowerCol, loanDateCol, dueDateCol, daysOverdueCol);
-
-        Button refreshBtn = new Button("Refresh");
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT l.*, b.title as book_title, " +
-                        "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
-                        "FROM loan l " +
-                        "INNER JOIN book b ON l.book_id = b.book_id " +
-                        "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
-                        "WHERE l.return_date IS NULL";
-            
-            ObservableList<LoanInfo> loans = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            LocalDate dueDate = rs.getDate("due_date").toLocalDate();
-                            LocalDate today = LocalDate.now();
-                            int daysOverdue = dueDate.isBefore(today) ? 
-                                (int) java.time.temporal.ChronoUnit.DAYS.between(dueDate, today) : 0;
-                            
-                            loans.add(new LoanInfo(
-                                rs.getString("book_title"),
-                                rs.getString("borrower_name"),
-                                rs.getDate("loan_date").toLocalDate(),
-                                dueDate,
-                                daysOverdue
-                            ));
-                        }
-                    }
+                case NUMBER -> {
+                    Spinner<Integer> spinner = new Spinner<>(0, 36500, 0);
+                    spinner.setEditable(true);
+                    spinner.setPrefWidth(100);
+                    inline.getChildren().addAll(new Label(param.label() + ":"), spinner);
+                    inputs.add(spinner::getValue);
                 }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(loans);
-        });
-
-        content.getChildren().addAll(refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 5: Books published in a selected country
-    private Tab createBooksByCountryTab() {
-        Tab tab = new Tab("Books by Country");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        ComboBox<String> countryCombo = new ComboBox<>();
-        countryCombo.setPromptText("Select Country");
-        loadCountries(countryCombo);
-
-        TableView<Book> table = createBookTable();
-        Button refreshBtn = new Button("Show Books");
-
-        refreshBtn.setOnAction(e -> {
-            String country = countryCombo.getValue();
-            if (country == null) {
-                showAlert("Please select a country");
-                return;
             }
+        }
 
-            String sql = "SELECT b.* FROM book b " +
-                        "INNER JOIN publisher p ON b.publisher_id = p.publisher_id " +
-                        "WHERE p.country = ?";
-            
-            ObservableList<Book> books = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setString(1, country);
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            while (rs.next()) {
-                                books.add(new Book(
-                                    rs.getInt("book_id"),
-                                    rs.getString("title"),
-                                    rs.getInt("publisher_id"),
-                                    rs.getString("category"),
-                                    rs.getString("book_type"),
-                                    rs.getDouble("original_price"),
-                                    rs.getInt("available")>0?"Yes":"No"
-                                ));
-                            }
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(books);
-        });
+        ReportExecutor executor = new ReportExecutor(definition.title());
+        TableView<R> table = definition.hasTable() ? createTable(definition) : null;
+        Label summary = new Label(definition.hasTable() ? "" : "Click button to calculate");
+        Consumer<List<R>> show = rows -> {
+            if (table != null) table.setItems(FXCollections.observableArrayList(rows));
+            if (definition.summary() != null) summary.setText(definition.summary().apply(rows));
+        };
+
+        Button runBtn = new Button(definition.runLabel());
+        HBox buttons = new HBox(10, runBtn);
+        Object[][] current = new Object[1][]; // parameter values of the last run, for Load More
+
+        if (definition.isPaged()) {
+            // Pages continue from the rows as fetched; sorting the table only reorders the SortedList it shows
+            ObservableList<R> fetched = FXCollections.observableArrayList();
+            SortedList<R> sorted = new SortedList<>(fetched);
+            sorted.comparatorProperty().bind(table.comparatorProperty());
+            table.setItems(sorted);
+            Button moreBtn = new Button("Load More");
+            moreBtn.setDisable(true);
+            Runnable loadPage = () -> {
+                moreBtn.setDisable(true);
+                engine.page(definition, current[0], fetched, executor, rows -> {
+                    fetched.addAll(rows);
+                    moreBtn.setDisable(rows.size() < definition.pageSize());
+                }, this::showError);
+            };
+            runBtn.setOnAction(e -> {
+                Object[] values = values(definition, inputs);
+                if (values == null) return;
+                current[0] = values;
+                fetched.clear();
+                loadPage.run();
+            });
+            moreBtn.setOnAction(e -> loadPage.run());
+            buttons.getChildren().add(moreBtn);
+        } else {
+            Button refreshNowBtn = new Button("Refresh Now");
+            runBtn.setOnAction(e -> {
+                Object[] values = values(definition, inputs);
+                if (values != null) engine.run(definition, values, executor, false, show, this::showError);
+            });
+            refreshNowBtn.setOnAction(e -> {
+                Object[] values = values(definition, inputs);
+                if (values != null) engine.run(definition, values, executor, true, show, this::showError);
+            });
+            buttons.getChildren().add(refreshNowBtn);
+        }
 
-        content.getChildren().addAll(new Label("Select Country:"), countryCombo, refreshBtn, table);
+        if (!inline.getChildren().isEmpty()) content.getChildren().add(inline);
+        content.getChildren().addAll(buttons, executor.getNode());
+        if (definition.summary() != null) content.getChildren().add(summary);
+        if (table != null) content.getChildren().add(table);
         tab.setContent(content);
         return tab;
     }
 
-    // Report 6: Borrowers who never borrowed or bought a book
-    private Tab createBorrowersNeverBorrowedTab() {
-        Tab tab = new Tab("Borrowers Never Active");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        TableView<Borrower> table = new getTable<Borrower>().gettable(Borrower.class, FXCollections.observableArrayList());
-        Button refreshBtn = new Button("Refresh");
-
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT br.* FROM borrower br " +
-                        "LEFT JOIN loan l ON br.borrower_id = l.borrower_id " +
-                        "LEFT JOIN sale s ON br.borrower_id = s.borrower_id " +
-                        "WHERE l.borrower_id IS NULL AND s.borrower_id IS NULL";
-            
-            ObservableList<Borrower> borrowers = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            borrowers.add(new Borrower(
-                                rs.getInt("borrower_id"),
-                                rs.getString("first_name"),
-                                rs.getString("last_name"),
-                                rs.getInt("type_id"),
-                                rs.getString("contact_info")
-                            ));
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
+    // Current input values, or null (after telling the user) when a required one is missing
+    private Object[] values(ReportDefinition<?> definition, List<Supplier<Object>> inputs) {
+        Object[] values = new Object[inputs.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = inputs.get(i).get();
+            ReportDefinition.Param param = definition.params().get(i);
+            if (values[i] == null && !param.isOptional()) {
+                showAlert("Please select a value for " + param.label());
+                return null;
             }
-            table.setItems(borrowers);
-        });
-
-        content.getChildren().addAll(refreshBtn, table);
-        tab.setContent(content);
-        return tab;
+        }
+        return values;
     }
 
-    // Report 7: Books with more than one author
-    private Tab createBooksMultipleAuthorsTab() {
-        Tab tab = new Tab("Books (Multiple Authors)");
+    // Loans, returns and sales over time; counted per bucket by CirculationSeries, drawn after LTTB downsampling
+    private Tab createChartTab() {
+        Tab tab = new Tab("Circulation Chart");
         VBox content = new VBox(10);
         content.setPadding(new Insets(20));
 
-        TableView<Book> table = createBookTable();
-        Button refreshBtn = new Button("Refresh");
-
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT b.*, COUNT(ba.author_id) as author_count " +
-                        "FROM book b " +
-                        "INNER JOIN bookauthor ba ON b.book_id = ba.book_id " +
-                        "GROUP BY b.book_id " +
-                        "HAVING COUNT(ba.author_id) > 1";
-            
-            ObservableList<Book> books = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            books.add(new Book(
-                                rs.getInt("book_id"),
-                                rs.getString("title"),
-                                rs.getInt("publisher_id"),
-                                rs.getString("category"),
-                                rs.getString("book_type"),
-                                rs.getDouble("original_price"),
-                                rs.getInt("available")>0?"Yes":"No"
-                            ));
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
+        DatePicker startDate = new DatePicker(LocalDate.now().minusYears(1));
+        DatePicker endDate = new DatePicker(LocalDate.now());
+        ComboBox<ColumnarStore.Bucket> granularity = new ComboBox<>(
+                FXCollections.observableArrayList(ColumnarStore.Bucket.values()));
+        granularity.setValue(ColumnarStore.Bucket.DAY);
+        Button showBtn = new Button("Show");
+        Label status = new Label();
+
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setForceZeroInRange(false);
+        xAxis.setTickLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Number epochDay) {
+                return LocalDate.ofEpochDay(epochDay.longValue()).toString();
             }
-            table.setItems(books);
-        });
 
-        content.getChildren().addAll(refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 8: Books that were sold and their sale prices
-    private Tab createBooksSoldTab() {
-        Tab tab = new Tab("Books Sold");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        TableView<SaleInfo> table = new TableView<>();
-        
-        TableColumn<SaleInfo, String> bookCol = new TableColumn<>("Book Title");
-        bookCol.setCellValueFactory(new PropertyValueFactory<>("bookTitle"));
-        
-        TableColumn<SaleInfo, String> borrowerCol = new TableColumn<>("Borrower");
-        borrowerCol.setCellValueFactory(new PropertyValueFactory<>("borrowerName"));
-        
-        TableColumn<SaleInfo, LocalDate> saleDateCol = new TableColumn<>("Sale Date");
-        saleDateCol.setCellValueFactory(new PropertyValueFactory<>("saleDate"));
-        
-        TableColumn<SaleInfo, Double> priceCol = new TableColumn<>("Sale Price");
-        priceCol.setCellValueFactory(new PropertyValueFactory<>("salePrice"));
-
-        table.getColumns().addAll(bookCol, borrowerCol, saleDateCol, priceCol);
-
-        Button refreshBtn = new Button("Refresh");
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT s.*, b.title as book_title, " +
-                        "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
-                        "FROM sale s " +
-                        "INNER JOIN book b ON s.book_id = b.book_id " +
-                        "INNER JOIN borrower br ON s.borrower_id = br.borrower_id " +
-                        "ORDER BY s.sale_date DESC";
-            
-            ObservableList<SaleInfo> sales = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            sales.add(new SaleInfo(
-                                rs.getString("book_title"),
-                                rs.getString("borrower_name"),
-                                rs.getDate("sale_date").toLocalDate(),
-                                rs.getDouble("sale_price")
-                            ));
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
+            @Override
+            public Number fromString(String text) {
+                return LocalDate.parse(text).toEpochDay();
             }
-            table.setItems(sales);
         });
-
-        content.getChildren().addAll(refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 9: Books currently available for borrowing
-    private Tab createAvailableBooksTab() {
-        Tab tab = new Tab("Available Books");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        TableView<Book> table = createBookTable();
-        Button refreshBtn = new Button("Refresh");
-
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT * FROM book WHERE available > 0";
-            
-            ObservableList<Book> books = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            books.add(new Book(
-                                rs.getInt("book_id"),
-                                rs.getString("title"),
-                                rs.getInt("publisher_id"),
-                                rs.getString("category"),
-                                rs.getString("book_type"),
-                                rs.getDouble("original_price"),
-                                rs.getInt("available")>0?"Yes":"No"
-                            ));
-                        }
-                    }
+        NumberAxis yAxis = new NumberAxis();
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setCreateSymbols(false);
+        chart.setAnimated(false);
+        VBox.setVgrow(chart, Priority.ALWAYS);
+
+        CirculationSeries.Result[] shown = new CirculationSeries.Result[1];
+        Runnable render = () -> {
+            if (shown[0] == null) return;
+            // One point per horizontal pixel at most
+            int width = (int) Math.max(chart.getWidth(), 100);
+            List<XYChart.Series<Number, Number>> lines = new ArrayList<>();
+            int buckets = 0;
+            int drawn = 0;
+            for (CirculationSeries.Series series : shown[0].series().values()) {
+                int[] counts = series.counts();
+                double[] x = new double[counts.length];
+                double[] y = new double[counts.length];
+                for (int i = 0; i < counts.length; i++) {
+                    x[i] = series.bucket().start(series.firstBucket() + i).toEpochDay();
+                    y[i] = counts[i];
                 }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(books);
-        });
-
-        content.getChildren().addAll(refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 10: Loan history for a selected borrower
-    private Tab createLoanHistoryTab() {
-        Tab tab = new Tab("Loan History");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        ComboBox<String> borrowerCombo = new ComboBox<>();
-        borrowerCombo.setPromptText("Select Borrower");
-        loadBorrowers(borrowerCombo);
-
-        TableView<LoanInfo> table = new TableView<>();
-        
-        TableColumn<LoanInfo, String> bookCol = new TableColumn<>("Book Title");
-        bookCol.setCellValueFactory(new PropertyValueFactory<>("bookTitle"));
-        
-        TableColumn<LoanInfo, LocalDate> loanDateCol = new TableColumn<>("Loan Date");
-        loanDateCol.setCellValueFactory(new PropertyValueFactory<>("loanDate"));
-        
-        TableColumn<LoanInfo, LocalDate> dueDateCol = new TableColumn<>("Due Date");
-        dueDateCol.setCellValueFactory(new PropertyValueFactory<>("dueDate"));
-        
-        TableColumn<LoanInfo, LocalDate> returnDateCol = new TableColumn<>("Return Date");
-        returnDateCol.setCellValueFactory(new PropertyValueFactory<>("returnDate"));
-
-        table.getColumns().addAll(bookCol, loanDateCol, dueDateCol, returnDateCol);
-
-        Button refreshBtn = new Button("Show History");
-        refreshBtn.setOnAction(e -> {
-            String borrowerName = borrowerCombo.getValue();
-            if (borrowerName == null) {
-                showAlert("Please select a borrower");
-                return;
-            }
-
-            String sql = "SELECT l.*, b.title as book_title " +
-                        "FROM loan l " +
-                        "INNER JOIN book b ON l.book_id = b.book_id " +
-                        "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
-                        "WHERE CONCAT(br.first_name, ' ', br.last_name) = ? " +
-                        "ORDER BY l.loan_date DESC";
-            
-            ObservableList<LoanInfo> loans = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setString(1, borrowerName);
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            while (rs.next()) {
-                                loans.add(new LoanInfo(
-                                    rs.getString("book_title"),
-                                    borrowerName,
-                                    rs.getDate("loan_date").toLocalDate(),
-                                    rs.getDate("due_date").toLocalDate(),
-                                    rs.getDate("return_date") != null ? rs.getDate("return_date").toLocalDate() : null
-                                ));
-                            }
-                        }
-                    }
+                List<XYChart.Data<Number, Number>> points = new ArrayList<>();
+                for (int i : Lttb.downsample(x, y, width)) {
+                    points.add(new XYChart.Data<>(x[i], y[i]));
                 }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
+                lines.add(new XYChart.Series<>(series.measure().label(), FXCollections.observableArrayList(points)));
+                buckets = counts.length;
+                drawn = Math.max(drawn, points.size());
             }
-            table.setItems(loans);
-        });
-
-        content.getChildren().addAll(new Label("Select Borrower:"), borrowerCombo, refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 11: Books borrowed within a certain date range
-    private Tab createLoansByDateRangeTab() {
-        Tab tab = new Tab("Loans by Date Range");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        DatePicker startDate = new DatePicker();
-        DatePicker endDate = new DatePicker();
-        startDate.setPromptText("Start Date");
-        endDate.setPromptText("End Date");
-
-        TableView<LoanInfo> table = new TableView<>();
-        
-        TableColumn<LoanInfo, String> bookCol = new TableColumn<>("Book Title");
-        bookCol.setCellValueFactory(new PropertyValueFactory<>("bookTitle"));
-        
-        TableColumn<LoanInfo, String> borrowerCol = new TableColumn<>("Borrower");
-        borrowerCol.setCellValueFactory(new PropertyValueFactory<>("borrowerName"));
-        
-        TableColumn<LoanInfo, LocalDate> loanDateCol = new TableColumn<>("Loan Date");
-        loanDateCol.setCellValueFactory(new PropertyValueFactory<>("loanDate"));
-
-        table.getColumns().addAll(bookCol, borrowerCol, loanDateCol);
-
-        Button refreshBtn = new Button("Search");
-        refreshBtn.setOnAction(e -> {
-            if (startDate.getValue() == null || endDate.getValue() == null) {
-                showAlert("Please select both start and end dates");
+            chart.getData().setAll(lines);
+            status.setText(String.format("%,d buckets per series, %,d points drawn%s", buckets, drawn,
+                    shown[0].fromMemory() ? " (counted in memory)" : ""));
+        };
+        chart.widthProperty().addListener((obs, oldWidth, newWidth) -> render.run());
+
+        showBtn.setOnAction(e -> {
+            LocalDate from = startDate.getValue();
+            LocalDate to = endDate.getValue();
+            if (from == null || to == null || to.isBefore(from)) {
+                showAlert("Please select a start date and an end date after it");
                 return;
             }
-
-            String sql = "SELECT l.*, b.title as book_title, " +
-                        "CONCAT(br.first_name, ' ', br.last_name) as borrower_name " +
-                        "FROM loan l " +
-                        "INNER JOIN book b ON l.book_id = b.book_id " +
-                        "INNER JOIN borrower br ON l.borrower_id = br.borrower_id " +
-                        "WHERE l.loan_date BETWEEN ? AND ? " +
-                        "ORDER BY l.loan_date";
-            
-            ObservableList<LoanInfo> loans = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        pstmt.setDate(1, Date.valueOf(startDate.getValue()));
-                        pstmt.setDate(2, Date.valueOf(endDate.getValue()));
-                        try (ResultSet rs = pstmt.executeQuery()) {
-                            while (rs.next()) {
-                                loans.add(new LoanInfo(
-                                    rs.getString("book_title"),
-                                    rs.getString("borrower_name"),
-                                    rs.getDate("loan_date").toLocalDate(),
-                                    rs.getDate("due_date").toLocalDate(),
-                                    null
-                                ));
-                            }
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(loans);
+            ColumnarStore.Bucket bucket = granularity.getValue();
+            status.setText("Loading...");
+            showBtn.setDisable(true);
+            BackgroundTasks.run(() -> CirculationSeries.load(bucket, from, to), result -> {
+                showBtn.setDisable(false);
+                shown[0] = result;
+                render.run();
+            }, ex -> {
+                showBtn.setDisable(false);
+                status.setText("");
+                showError(ex);
+            });
         });
 
-        HBox dateBox = new HBox(10, new Label("Start:"), startDate, new Label("End:"), endDate);
-        content.getChildren().addAll(dateBox, refreshBtn, table);
-        tab.setContent(content);
-        return tab;
-    }
-
-    // Report 12: Books per category
-    private Tab createBooksByCategoryTab() {
-        Tab tab = new Tab("Books by Category");
-        VBox content = new VBox(10);
-        content.setPadding(new Insets(20));
-
-        TableView<CategoryCount> table = new TableView<>();
-        
-        TableColumn<CategoryCount, String> categoryCol = new TableColumn<>("Category");
-        categoryCol.setCellValueFactory(new PropertyValueFactory<>("category"));
-        
-        TableColumn<CategoryCount, Integer> countCol = new TableColumn<>("Number of Books");
-        countCol.setCellValueFactory(new PropertyValueFactory<>("count"));
-
-        table.getColumns().addAll(categoryCol, countCol);
-
-        Button refreshBtn = new Button("Refresh");
-        refreshBtn.setOnAction(e -> {
-            String sql = "SELECT category, COUNT(*) as count FROM book GROUP BY category ORDER BY count DESC";
-            
-            ObservableList<CategoryCount> categories = FXCollections.observableArrayList();
-            try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-                if (conn != null) {
-                    try (Statement stmt = conn.createStatement();
-                         ResultSet rs = stmt.executeQuery(sql)) {
-                        while (rs.next()) {
-                            categories.add(new CategoryCount(
-                                rs.getString("category"),
-                                rs.getInt("count")
-                            ));
-                        }
-                    }
-                }
-            } catch (SQLException ex) {
-                showAlert("Error: " + ex.getMessage());
-            }
-            table.setItems(categories);
-        });
-
-        content.getChildren().addAll(refreshBtn, table);
+        HBox controls = new HBox(10, new Label("Start:"), startDate, new Label("End:"), endDate,
+                new Label("Per:"), granularity, showBtn);
+        content.getChildren().addAll(controls, status, chart);
         tab.setContent(content);
         return tab;
     }
 
     // Helper methods
-    private TableView<Book> createBookTable() {
-        return new getTable<Book>().gettable(Book.class, FXCollections.observableArrayList());
-    }
-
-    private void loadAuthors(ComboBox<String> combo) {
-        String sql = "SELECT DISTINCT CONCAT(first_name, ' ', last_name) as name FROM author ORDER BY name";
-        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-            if (conn != null) {
-                try (Statement stmt = conn.createStatement();
-                     ResultSet rs = stmt.executeQuery(sql)) {
-                    while (rs.next()) {
-                        combo.getItems().add(rs.getString("name"));
-                    }
-                }
-            }
-        } catch (SQLException ex) {
-            // Ignore
+    private <R> TableView<R> createTable(ReportDefinition<R> definition) {
+        if (definition.entityType() != null) {
+            return new getTable<R>().gettable(definition.entityType(), FXCollections.observableArrayList());
         }
-    }
-
-    private void loadBorrowers(ComboBox<String> combo) {
-        String sql = "SELECT DISTINCT CONCAT(first_name, ' ', last_name) as name FROM borrower ORDER BY name";
-        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-            if (conn != null) {
-                try (Statement stmt = conn.createStatement();
-                     ResultSet rs = stmt.executeQuery(sql)) {
-                    while (rs.next()) {
-                        combo.getItems().add(rs.getString("name"));
-                    }
-                }
-            }
-        } catch (SQLException ex) {
-            // Ignore
+        TableView<R> table = new TableView<>();
+        for (ReportDefinition.Column column : definition.columns()) {
+            TableColumn<R, Object> tableColumn = new TableColumn<>(column.header());
+            tableColumn.setCellValueFactory(new PropertyValueFactory<>(column.property()));
+            table.getColumns().add(tableColumn);
         }
+        return table;
     }
 
-    private void loadCountries(ComboBox<String> combo) {
-        String sql = "SELECT DISTINCT country FROM publisher WHERE country IS NOT NULL ORDER BY country";
-        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
-            if (conn != null) {
-                try (Statement stmt = conn.createStatement();
-                     ResultSet rs = stmt.executeQuery(sql)) {
-                    while (rs.next()) {
-                        combo.getItems().add(rs.getString("country"));
-                    }
-                }
-            }
-        } catch (SQLException ex) {
-            // Ignore
-        }
+    private void showError(Throwable ex) {
+        showAlert("Error: " + ex.getMessage());
     }
 
     private void showAlert(String message) {
@@ -748,6 +287,7 @@ public class ReportsView {
 
     // Helper classes for reports
     public static class LoanInfo {
+        private int loanId;
         private String bookTitle;
         private String borrowerName;
         private LocalDate loanDate;
@@ -764,7 +304,8 @@ public class ReportsView {
             this.daysOverdue = 0;
         }
 
-        public LoanInfo(String bookTitle, String borrowerName, LocalDate loanDate, LocalDate dueDate, int daysOverdue) {
+        public LoanInfo(int loanId, String bookTitle, String borrowerName, LocalDate loanDate, LocalDate dueDate, int daysOverdue) {
+            this.loanId = loanId;
             this.bookTitle = bookTitle;
             this.borrowerName = borrowerName;
             this.loanDate = loanDate;
@@ -773,6 +314,7 @@ public class ReportsView {
         }
 
         // Getters
+        public int getLoanId() { return loanId; }
         public String getBookTitle() { return bookTitle; }
         public String getBorrowerName() { return borrowerName; }
         public LocalDate getLoanDate() { return loanDate; }
@@ -3,29 +3,66 @@ import javafx.beans.property.*;
 
 import java.time.LocalDate;
 
+/**
+ * Sale row. Values live in a compact Row record; the JavaFX properties are
+ * only created when a cell or form asks for them (row visible or edited).
+ */
 public class Sale {
     private IntegerProperty sale_id;
     private IntegerProperty book_id;
     private IntegerProperty borrower_id;
     private ObjectProperty<LocalDate> sale_date;
     private DoubleProperty sale_price;
+
+    private final Row row;
+
+    /**
+     * Primitive storage for one sale; the date is in epoch days, NO_DATE for null
+     */
+    public record Row(int saleId, int bookId, int borrowerId, int saleDay, double salePrice) {
+        public static final int NO_DATE = Integer.MIN_VALUE;
+
+        static int day(LocalDate d) { return d == null ? NO_DATE : (int) d.toEpochDay(); }
+
+        static LocalDate date(int day) { return day == NO_DATE ? null : LocalDate.ofEpochDay(day); }
+    }
     
 
     public Sale(int sale_id,int book_id,int borrower_id , LocalDate sale_date,
     		double sale_price ) {
-        this.sale_id = new SimpleIntegerProperty(sale_id);
-        this.book_id = new SimpleIntegerProperty(book_id);
-        this.borrower_id = new SimpleIntegerProperty(borrower_id);
-        this.sale_date = new SimpleObjectProperty<>(sale_date);
-        this.sale_price = new SimpleDoubleProperty(sale_price);
-        
-    }
-
-    // Getters for TableView binding
-    public IntegerProperty sale_idProperty() { return sale_id; }
-    public IntegerProperty book_idProperty() { return book_id; }
-    public IntegerProperty borrower_idProperty() { return borrower_id; }
-    public ObjectProperty<LocalDate> sale_dateProperty() { return sale_date; }
-    public DoubleProperty sale_priceProperty() { return sale_price; }
-}
+        this(new Row(sale_id, book_id, borrower_id, Row.day(sale_date), sale_price));
+    }
+
+    public Sale(Row row) {
+        this.row = row;
+    }
+
+    // Getters for TableView binding (created on first use)
+    public IntegerProperty sale_idProperty() {
+        if (sale_id == null) sale_id = new SimpleIntegerProperty(row.saleId());
+        return sale_id;
+    }
+    public IntegerProperty book_idProperty() {
+        if (book_id == null) book_id = new SimpleIntegerProperty(row.bookId());
+        return book_id;
+    }
+    public IntegerProperty borrower_idProperty() {
+        if (borrower_id == null) borrower_id = new SimpleIntegerProperty(row.borrowerId());
+        return borrower_id;
+    }
+    public ObjectProperty<LocalDate> sale_dateProperty() {
+        if (sale_date == null) sale_date = new SimpleObjectProperty<>(Row.date(row.saleDay()));
+        return sale_date;
+    }
+    public DoubleProperty sale_priceProperty() {
+        if (sale_price == null) sale_price = new SimpleDoubleProperty(row.salePrice());
+        return sale_price;
+    }
 
+    // Plain getters read the property if it exists, otherwise the compact row
+    public int getSale_id() { return sale_id != null ? sale_id.get() : row.saleId(); }
+    public int getBook_id() { return book_id != null ? book_id.get() : row.bookId(); }
+    public int getBorrower_id() { return borrower_id != null ? borrower_id.get() : row.borrowerId(); }
+    public LocalDate getSale_date() { return sale_date != null ? sale_date.get() : Row.date(row.saleDay()); }
+    public double getSale_price() { return sale_price != null ? sale_price.get() : row.salePrice(); }
+}
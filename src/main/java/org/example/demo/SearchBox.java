@@ -1,7 +1,9 @@
 package org.example.demo;
 
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
@@ -10,12 +12,17 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
+import javafx.scene.control.Tooltip;
 import javafx.scene.layout.HBox;
 
-import java.lang.reflect.Field;
+import java.util.BitSet;
+import java.util.function.Predicate;
 
 public class SearchBox<E> {
 
+	private static final String REFILTER_KEY = "SearchBox.refilter";
+	private static final Predicate<Object> ALL = p -> true;
+
 	public <T> HBox createSearchBox(Class<T> clazz,
 									ObservableList<T> list,
 									TableView<T> table) {
@@ -23,36 +30,35 @@ public class SearchBox<E> {
 		if (list == null)
 			list = FXCollections.observableArrayList();
 
-		FilteredList<T> filtered = new FilteredList<>(list, p -> true);
+		FilteredList<T> filtered = new FilteredList<>(list, ALL);
 
 		TextField tf = new TextField();
 		tf.setPromptText("Search...");
 		tf.setMinWidth(220);
 
-		// Listener
-		tf.textProperty().addListener((obs, ov, nv) -> {
-			String txt = (nv == null ? "" : nv.toLowerCase().trim());
-
-			filtered.setPredicate(item -> {
-				if (txt.isEmpty()) return true;
-
-				// Loop on fields using reflection
-				for (Field f : clazz.getDeclaredFields()) {
-					try {
-						f.setAccessible(true);
-						Object value = f.get(item);   // get field value
-
-						if (value == null) continue;
-						String v = value.toString().toLowerCase();
-
-						if (v.contains(txt))
-							return true;
-
-					} catch (Exception ignored) {}
-				}
-				return false;
+		tf.setTooltip(new Tooltip("Free text, or field clauses such as title:java price>20 due<2026-01-01"));
+
+		// Listener: compile the query once per edit, then narrow the cached results of earlier keystrokes
+		final ObservableList<T> source = list;
+		SearchSession<T> session = new SearchSession<>(source);
+		tf.textProperty().addListener((obs, ov, nv) -> applySearch(clazz, nv, source, session, filtered));
+
+		// The predicate only knows the rows present when it was built: rows added, replaced
+		// or edited in place afterwards are tested by running the active search again, once
+		// per pulse however many changes arrive (a reload applies removals and inserts separately)
+		boolean[] queued = new boolean[1];
+		Runnable research = () -> {
+			if (queued[0] || filtered.getPredicate() == ALL) return;
+			queued[0] = true;
+			Platform.runLater(() -> {
+				queued[0] = false;
+				if (filtered.getPredicate() == ALL) return;
+				session.clear();
+				applySearch(clazz, tf.getText(), source, session, filtered);
 			});
-		});
+		};
+		source.addListener((ListChangeListener<T>) c -> research.run());
+		table.getProperties().put(REFILTER_KEY, research);
 
 		table.setItems(filtered);
 
@@ -66,5 +72,28 @@ public class SearchBox<E> {
 		return box;
 	}
 
+	/**
+	 * Test the rows of table against its active search again (later in this
+	 * pulse), after rows were changed in place (no list change); does nothing
+	 * without a search box
+	 */
+	public static void refilter(TableView<?> table) {
+		if (table.getProperties().get(REFILTER_KEY) instanceof Runnable research)
+			research.run();
+	}
+
+	private static <T> void applySearch(Class<T> clazz, String text, ObservableList<T> source,
+										SearchSession<T> session, FilteredList<T> filtered) {
+		SearchQuery<T> query = SearchQuery.compile(clazz, text);
+
+		if (query.isEmpty())
+			filtered.setPredicate(ALL);
+		else {
+			// Matches are collected into a bitset (in parallel on large lists) and applied in one update
+			BitSet matches = session.search(query);
+			filtered.setPredicate(ParallelFilter.asPredicate(source, matches));
+		}
+	}
+
 
 }
@@ -0,0 +1,384 @@
+package org.example.demo;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiled search query for SearchBox.
+ *
+ * Grammar (clauses are AND-ed together):
+ *   title:java          - text field contains "java" (case-insensitive)
+ *   category=science    - text field equals "science"
+ *   price>20            - numeric comparison (>, <, >=, <=, =, :)
+ *   due<2026-01-01      - date comparison, "today" is also accepted
+ *   harry               - free text, matches any text field
+ *
+ * Field names can be shortened to one part of the snake_case name,
+ * so "price" resolves to original_price and "due" to due_date.
+ * Clauses read primitive values through EntityAccessors (plain getters
+ * where the entity has them, so no properties are created while searching)
+ * and are checked most selective first.
+ */
+public class SearchQuery<T> {
+
+    private static final Pattern FIELD_CLAUSE =
+            Pattern.compile("([A-Za-z_]+)(>=|<=|:|=|>|<)(\"[^\"]*\"|\\S+)");
+    private static final Pattern TOKEN = Pattern.compile("[^\\s\"]*\"[^\"]*\"|\\S+");
+
+    private final String text;
+    private final List<Clause> clauses;
+
+    private SearchQuery(String text, List<Clause> clauses) {
+        this.text = text;
+        this.clauses = clauses;
+    }
+
+    /**
+     * Parse the search text into typed clauses for the given entity class
+     */
+    public static <T> SearchQuery<T> compile(Class<T> clazz, String text) {
+        String normalized = text == null ? "" : text.trim();
+        List<Clause> clauses = new ArrayList<>();
+
+        Matcher tokens = TOKEN.matcher(normalized);
+        while (tokens.find()) {
+            String token = tokens.group();
+            Clause clause = null;
+
+            Matcher m = FIELD_CLAUSE.matcher(token);
+            if (m.matches()) {
+                EntityAccessors.Accessor a = resolveField(clazz, m.group(1));
+                if (a != null) {
+                    clause = fieldClause(a, Op.of(m.group(2)), unquote(m.group(3)));
+                }
+            }
+            if (clause == null) {
+                clause = new FreeTextClause(fieldsOfType(clazz, EntityAccessors.Accessor::isString),
+                        fieldsOfType(clazz, EntityAccessors.Accessor::isInt), unquote(token));
+            }
+            clauses.add(clause);
+        }
+
+        clauses.sort(Comparator.comparingDouble(Clause::selectivity));
+        return new SearchQuery<>(normalized, clauses);
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /**
+     * True when every row matching this query is guaranteed to match broader,
+     * e.g. "harr" narrows "har" and "price>30" narrows "price>20".
+     */
+    public boolean narrows(SearchQuery<T> broader) {
+        for (Clause b : broader.clauses) {
+            boolean covered = false;
+            for (Clause c : clauses) {
+                if (c.narrows(b)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) return false;
+        }
+        return true;
+    }
+
+    public boolean test(T item) {
+        if (item == null) return false;
+        for (Clause c : clauses) {
+            if (!c.test(item)) return false;
+        }
+        return true;
+    }
+
+    // ---- parsing helpers ----
+
+    private static EntityAccessors.Accessor resolveField(Class<?> clazz, String key) {
+        String k = key.toLowerCase();
+        List<EntityAccessors.Accessor> accessors = EntityAccessors.of(clazz).all();
+        for (EntityAccessors.Accessor a : accessors) {
+            if (a.name().equalsIgnoreCase(k)) return a;
+        }
+        for (EntityAccessors.Accessor a : accessors) {
+            String n = a.name().toLowerCase();
+            if (n.startsWith(k + "_") || n.endsWith("_" + k)) return a;
+        }
+        return null;
+    }
+
+    private static EntityAccessors.Accessor[] fieldsOfType(Class<?> clazz,
+                                                          Predicate<EntityAccessors.Accessor> type) {
+        List<EntityAccessors.Accessor> result = new ArrayList<>();
+        for (EntityAccessors.Accessor a : EntityAccessors.of(clazz).all()) {
+            if (type.test(a)) result.add(a);
+        }
+        return result.toArray(new EntityAccessors.Accessor[0]);
+    }
+
+    private static String unquote(String s) {
+        if (s.length() >= 2 && s.startsWith("\"") && s.endsWith("\"")) {
+            return s.substring(1, s.length() - 1);
+        }
+        return s;
+    }
+
+    private static Clause fieldClause(EntityAccessors.Accessor a, Op op, String value) {
+        if (value.isEmpty()) return null;
+        try {
+            if (a.isInt()) {
+                return new IntClause(a, op, Integer.parseInt(value));
+            } else if (a.isDouble()) {
+                return new DoubleClause(a, op, Double.parseDouble(value));
+            } else if (a.isObject()) {
+                LocalDate date = value.equalsIgnoreCase("today") ? LocalDate.now() : LocalDate.parse(value);
+                return new DateClause(a, op, date.toEpochDay());
+            } else if (a.isString()) {
+                return new StringClause(a, op, value);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            // Not a valid typed value, fall back to free text
+        }
+        return null;
+    }
+
+    /**
+     * Case-insensitive contains without allocating a lower-cased copy
+     */
+    static boolean containsIgnoreCase(String haystack, String needle) {
+        int max = haystack.length() - needle.length();
+        for (int i = 0; i <= max; i++) {
+            if (haystack.regionMatches(true, i, needle, 0, needle.length())) return true;
+        }
+        return false;
+    }
+
+    // ---- clauses ----
+
+    enum Op {
+        CONTAINS, EQ, GT, LT, GE, LE;
+
+        static Op of(String s) {
+            switch (s) {
+                case "=": return EQ;
+                case ">": return GT;
+                case "<": return LT;
+                case ">=": return GE;
+                case "<=": return LE;
+                default: return CONTAINS;
+            }
+        }
+
+        boolean compare(int c) {
+            switch (this) {
+                case GT: return c > 0;
+                case LT: return c < 0;
+                case GE: return c >= 0;
+                case LE: return c <= 0;
+                default: return c == 0;
+            }
+        }
+
+        /**
+         * Given cmp = compare(newValue, oldValue), true if "op newValue" keeps a subset of "op oldValue"
+         */
+        boolean narrows(int cmp) {
+            switch (this) {
+                case GT:
+                case GE: return cmp >= 0;
+                case LT:
+                case LE: return cmp <= 0;
+                default: return cmp == 0;
+            }
+        }
+
+        /** Rough fraction of rows this comparison keeps, used for clause ordering */
+        double selectivity() {
+            return this == EQ || this == CONTAINS ? 0.05 : 0.4;
+        }
+    }
+
+    abstract static class Clause {
+        abstract boolean test(Object item);
+
+        abstract double selectivity();
+
+        /** True if this clause only accepts rows that other also accepts */
+        abstract boolean narrows(Clause other);
+    }
+
+    static final class IntClause extends Clause {
+        private final EntityAccessors.Accessor field;
+        private final Op op;
+        private final int value;
+
+        IntClause(EntityAccessors.Accessor field, Op op, int value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        boolean test(Object item) {
+            return op.compare(Integer.compare(field.getInt(item), value));
+        }
+
+        @Override
+        double selectivity() { return op.selectivity(); }
+
+        @Override
+        boolean narrows(Clause other) {
+            return other instanceof IntClause o && o.field.name().equals(field.name()) && o.op == op
+                    && op.narrows(Integer.compare(value, o.value));
+        }
+    }
+
+    static final class DoubleClause extends Clause {
+        private final EntityAccessors.Accessor field;
+        private final Op op;
+        private final double value;
+
+        DoubleClause(EntityAccessors.Accessor field, Op op, double value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        boolean test(Object item) {
+            return op.compare(Double.compare(field.getDouble(item), value));
+        }
+
+        @Override
+        double selectivity() { return op.selectivity() + 0.01; }
+
+        @Override
+        boolean narrows(Clause other) {
+            return other instanceof DoubleClause o && o.field.name().equals(field.name()) && o.op == op
+                    && op.narrows(Double.compare(value, o.value));
+        }
+    }
+
+    static final class DateClause extends Clause {
+        private final EntityAccessors.Accessor field;
+        private final Op op;
+        private final long epochDay;
+
+        DateClause(EntityAccessors.Accessor field, Op op, long epochDay) {
+            this.field = field;
+            this.op = op;
+            this.epochDay = epochDay;
+        }
+
+        @Override
+        boolean test(Object item) {
+            if (!(field.getValue(item) instanceof LocalDate date)) return false;
+            return op.compare(Long.compare(date.toEpochDay(), epochDay));
+        }
+
+        @Override
+        double selectivity() { return op.selectivity() + 0.02; }
+
+        @Override
+        boolean narrows(Clause other) {
+            return other instanceof DateClause o && o.field.name().equals(field.name()) && o.op == op
+                    && op.narrows(Long.compare(epochDay, o.epochDay));
+        }
+    }
+
+    static final class StringClause extends Clause {
+        private final EntityAccessors.Accessor field;
+        private final Op op;
+        private final String value;
+
+        StringClause(EntityAccessors.Accessor field, Op op, String value) {
+            this.field = field;
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        boolean test(Object item) {
+            String v = field.getString(item);
+            if (v == null) return false;
+            switch (op) {
+                case CONTAINS: return containsIgnoreCase(v, value);
+                case EQ: return v.equalsIgnoreCase(value);
+                default: return op.compare(v.compareToIgnoreCase(value));
+            }
+        }
+
+        @Override
+        double selectivity() {
+            // Longer terms match fewer rows
+            return op == Op.EQ ? 0.03 : 0.5 / (1 + value.length());
+        }
+
+        @Override
+        boolean narrows(Clause other) {
+            if (!(other instanceof StringClause o) || !o.field.name().equals(field.name()) || o.op != op) return false;
+            if (op == Op.CONTAINS) return containsIgnoreCase(value, o.value);
+            return op.narrows(value.compareToIgnoreCase(o.value));
+        }
+    }
+
+    static final class FreeTextClause extends Clause {
+        private final EntityAccessors.Accessor[] fields;
+        private final EntityAccessors.Accessor[] intFields;
+        private final String term;
+        private final boolean numeric;
+        private final int number;
+
+        FreeTextClause(EntityAccessors.Accessor[] fields, EntityAccessors.Accessor[] intFields, String term) {
+            this.fields = fields;
+            this.term = term;
+            int n = 0;
+            boolean isNumber = false;
+            try {
+                n = Integer.parseInt(term);
+                isNumber = true;
+            } catch (NumberFormatException ignored) {}
+            this.numeric = isNumber;
+            this.number = n;
+            this.intFields = isNumber ? intFields : new EntityAccessors.Accessor[0];
+        }
+
+        @Override
+        boolean test(Object item) {
+            for (EntityAccessors.Accessor f : fields) {
+                String v = f.getString(item);
+                if (v != null && containsIgnoreCase(v, term)) return true;
+            }
+            // Numeric terms also match id / count columns exactly
+            for (EntityAccessors.Accessor f : intFields) {
+                if (numeric && f.getInt(item) == number) return true;
+            }
+            return false;
+        }
+
+        @Override
+        double selectivity() {
+            return 1.0 / (1 + term.length()) + (fields.length + intFields.length) * 0.1;
+        }
+
+        @Override
+        boolean narrows(Clause other) {
+            if (other instanceof FreeTextClause o) {
+                // Exact id matches of a numeric term are not a subset of a shorter term's matches
+                return term.equalsIgnoreCase(o.term) || (!numeric && containsIgnoreCase(term, o.term));
+            }
+            return false;
+        }
+    }
+}
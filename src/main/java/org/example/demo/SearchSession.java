@@ -0,0 +1,77 @@
+package org.example.demo;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-SearchBox cache of recent query results.
+ *
+ * Keeps a small LRU of (query text -> match bitset over the source list).
+ * When the user keeps typing, the new query usually narrows a cached one
+ * ("har" -> "harr"), so only the cached matches are re-tested. Deleting
+ * characters hits the cache for the shorter query directly. Any change to
+ * the source list invalidates the cache because bit positions move.
+ */
+public class SearchSession<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ObservableList<T> source;
+    private final Map<String, Entry<T>> cache;
+
+    private static final class Entry<T> {
+        final SearchQuery<T> query;
+        final BitSet matches;
+
+        Entry(SearchQuery<T> query, BitSet matches) {
+            this.query = query;
+            this.matches = matches;
+        }
+    }
+
+    public SearchSession(ObservableList<T> source) {
+        this(source, DEFAULT_CAPACITY);
+    }
+
+    public SearchSession(ObservableList<T> source, int capacity) {
+        this.source = source;
+        this.cache = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+        source.addListener((ListChangeListener<T>) c -> cache.clear());
+    }
+
+    /**
+     * Rows of the source list matching the query, reusing earlier results where possible
+     */
+    public BitSet search(SearchQuery<T> query) {
+        Entry<T> hit = cache.get(query.text());
+        if (hit != null) return hit.matches;
+
+        // Pick the smallest cached result set that the new query narrows
+        Entry<T> base = null;
+        for (Entry<T> e : cache.values()) {
+            if (query.narrows(e.query)
+                    && (base == null || e.matches.cardinality() < base.matches.cardinality())) {
+                base = e;
+            }
+        }
+
+        BitSet matches = base != null
+                ? ParallelFilter.evaluate(source, query::test, base.matches)
+                : ParallelFilter.evaluate(source, query::test);
+        cache.put(query.text(), new Entry<>(query, matches));
+        return matches;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.demo;
+
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sort policy for entity tables.
+ *
+ * Small tables are sorted in memory by sorting the backing list with
+ * primitive row comparators (the table itself shows a FilteredList, which
+ * can't be sorted directly). Once the list reaches the server-sort threshold
+ * and the DAO supports it, a header click becomes an ORDER BY on the database:
+ * the first page replaces the list and further pages are fetched with keyset
+ * pagination as the user scrolls to the bottom.
+ *
+ * The list then stays paged (rows added or deleted by the form don't change
+ * that) until the sort is cleared or moves to a column the database can't
+ * sort; the whole table is loaded again first, a paged list is never sorted
+ * in memory. A reload of a paged table (reloadIfPaging) fetches the first
+ * page of the current sort again.
+ */
+public class ServerSortController<E> {
+
+    public static final int SERVER_SORT_THRESHOLD = Integer.getInteger("table.serverSortThreshold", 5000);
+    private static final String CONTROLLER_KEY = "ServerSortController";
+    private static final int PAGE_SIZE = 500;
+
+    private final TableView<E> table;
+    private final Class<E> clazz;
+    private final ObservableList<E> source;
+    private final SortableDAO<E> dao;
+
+    private boolean paging = false;      // list currently holds server pages, not the full table
+    private boolean exhausted = false;   // last page was shorter than PAGE_SIZE
+    private boolean loading = false;
+    private int generation = 0;          // discards pages from an outdated sort
+    private KeysetPager.Cursor cursor;   // after the last fetched row; the list's last row may be a form add
+    private String sortField;
+    private boolean ascending;
+
+    private ServerSortController(TableView<E> table, Class<E> clazz, ObservableList<E> source, SortableDAO<E> dao) {
+        this.table = table;
+        this.clazz = clazz;
+        this.source = source;
+        this.dao = dao;
+    }
+
+    /**
+     * Install the sort policy on a table whose items are backed by source; dao may be null (in-memory only)
+     */
+    public static <E> ServerSortController<E> install(TableView<E> table, Class<E> clazz,
+                                                      ObservableList<E> source, SortableDAO<E> dao) {
+        ServerSortController<E> controller = new ServerSortController<>(table, clazz, source, dao);
+        table.setSortPolicy(t -> controller.sort());
+        table.getProperties().put(CONTROLLER_KEY, controller);
+        table.skinProperty().addListener((obs, o, skin) -> controller.watchScrollBar());
+        return controller;
+    }
+
+    /**
+     * If table shows server pages, reload its first page and return true;
+     * false means the caller reloads the full list as usual
+     */
+    public static boolean reloadIfPaging(TableView<?> table) {
+        if (table.getProperties().get(CONTROLLER_KEY) instanceof ServerSortController<?> controller && controller.paging) {
+            controller.loadFirstPage(controller.sortField, controller.ascending);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean sort() {
+        List<TableColumn<E, ?>> order = table.getSortOrder();
+        TableColumn<E, ?> primary = order.isEmpty() ? null : order.get(0);
+        boolean serverSortable = primary != null && dao != null && dao.sortColumns().containsKey(primary.getText());
+        if (serverSortable && (paging || source.size() >= SERVER_SORT_THRESHOLD)) {
+            loadFirstPage(primary.getText(), primary.getSortType() == TableColumn.SortType.ASCENDING);
+        } else if (paging) {
+            // Only the fetched pages are loaded: sorting them would show a wrong order
+            loadAll();
+        } else {
+            sortInMemory();
+        }
+        return true;
+    }
+
+    private void sortInMemory() {
+        Comparator<E> comparator = EntityAccessors.of(clazz).comparator(table.getSortOrder());
+        if (comparator != null) {
+            source.sort(comparator);
+        }
+    }
+
+    // Leave paged mode: the whole table, in memory sort order
+    private void loadAll() {
+        int gen = ++generation;
+        loading = true;
+
+        BackgroundTasks.run(dao::getAll, rows -> {
+            if (gen != generation) return;
+            loading = false;
+            paging = false;
+            cursor = null;
+            source.setAll(rows);
+            sortInMemory();
+        }, ex -> {
+            loading = false;
+            System.err.println("Error reloading the table: " + ex.getMessage());
+        });
+    }
+
+    private void loadFirstPage(String field, boolean asc) {
+        sortField = field;
+        ascending = asc;
+        exhausted = false;
+        int gen = ++generation;
+        loading = true;
+
+        BackgroundTasks.run(() -> dao.getPage(field, asc, null, PAGE_SIZE), page -> {
+            if (gen != generation) return;
+            loading = false;
+            paging = true;
+            exhausted = page.rows().size() < PAGE_SIZE;
+            cursor = page.next();
+            source.setAll(page.rows());
+            table.scrollTo(0);
+        }, ex -> {
+            loading = false;
+            System.err.println("Error sorting on server: " + ex.getMessage());
+        });
+    }
+
+    private void loadNextPage() {
+        if (!paging || exhausted || loading || cursor == null) return;
+        KeysetPager.Cursor after = cursor;
+        int gen = generation;
+        loading = true;
+
+        BackgroundTasks.run(() -> dao.getPage(sortField, ascending, after, PAGE_SIZE), page -> {
+            loading = false;
+            if (gen != generation) return;
+            exhausted = page.rows().size() < PAGE_SIZE;
+            if (page.next() != null) cursor = page.next();
+            source.addAll(page.rows());
+        }, ex -> {
+            loading = false;
+            System.err.println("Error loading next page: " + ex.getMessage());
+        });
+    }
+
+    private void watchScrollBar() {
+        for (Node n : table.lookupAll(".scroll-bar")) {
+            if (n instanceof ScrollBar bar && bar.getOrientation() == Orientation.VERTICAL) {
+                bar.valueProperty().addListener((obs, o, v) -> {
+                    if (v.doubleValue() >= bar.getMax() * 0.95) loadNextPage();
+                });
+            }
+        }
+    }
+}
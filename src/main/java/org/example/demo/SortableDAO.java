@@ -0,0 +1,21 @@
+package org.example.demo;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO that can return rows sorted and paged by the database (keyset pagination).
+ */
+public interface SortableDAO<E> extends GenericDAO<E> {
+
+    /**
+     * Sortable entity fields mapped to qualified SQL columns, e.g. "title" -> "book.title"
+     */
+    Map<String, String> sortColumns();
+
+    /**
+     * Next page of at most limit rows ordered by sortField (ties broken by primary key),
+     * continuing after the cursor of the previous page, or from the beginning when after is null
+     */
+    KeysetPager.Page<E> getPage(String sortField, boolean ascending, KeysetPager.Cursor after, int limit);
+}
@@ -0,0 +1,253 @@
+package org.example.demo;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Every SQL statement the application runs, with sample parameters and the
+ * plan each one is expected to keep; QueryPlanAuditTest checks them with EXPLAIN.
+ *
+ * The statements are collected, not listed: every static final String named
+ * *_SQL in this package, every report in Reports.all() (sample values by
+ * parameter kind), the ranking and chart queries and the picker sources.
+ * EXPECTED only adds sample parameters and plan expectations by name, so a
+ * new *_SQL constant with parameters fails the audit until it has samples.
+ *
+ * By default a query may not read any table with a full table or full index
+ * scan; scans(...) lists the table aliases where that is intended (loading a
+ * whole table, or a filter no index can serve). budget(n) caps the estimated
+ * rows the plan examines; without it only the access types are checked.
+ * Inserts are left out, their plan is always the same. Statements built at run
+ * time (keyset pages, projected lists) are represented by their base query.
+ */
+public class SqlCatalog {
+
+    /**
+     * One statement to check
+     */
+    public record Query(String name, String sql, Object[] params, long rowBudget, Set<String> scanOk) {
+
+        public Query budget(long rows) {
+            return new Query(name, sql, params, rows, scanOk);
+        }
+
+        public Query scans(String... tables) {
+            return new Query(name, sql, params, rowBudget, Set.of(tables));
+        }
+
+        public boolean hasBudget() {
+            return rowBudget > 0;
+        }
+    }
+
+    // Tables read in full by DataCollector
+    private static final List<String> COLLECTED_TABLES = List.of(
+            "author", "book", "borrower", "borrowertype", "loan", "loanperiod", "publisher", "sale");
+
+    private static final String SAMPLE_NAME = "Jane Doe";
+
+    // Sample parameters and expected plan of collected statements, by name (sql is filled in when collected)
+    private static final Map<String, Query> EXPECTED = new HashMap<>();
+
+    static {
+        expect(sample("BookDAO.LIST_SQL").scans("book"));
+        expect(sample("BookDAO.UPDATE_SQL", "Title", 1, "Fiction", "Hardcover", 10.0, 1, 1).budget(1));
+        expect(sample("BookDAO.DELETE_SQL", 1).budget(1));
+        expect(sample("BookDAO.PUBLISHER_BY_NAME_SQL", "Penguin").budget(1));
+        expect(sample("AuthorDAO.BY_ID_SQL", 1).budget(1));
+        expect(sample("AuthorDAO.UPDATE_SQL", "Jane", "Doe", "UK", true, "Bio", 1).budget(1));
+        expect(sample("AuthorDAO.DELETE_SQL", 1).budget(1));
+        expect(sample("BorrowerDAO.BY_ID_SQL", 1).budget(1));
+        expect(sample("BorrowerDAO.UPDATE_SQL", "Jane", "Doe", 1, true, "jane@example.org", 1).budget(1));
+        expect(sample("BorrowerDAO.DELETE_SQL", 1).budget(1));
+        expect(sample("UserDAO.LOGIN_SQL", "admin", "hash").budget(1));
+        expect(sample("UserDAO.USERNAME_COUNT_SQL", "admin").budget(1));
+        expect(sample("SummaryStore.BOOKS_SQL").scans("book"));
+        expect(sample("SummaryStore.SALES_BY_DAY_SQL").scans("sale"));
+        expect(sample("ColumnarStore.LOANS_SQL").scans("loan"));
+        expect(sample("ColumnarStore.SALES_SQL").scans("sale"));
+
+        // Budgets below are sized for the seeded database of QueryPlanAuditTest (100k loans, 30k sales)
+        expect(sample("Reports.totalValue").scans("book"));
+        // Name match on CONCAT(...) cannot use an index: one side of the join is scanned, the rest probed by key
+        expect(sample("Reports.booksByAuthor").scans("a").budget(10_000));
+        expect(sample("Reports.booksByBorrower").scans("b", "borrower").budget(100_000));
+        expect(sample("Reports.currentLoans").budget(50_000));
+        expect(sample("Reports.booksByCountry").scans("p").budget(10_000));
+        // Anti-join: every borrower is read, loans and sales must be probed by index
+        expect(sample("Reports.neverActive").scans("br"));
+        expect(sample("Reports.multipleAuthors").scans("b", "ba"));
+        // Every sale is listed; whichever side is scanned, the other is probed by key
+        expect(sample("Reports.booksSold").scans("s", "br"));
+        expect(sample("Reports.availableBooks").scans("book"));
+        expect(sample("Reports.loanHistory").scans("b", "br").budget(100_000));
+        expect(sample("Reports.loansByDateRange").budget(50_000));
+        expect(sample("Reports.booksByCategory").scans("book"));
+        // Ranking SQL only serves Export (Rankings streams the ids, checked below); it groups both tables in full
+        expect(sample("Reports.mostBorrowedBooks").budget(50_000));
+        expect(sample("Reports.mostActiveBorrowers").scans("br", "loan", "sale"));
+        expect(sample("Reports.topSellingTitles").budget(50_000));
+    }
+
+    private static Query sample(String name, Object... params) {
+        return new Query(name, null, params, 0, Set.of());
+    }
+
+    private static void expect(Query query) {
+        EXPECTED.put(query.name(), query);
+    }
+
+    private static Query query(String name, String sql, Object... params) {
+        return new Query(name, sql, params, 0, Set.of());
+    }
+
+    // A collected statement with the parameters and expectations EXPECTED has for it (none if it is not listed)
+    private static Query collected(String name, String sql, Object... defaultParams) {
+        Query expected = EXPECTED.get(name);
+        if (expected == null) return query(name, sql, defaultParams);
+        Object[] params = expected.params().length > 0 ? expected.params() : defaultParams;
+        return new Query(name, sql, params, expected.rowBudget(), expected.scanOk());
+    }
+
+    // The query a report runs for sample values (its first page if it is paged)
+    private static Query report(ReportDefinition<?> definition, LocalDate today) {
+        List<Object> values = new ArrayList<>();
+        boolean firstDate = true;
+        for (ReportDefinition.Param param : definition.params()) {
+            switch (param.kind()) {
+                case CHOICE -> values.add(SAMPLE_NAME);
+                case NUMBER -> values.add(7);
+                case DATE -> {
+                    values.add(firstDate ? today.minusDays(30) : today);
+                    firstDate = false;
+                }
+            }
+        }
+        Object[] sample = values.toArray();
+        String name = "Reports." + definition.key();
+        if (definition.isPaged()) {
+            return collected(name, definition.pageSql(sample, 0), definition.pageBind(sample, null));
+        }
+        return collected(name, definition.sql(sample), definition.bind(sample));
+    }
+
+    public static List<Query> all() {
+        LocalDate today = LocalDate.now();
+        List<Query> queries = new ArrayList<>();
+
+        // *_SQL constants
+        for (Map.Entry<String, String> constant : sqlConstants().entrySet()) {
+            queries.add(collected(constant.getKey(), constant.getValue()));
+        }
+
+        // Statements built from them, and whole-table loads
+        queries.add(query("BookDAO.getById", BookDAO.LIST_SQL + " WHERE book.book_id = ?", 1).budget(1));
+        queries.add(query("AuthorDAO.list", "SELECT * FROM author").scans("author"));
+        queries.add(query("BorrowerDAO.list", "SELECT * FROM borrower").scans("borrower"));
+        queries.add(query("UserDAO.list", "SELECT * FROM users").scans("users"));
+        for (String table : COLLECTED_TABLES) {
+            queries.add(query("DataCollector." + table, "SELECT * FROM " + table).scans(table));
+        }
+
+        // Reports
+        for (ReportDefinition<?> definition : Reports.all()) {
+            queries.add(report(definition, today));
+        }
+        // Rankings stream only the ids in the date range, from an index on the date column
+        for (Rankings.Ranking ranking : Rankings.Ranking.values()) {
+            for (int i = 0; i < ranking.idQueries.length; i++) {
+                queries.add(query("Rankings." + ranking.name().toLowerCase() + "." + i, ranking.idQueries[i],
+                        today.minusDays(30), today).budget(50_000));
+            }
+        }
+        // Circulation chart, grouped by bucket in SQL over a date range
+        for (CirculationSeries.Measure measure : CirculationSeries.Measure.values()) {
+            queries.add(query("CirculationSeries." + measure.name().toLowerCase(),
+                    CirculationSeries.sql(measure, ColumnarStore.Bucket.WEEK), today.minusYears(1), today).budget(500_000));
+        }
+        // Picker values: DISTINCT over the whole table
+        for (ReportDefinition<?> definition : Reports.all()) {
+            for (ReportDefinition.Param param : definition.params()) {
+                if (param.source() != null) {
+                    queries.add(query("Reports." + definition.key() + "." + param.label().toLowerCase(), param.source())
+                            .scans(param.source().replaceAll(".* FROM (\\w+).*", "$1")));
+                }
+            }
+        }
+        // An expectation nothing was collected for belongs to a renamed or removed statement
+        Set<String> names = new HashSet<>();
+        queries.forEach(query -> names.add(query.name()));
+        for (String name : EXPECTED.keySet()) {
+            if (!names.contains(name)) throw new IllegalStateException("No statement " + name + " to check");
+        }
+        return queries;
+    }
+
+    /**
+     * Every static final String field named *_SQL of the classes in this
+     * package, as "Class.FIELD" to its value, sorted by name
+     */
+    static Map<String, String> sqlConstants() {
+        Map<String, String> constants = new TreeMap<>();
+        for (String className : classesOfThisPackage()) {
+            try {
+                Class<?> type = Class.forName(className, false, SqlCatalog.class.getClassLoader());
+                for (Field field : type.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers)
+                            && field.getType() == String.class && field.getName().endsWith("_SQL")) {
+                        field.setAccessible(true);
+                        constants.put(type.getSimpleName() + "." + field.getName(), (String) field.get(null));
+                    }
+                }
+            } catch (ReflectiveOperationException | LinkageError e) {
+                throw new IllegalStateException("Cannot read the SQL constants of " + className, e);
+            }
+        }
+        return constants;
+    }
+
+    // Names of the classes next to this one, from the directory or jar it was loaded from
+    private static List<String> classesOfThisPackage() {
+        String pkg = SqlCatalog.class.getPackageName();
+        String dir = pkg.replace('.', '/') + "/";
+        try {
+            Path location = Path.of(SqlCatalog.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            List<String> entries = new ArrayList<>();
+            if (Files.isDirectory(location)) {
+                try (Stream<Path> files = Files.list(location.resolve(dir))) {
+                    files.forEach(file -> entries.add(dir + file.getFileName()));
+                }
+            } else {
+                try (JarFile jar = new JarFile(location.toFile())) {
+                    jar.stream().map(JarEntry::getName).forEach(entries::add);
+                }
+            }
+            List<String> classes = new ArrayList<>();
+            for (String entry : entries) {
+                String rest = entry.startsWith(dir) ? entry.substring(dir.length()) : "";
+                if (rest.endsWith(".class") && !rest.contains("/") && !rest.equals("module-info.class")) {
+                    classes.add(pkg + "." + rest.substring(0, rest.length() - ".class".length()));
+                }
+            }
+            return classes;
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Cannot list the classes of " + pkg, e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.demo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Records how long each startup stage took so slow stages can be spotted in the log.
+ * Stages may run on different threads; all methods are thread-safe.
+ */
+public class StartupProfile {
+
+    private final long origin = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>();
+
+    private static final class Stage {
+        final String name;
+        final String thread;
+        final long startNanos;
+        final long endNanos;
+
+        Stage(String name, String thread, long startNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+
+    /**
+     * Start timing a stage on the thread that runs it; call the returned Runnable when the stage is done
+     */
+    public Runnable begin(String name) {
+        long start = System.nanoTime();
+        String thread = Thread.currentThread().getName();
+        return () -> record(name, thread, start, System.nanoTime());
+    }
+
+    public void time(String name, Runnable work) {
+        Runnable end = begin(name);
+        try {
+            work.run();
+        } finally {
+            end.run();
+        }
+    }
+
+    /**
+     * Time work that returns a value (a background query, on its worker thread)
+     */
+    public <V> V call(String name, Callable<V> work) throws Exception {
+        Runnable end = begin(name);
+        try {
+            return work.call();
+        } finally {
+            end.run();
+        }
+    }
+
+    private synchronized void record(String name, String thread, long start, long end) {
+        stages.add(new Stage(name, thread, start, end));
+    }
+
+    /**
+     * Formatted report: offset from startup begin, duration and thread of every stage
+     */
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder("Startup profile:\n");
+        for (Stage s : stages) {
+            sb.append(String.format("  %-22s +%6d ms  %6d ms  [%s]%n",
+                    s.name,
+                    (s.startNanos - origin) / 1_000_000,
+                    (s.endNanos - s.startNanos) / 1_000_000,
+                    s.thread));
+        }
+        sb.append(String.format("  %-22s %6d ms%n", "total", (System.nanoTime() - origin) / 1_000_000));
+        return sb.toString();
+    }
+
+    public void log() {
+        System.out.println(report());
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.demo;
+
+import javafx.concurrent.Task;
+import javafx.scene.control.Alert;
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the result of a query to a CSV or TSV file in constant memory.
+ *
+ * Rows are streamed from a forward-only MySQL result set (fetch size
+ * Integer.MIN_VALUE) and written one by one through a fixed-size buffer into
+ * a FileChannel, optionally GZIP-compressed; nothing but the current row is
+ * held, so 10M rows need no more heap than 10. The format follows the file
+ * name: .csv or .tsv, with .gz appended for compression.
+ */
+public class StreamingExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_EVERY = 1000;
+
+    public enum Format {
+        CSV(','), TSV('\t');
+
+        final char separator;
+
+        Format(char separator) {
+            this.separator = separator;
+        }
+
+        static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".gz")) name = name.substring(0, name.length() - 3);
+            return name.endsWith(".tsv") || name.endsWith(".tab") ? TSV : CSV;
+        }
+    }
+
+    /**
+     * Ask for a file and export sql (with params) to it, with a progress window
+     * that can cancel the export
+     */
+    public static void exportWithDialog(Window owner, String name, String sql, Object... params) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export " + name);
+        chooser.setInitialFileName(name.toLowerCase().replaceAll("[^a-z0-9]+", "_") + ".csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("TSV", "*.tsv"),
+                new FileChooser.ExtensionFilter("Compressed CSV", "*.csv.gz"),
+                new FileChooser.ExtensionFilter("Compressed TSV", "*.tsv.gz"));
+        File file = chooser.showSaveDialog(owner);
+        if (file == null) return;
+
+        Task<Long> task = task(sql, params, file.toPath());
+        ProgressDialog.runCancellable(owner, "Exporting " + name + " to " + file.getName(), task,
+                rows -> info(String.format("Exported %,d rows to %s", rows, file)),
+                ex -> info("Export failed: " + ex.getMessage()));
+    }
+
+    /**
+     * Task that writes the export and returns the row count; the message shows
+     * the rows written so far. A cancelled or failed export deletes the file.
+     */
+    public static Task<Long> task(String sql, Object[] params, Path file) {
+        return new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                updateProgress(-1, 1);
+                try {
+                    long rows = export(sql, params, file, this::rowsWritten, this::isCancelled);
+                    if (isCancelled()) Files.deleteIfExists(file);
+                    return rows;
+                } catch (Exception e) {
+                    Files.deleteIfExists(file);
+                    throw e;
+                }
+            }
+
+            private void rowsWritten(long rows) {
+                updateMessage(String.format("%,d rows", rows));
+            }
+        };
+    }
+
+    /**
+     * Export without UI; progress receives the rows written so far, cancelled is polled per row
+     */
+    public static long export(String sql, Object[] params, Path file,
+                              LongConsumer progress, BooleanSupplier cancelled) throws SQLException, IOException {
+        Format format = Format.of(file);
+        boolean gzip = file.getFileName().toString().toLowerCase().endsWith(".gz");
+
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+                for (int i = 0; i < params.length; i++) {
+                    Object p = params[i];
+                    pstmt.setObject(i + 1, p instanceof LocalDate d ? java.sql.Date.valueOf(d) : p);
+                }
+                try (ResultSet rs = pstmt.executeQuery();
+                     FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                             StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                     OutputStream out = gzip
+                             ? new GZIPOutputStream(new ChannelSink(channel), BUFFER_SIZE)
+                             : new ChannelSink(channel)) {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    int columns = meta.getColumnCount();
+                    StringBuilder line = new StringBuilder(256);
+
+                    for (int c = 1; c <= columns; c++) {
+                        appendCell(line, format, meta.getColumnLabel(c), c == 1);
+                    }
+                    writeLine(out, line);
+
+                    long rows = 0;
+                    while (rs.next()) {
+                        if (cancelled.getAsBoolean()) {
+                            pstmt.cancel(); // otherwise closing the streamed result reads the rest of it
+                            break;
+                        }
+                        for (int c = 1; c <= columns; c++) {
+                            appendCell(line, format, rs.getString(c), c == 1);
+                        }
+                        writeLine(out, line);
+                        rows++;
+                        if (rows % PROGRESS_EVERY == 0) progress.accept(rows);
+                    }
+                    progress.accept(rows);
+                    return rows;
+                }
+            }
+        }
+    }
+
+    private static void appendCell(StringBuilder line, Format format, String value, boolean first) {
+        if (!first) line.append(format.separator);
+        if (value == null) return;
+        if (format == Format.TSV) {
+            // TSV has no quoting: separators and line breaks inside a value become spaces
+            for (int i = 0; i < value.length(); i++) {
+                char ch = value.charAt(i);
+                line.append(ch == '\t' || ch == '\n' || ch == '\r' ? ' ' : ch);
+            }
+        } else if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(value);
+        }
+    }
+
+    private static void writeLine(OutputStream out, StringBuilder line) throws IOException {
+        line.append('\n');
+        out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+        line.setLength(0);
+    }
+
+    private static void info(String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Export");
+        alert.setHeaderText(null);
+        alert.setContentText(message);
+        alert.showAndWait();
+    }
+
+    /**
+     * OutputStream over a FileChannel with one fixed direct buffer
+     */
+    private static final class ChannelSink extends OutputStream {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        ChannelSink(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (!buffer.hasRemaining()) drain();
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!buffer.hasRemaining()) drain();
+                int n = Math.min(len, buffer.remaining());
+                buffer.put(bytes, off, n);
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        @Override
+        public void close() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.example.demo;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory aggregates for the dashboard reports: books per category, total
+ * inventory value (original_price * available) and sales per day.
+ *
+ * The store is loaded once in the background and then kept current by the
+ * book DAO writes (bookWritten / bookDeleted), so the reports read it without
+ * scanning the tables; sales are recorded outside this application and only
+ * come in with the recompute. Each book's contribution is kept by id, so
+ * an update replaces the old contribution instead of needing the old values.
+ * A full recompute runs periodically (-Dsummary.recomputeMinutes=N, default 10,
+ * 0 disables) and logs any drift from writes made outside this application.
+ */
+public class SummaryStore {
+
+    public static final long RECOMPUTE_MINUTES = Long.getLong("summary.recomputeMinutes", 10);
+
+    static final String BOOKS_SQL = "SELECT book_id, category, original_price, available FROM book";
+    static final String SALES_BY_DAY_SQL = "SELECT sale_date, COUNT(*) AS sales, SUM(sale_price) AS total FROM sale " +
+            "WHERE sale_date IS NOT NULL GROUP BY sale_date";
+
+    private static final SummaryStore INSTANCE = new SummaryStore();
+
+    private record BookEntry(String category, long valueCents) {}
+
+    // A write, applied to the live state and replayed onto a recomputed one
+    private interface Change {
+        void applyTo(SummaryStore store);
+    }
+
+    /**
+     * Sales of one day
+     */
+    public record DayTotal(int count, long totalCents) {
+        public double total() {
+            return totalCents / 100.0;
+        }
+    }
+
+    // All state guarded by this
+    private Map<Integer, BookEntry> books = new HashMap<>();
+    private Map<String, Integer> categoryCounts = new HashMap<>();
+    private TreeMap<LocalDate, DayTotal> salesByDay = new TreeMap<>();
+    private long totalValueCents;
+    private boolean loaded = false;
+    private List<Change> pending;     // writes made while a recompute is reading, null otherwise
+
+    private ScheduledExecutorService scheduler;
+
+    public static SummaryStore get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Load in the background and schedule the periodic recompute; later calls do nothing
+     */
+    public synchronized void start() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "summary-recompute");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.execute(this::recompute);
+        if (RECOMPUTE_MINUTES > 0) {
+            scheduler.scheduleWithFixedDelay(this::recompute, RECOMPUTE_MINUTES, RECOMPUTE_MINUTES, TimeUnit.MINUTES);
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // ---- Write hooks (called by the DAOs after a successful write) ----
+
+    /**
+     * A book was inserted or updated with these column values as written
+     * (category null when empty, price 0 when NULL)
+     */
+    public synchronized void bookWritten(int bookId, String category, double price, int available) {
+        BookEntry entry = new BookEntry(category, cents(price) * available);
+        apply(s -> s.putBook(bookId, entry));
+    }
+
+    public synchronized void bookDeleted(int bookId) {
+        apply(s -> s.removeBook(bookId));
+    }
+
+    private void apply(Change change) {
+        if (pending != null) pending.add(change);
+        if (loaded) change.applyTo(this);
+    }
+
+    private void putBook(int bookId, BookEntry entry) {
+        removeBook(bookId);
+        books.put(bookId, entry);
+        categoryCounts.merge(entry.category(), 1, Integer::sum);
+        totalValueCents += entry.valueCents();
+    }
+
+    private void removeBook(int bookId) {
+        BookEntry old = books.remove(bookId);
+        if (old == null) return;
+        categoryCounts.computeIfPresent(old.category(), (k, n) -> n == 1 ? null : n - 1);
+        totalValueCents -= old.valueCents();
+    }
+
+    private void addSale(LocalDate day, int count, long cents) {
+        salesByDay.merge(day, new DayTotal(count, cents),
+                (a, b) -> new DayTotal(a.count() + b.count(), a.totalCents() + b.totalCents()));
+    }
+
+    // ---- Reads ----
+
+    public synchronized double totalValue() {
+        return totalValueCents / 100.0;
+    }
+
+    /**
+     * Number of books per category, largest first; a null key counts books without category
+     */
+    public synchronized Map<String, Integer> categoryCounts() {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        categoryCounts.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
+                .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Sales per day between from and to (inclusive)
+     */
+    public synchronized Map<LocalDate, DayTotal> salesByDay(LocalDate from, LocalDate to) {
+        return new TreeMap<>(salesByDay.subMap(from, true, to, true));
+    }
+
+    /**
+     * Sales summed over from..to (inclusive)
+     */
+    public synchronized DayTotal salesBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        long cents = 0;
+        for (DayTotal d : salesByDay.subMap(from, true, to, true).values()) {
+            count += d.count();
+            cents += d.totalCents();
+        }
+        return new DayTotal(count, cents);
+    }
+
+    // ---- Full recompute ----
+
+    /**
+     * Rebuild everything from the database; writes made meanwhile are replayed
+     * onto the new state, and differences to the maintained state are logged
+     */
+    void recompute() {
+        synchronized (this) {
+            if (pending != null) return;
+            pending = new ArrayList<>();
+        }
+        SummaryStore fresh = new SummaryStore();
+        fresh.loaded = true;
+        try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                throw new SQLException("Failed to establish database connection");
+            }
+            try (Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery(BOOKS_SQL)) {
+                    while (rs.next()) {
+                        fresh.putBook(rs.getInt("book_id"), new BookEntry(rs.getString("category"),
+                                cents(rs.getDouble("original_price")) * rs.getInt("available")));
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery(SALES_BY_DAY_SQL)) {
+                    while (rs.next()) {
+                        fresh.addSale(rs.getDate("sale_date").toLocalDate(), rs.getInt("sales"), cents(rs.getDouble("total")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error recomputing summaries: " + e.getMessage());
+            synchronized (this) {
+                pending = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            // Book changes are idempotent, replaying one the read already saw changes nothing
+            for (Change change : pending) {
+                change.applyTo(fresh);
+            }
+            if (loaded) logDrift(fresh);
+            books = fresh.books;
+            categoryCounts = fresh.categoryCounts;
+            salesByDay = fresh.salesByDay;
+            totalValueCents = fresh.totalValueCents;
+            loaded = true;
+            pending = null;
+        }
+    }
+
+    private void logDrift(SummaryStore fresh) {
+        List<String> drift = new ArrayList<>();
+        if (totalValueCents != fresh.totalValueCents) {
+            drift.add(String.format("total value %.2f -> %.2f", totalValueCents / 100.0, fresh.totalValueCents / 100.0));
+        }
+        if (!categoryCounts.equals(fresh.categoryCounts)) {
+            drift.add("category counts " + categoryCounts + " -> " + fresh.categoryCounts);
+        }
+        if (!salesByDay.equals(fresh.salesByDay)) {
+            int days = 0;
+            for (LocalDate day : fresh.salesByDay.keySet()) {
+                if (!Objects.equals(salesByDay.get(day), fresh.salesByDay.get(day))) days++;
+            }
+            drift.add("sales differ on " + Math.max(days, 1) + " day(s)");
+        }
+        if (!drift.isEmpty()) {
+            System.err.println("Summary drift corrected: " + String.join("; ", drift));
+        }
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -11,6 +11,12 @@ import java.util.List;
  * Data Access Object for User operations including authentication and user management
  */
 public class UserDAO {
+
+    static final String LOGIN_SQL = "SELECT * FROM users WHERE username = ? AND password = ?";
+    static final String USERNAME_COUNT_SQL = "SELECT COUNT(*) FROM users WHERE username = ?";
+
+    // Set once the users table is known to exist; startup creates it in the background
+    private static volatile boolean tableReady;
     
     /**
      * Hash password using SHA-256
@@ -36,7 +42,8 @@ public class UserDAO {
     /**
      * Create Users table if it doesn't exist
      */
-    public static void createUsersTable() {
+    public static synchronized void createUsersTable() {
+        if (tableReady) return;
         String sql = "CREATE TABLE IF NOT EXISTS users (" +
                 "username VARCHAR(50) PRIMARY KEY, " +
                 "password VARCHAR(64) NOT NULL, " +
@@ -51,6 +58,7 @@ public class UserDAO {
             }
             try (Statement stmt = conn.createStatement()) {
                 stmt.execute(sql);
+                tableReady = true;
                 System.out.println("Users table created or already exists");
             }
         } catch (SQLException e) {
@@ -59,6 +67,14 @@ public class UserDAO {
         }
     }
 
+    /**
+     * Make sure the users table exists before it is queried: waits for the
+     * startup task if it is still running, creates the table if it failed
+     */
+    private static void ensureUsersTable() {
+        if (!tableReady) createUsersTable();
+    }
+
     /**
      * Register a new user
      */
@@ -74,6 +90,7 @@ public class UserDAO {
             role = "student"; // default
         }
 
+        ensureUsersTable();
         String hashedPassword = hashPassword(password);
         String sql = "INSERT INTO users (username, password, email, role) VALUES (?, ?, ?, ?)";
 
@@ -104,8 +121,9 @@ public class UserDAO {
             return null;
         }
 
+        ensureUsersTable();
         String hashedPassword = hashPassword(password);
-        String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
+        String sql = LOGIN_SQL;
 
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
@@ -136,7 +154,8 @@ public class UserDAO {
      * Check if username already exists
      */
     public static boolean usernameExists(String username) {
-        String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
+        ensureUsersTable();
+        String sql = USERNAME_COUNT_SQL;
         
         try (Connection conn = HelloController.DatabaseConnection.getConnection()) {
             if (conn == null) {
@@ -160,6 +179,7 @@ public class UserDAO {
      * Get all users (for admin)
      */
     public static List<User> getAllUsers() {
+        ensureUsersTable();
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users";
 
@@ -0,0 +1,57 @@
+package org.example.demo;
+
+import javafx.scene.Node;
+import javafx.scene.layout.BorderPane;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the sidebar entity views alive between clicks.
+ *
+ * Each view (table, form, search box) is built once on first use and then
+ * reused, so switching between sidebar entries doesn't rebuild controls or
+ * query the database. Data is refreshed explicitly through refreshAll,
+ * which the views implement as background reloads.
+ */
+public class ViewRegistry {
+
+    /**
+     * One cached entity view: the nodes for the content area plus its refresh action
+     */
+    public static class View {
+        private final Node center;
+        private final Node bottom;
+        private final Node right;
+        private final Runnable refresh;
+
+        public View(Node center, Node bottom, Node right, Runnable refresh) {
+            this.center = center;
+            this.bottom = bottom;
+            this.right = right;
+            this.refresh = refresh;
+        }
+
+        public void refresh() {
+            if (refresh != null) refresh.run();
+        }
+    }
+
+    private final Map<String, View> views = new LinkedHashMap<>();
+
+    /**
+     * Show the view with the given key, building it with factory the first time
+     */
+    public View show(String key, BorderPane contentArea, Supplier<View> factory) {
+        View view = views.computeIfAbsent(key, k -> factory.get());
+        contentArea.setCenter(view.center);
+        contentArea.setBottom(view.bottom);
+        contentArea.setRight(view.right);
+        return view;
+    }
+
+    public void refreshAll() {
+        views.values().forEach(View::refresh);
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.demo;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Loads the wide text fields a projected list read left out.
+ *
+ * The wide columns start hidden (they can be shown from the table's column
+ * menu). Selecting a row loads its wide fields; showing a wide column loads
+ * that field for every row still missing it, and rows that appear later
+ * (reload, search) while it is shown get it too. A row is never requested
+ * again while a load of the same field for it is running. Loads run in the
+ * background and the values are applied on the FX thread.
+ */
+public class WideColumnLoader<E extends Projected> {
+
+    private final TableView<E> table;
+    private final Class<E> clazz;
+    private final ProjectedDAO<E> dao;
+    private final Consumer<E> onRowLoaded;
+    private final Map<String, Set<E>> loading = new HashMap<>(); // field -> rows requested, FX thread only
+
+    private WideColumnLoader(TableView<E> table, Class<E> clazz, ProjectedDAO<E> dao, Consumer<E> onRowLoaded) {
+        this.table = table;
+        this.clazz = clazz;
+        this.dao = dao;
+        this.onRowLoaded = onRowLoaded;
+    }
+
+    /**
+     * Install on a table whose rows come from dao.getAll(fields);
+     * onRowLoaded (may be null) is called after a selected row got its wide fields
+     */
+    public static <E extends Projected> void install(TableView<E> table, Class<E> clazz,
+                                                     ProjectedDAO<E> dao, Consumer<E> onRowLoaded) {
+        WideColumnLoader<E> loader = new WideColumnLoader<>(table, clazz, dao, onRowLoaded);
+        table.setTableMenuButtonVisible(true);
+
+        for (TableColumn<E, ?> column : table.getColumns()) {
+            String field = column.getText();
+            if (!dao.wideFields().contains(field)) continue;
+            column.setVisible(false);
+            column.visibleProperty().addListener((obs, was, visible) -> {
+                if (visible) loader.load(field, table.getItems());
+            });
+        }
+        table.getSelectionModel().selectedItemProperty().addListener((obs, old, row) -> {
+            if (row != null) loader.loadRow(row);
+        });
+        // Rows that show up later (reload, search) get the fields of the visible wide columns too
+        table.getItems().addListener((ListChangeListener<E>) c -> {
+            List<E> added = new ArrayList<>();
+            while (c.next()) {
+                if (c.wasAdded()) added.addAll(c.getAddedSubList());
+            }
+            if (added.isEmpty()) return;
+            for (TableColumn<E, ?> column : table.getColumns()) {
+                if (column.isVisible() && dao.wideFields().contains(column.getText())) {
+                    loader.load(column.getText(), added);
+                }
+            }
+        });
+    }
+
+    private void loadRow(E row) {
+        int id = idOf(row);
+        for (String field : dao.wideFields()) {
+            Set<E> requested = requested(field);
+            if (row.isLoaded(field) || requested.contains(row)) continue;
+            requested.add(row);
+            BackgroundTasks.run(() -> dao.getWideField(field, List.of(id)), values -> {
+                requested.remove(row);
+                apply(row, field, values.get(id));
+                if (onRowLoaded != null) onRowLoaded.accept(row);
+            }, ex -> {
+                requested.remove(row);
+                System.err.println("Error loading " + field + ": " + ex.getMessage());
+            });
+        }
+    }
+
+    // field for those of rows that neither have it nor are already being loaded
+    private void load(String field, List<? extends E> rows) {
+        Set<E> requested = requested(field);
+        List<E> missing = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (E row : rows) {
+            if (!row.isLoaded(field) && requested.add(row)) {
+                missing.add(row);
+                ids.add(idOf(row));
+            }
+        }
+        if (missing.isEmpty()) return;
+
+        // Most rows missing: one scan of the column is cheaper than many IN lists
+        List<Integer> query = ids.size() > 4 * ProjectedDAO.IN_CHUNK ? null : ids;
+        BackgroundTasks.run(() -> dao.getWideField(field, query), values -> {
+            missing.forEach(requested::remove);
+            for (int i = 0; i < missing.size(); i++) {
+                apply(missing.get(i), field, values.get(ids.get(i)));
+            }
+        }, ex -> {
+            missing.forEach(requested::remove);
+            System.err.println("Error loading " + field + ": " + ex.getMessage());
+        });
+    }
+
+    private Set<E> requested(String field) {
+        return loading.computeIfAbsent(field, f -> Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private void apply(E row, String field, String value) {
+        if (row.isLoaded(field)) return; // edited or loaded meanwhile
+        EntityAccessors.of(clazz).get(field).setValue(row, value);
+        row.markLoaded(field);
+    }
+
+    private int idOf(E row) {
+        for (EntityAccessors.Accessor a : EntityAccessors.of(clazz).all()) {
+            if (a.isInt() && a.name().endsWith("_id")) return a.getInt(row);
+        }
+        throw new IllegalStateException("No id field on " + clazz.getSimpleName());
+    }
+}
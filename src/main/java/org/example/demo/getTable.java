@@ -1,6 +1,7 @@
 package org.example.demo;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -8,7 +9,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
-import javafx.scene.control.cell.PropertyValueFactory;
 
 public class getTable<E>{
     public TableView<E> gettable(Class<E> clazz, ObservableList<E> list) {
@@ -20,21 +20,13 @@ public class getTable<E>{
             list = FXCollections.observableArrayList();
         }
 
-        // Create columns for all fields
-        Field[] fields = clazz.getDeclaredFields();
+        // Create columns for all fields, using accessors compiled once per entity class
+        EntityAccessors<E> accessors = EntityAccessors.of(clazz);
+        Field[] fields = accessors.columnFields();
         for (int i = 0; i < fields.length; i++) {
             Field f = fields[i];
-            TableColumn<E, String> column = new TableColumn<>(f.getName());
-
-             if (f.getName().equals("name") ) {
-
-                    column.setCellValueFactory(new PropertyValueFactory<>("name"));
-                    tableView.getColumns().add(column);
-                    continue;
-                }
-
-
-                column.setCellValueFactory(new PropertyValueFactory<>(f.getName()));
+            TableColumn<E, Object> column = new TableColumn<>(f.getName());
+            column.setCellValueFactory(accessors.cellValueFactory(f.getName()));
              if(f.getName().equals("publisher_id") ) {
                  column.setVisible(false);
 
@@ -46,6 +38,13 @@ public class getTable<E>{
             ObservableList<E> safeList = FXCollections.observableArrayList(list);
             tableView.setItems(safeList);
 
+            // Sort the rows through the accessors (primitive ints and doubles) instead of boxed cell values
+            tableView.setSortPolicy(t -> {
+                Comparator<E> comparator = accessors.comparator(t.getSortOrder());
+                if (comparator != null) FXCollections.sort(t.getItems(), comparator);
+                return true;
+            });
+
             return tableView;
         }
 
@@ -0,0 +1,89 @@
+package org.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typical loan statistics on the column layout of ColumnarStore against the
+ * same work over a list of Loan.Row objects, on synthetic data.
+ *
+ * Statistics: loans in the last year, loans per book in that range, and loans
+ * per month over ten years.
+ * Run with: mvn test-compile, then
+ * java -cp target/test-classes:target/classes:(test class path) org.openjdk.jmh.Main ColumnarBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ColumnarBenchmark {
+
+    private static final int TEN_YEARS = 3652;
+
+    @Param({"5000000"})
+    public int rows;
+
+    private int today;
+    private int[] bookId;
+    private int[] loanDay;
+    private List<Loan.Row> objects;
+
+    @Setup
+    public void setUp() {
+        today = (int) LocalDate.now().toEpochDay();
+        Random random = new Random(42);
+        bookId = new int[rows];
+        loanDay = new int[rows];
+        objects = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            bookId[i] = 1 + random.nextInt(50_000);
+            loanDay[i] = today - random.nextInt(TEN_YEARS);
+            objects.add(new Loan.Row(i + 1, 1 + random.nextInt(20_000), bookId[i], 1,
+                    loanDay[i], loanDay[i] + 14, Loan.Row.NO_DATE));
+        }
+    }
+
+    @Benchmark
+    public int columns() {
+        int[] lastYear = ColumnarStore.where(loanDay, rows, null, today - 365, today);
+        int[] perBook = ColumnarStore.countBy(bookId, rows, lastYear);
+        int[] perMonth = ColumnarStore.countByBucket(loanDay, rows, null, ColumnarStore.Bucket.MONTH, today - TEN_YEARS, today);
+        return lastYear.length + perBook.length + perMonth.length;
+    }
+
+    @Benchmark
+    public int rowObjects() {
+        int from = today - 365;
+        List<Loan.Row> inRange = new ArrayList<>();
+        for (Loan.Row r : objects) {
+            if (r.loanDay() >= from && r.loanDay() <= today) inRange.add(r);
+        }
+        Map<Integer, Integer> byBook = new HashMap<>();
+        for (Loan.Row r : inRange) byBook.merge(r.bookId(), 1, Integer::sum);
+        Map<Integer, Integer> byMonth = new HashMap<>();
+        for (Loan.Row r : objects) {
+            LocalDate d = LocalDate.ofEpochDay(r.loanDay());
+            byMonth.merge(d.getYear() * 12 + d.getMonthValue() - 1, 1, Integer::sum);
+        }
+        return inRange.size() + byBook.size() + byMonth.size();
+    }
+}
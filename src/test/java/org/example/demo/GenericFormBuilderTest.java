@@ -0,0 +1,83 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+import javafx.scene.control.TableView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GenericFormBuilderTest {
+
+    @BeforeAll
+    static void startFx() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void rebuildingTheFormKeepsOneSelectionListenerPerTable() throws Exception {
+        int[][] counts = onFxThread(() -> {
+            TableView<Author> table = new TableView<>();
+            table.getItems().add(new Author(1, "Jane", "Doe", "UK", "Bio"));
+            int[][] c = new int[3][];
+            for (int build = 0; build < 3; build++) {
+                new GenericFormBuilder<>(Author.class, null, table).buildForm();
+                c[build] = new int[] {
+                        listenerCount(table.getSelectionModel().selectedItemProperty()),
+                        listenerCount(table.getSelectionModel().getSelectedItems())
+                };
+            }
+            return c;
+        });
+
+        assertEquals(counts[0][0], counts[1][0], "selectedItem listeners after the second form");
+        assertEquals(counts[0][0], counts[2][0], "selectedItem listeners after the third form");
+        assertEquals(counts[0][1], counts[1][1], "selectedItems listeners after the second form");
+        assertEquals(counts[0][1], counts[2][1], "selectedItems listeners after the third form");
+    }
+
+    private static <V> V onFxThread(Callable<V> work) throws Exception {
+        FutureTask<V> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(10, TimeUnit.SECONDS);
+    }
+
+    // Listeners registered on a JavaFX observable, read from its ExpressionHelper / ListListenerHelper
+    private static int listenerCount(Object observable) throws IllegalAccessException {
+        for (Class<?> c = observable.getClass(); c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                String type = f.getType().getSimpleName();
+                if (type.equals("ExpressionHelper") || type.equals("ListListenerHelper")) {
+                    f.setAccessible(true);
+                    return helperCount(f.get(observable));
+                }
+            }
+        }
+        throw new AssertionError("No listener helper in " + observable.getClass());
+    }
+
+    private static int helperCount(Object helper) throws IllegalAccessException {
+        if (helper == null) return 0;
+        if (helper.getClass().getSimpleName().startsWith("Single")) return 1;
+        int count = 0;
+        for (Field f : helper.getClass().getDeclaredFields()) {
+            if (f.getName().equals("invalidationSize") || f.getName().equals("changeSize")) {
+                f.setAccessible(true);
+                count += f.getInt(helper);
+            }
+        }
+        return count;
+    }
+}
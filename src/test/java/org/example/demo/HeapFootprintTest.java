@@ -0,0 +1,79 @@
+package org.example.demo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rough heap footprint of the list entities, compact vs. with every property
+ * created (the old eager layout). The bytes per row are printed; the test
+ * checks that the compact rows are the smaller ones.
+ */
+class HeapFootprintTest {
+
+    private static final int ROWS = 100_000;
+
+    @Test
+    void compactRowsAreSmallerThanRowsWithAllProperties() {
+        LocalDate today = LocalDate.now();
+
+        measure("Loan", i -> new Loan(i, i % 500, i % 2000, 1,
+                today.minusDays(i % 30), today.plusDays(14 - i % 30), null), HeapFootprintTest::touchLoan);
+        measure("Sale", i -> new Sale(i, i % 2000, i % 500, today.minusDays(i % 365), 9.99 + i % 40),
+                HeapFootprintTest::touchSale);
+        measure("Book", i -> new Book(i, i % 50, "Title " + i, "Publisher " + i % 50, "Fiction",
+                "Paperback", 12.5, "Yes"), HeapFootprintTest::touchBook);
+    }
+
+    private static <E> void measure(String name, IntFunction<E> factory, Consumer<E> touch) {
+        long base = usedHeap();
+        List<E> list = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            list.add(factory.apply(i));
+        }
+        long compact = usedHeap() - base;
+
+        for (E row : list) {
+            touch.accept(row);
+        }
+        long full = usedHeap() - base;
+
+        System.out.printf("%-5s %,d rows: compact %,d B/row, all properties %,d B/row%n",
+                name, list.size(), compact / ROWS, full / ROWS);
+        assertTrue(compact < full, name + " rows grew by " + (full - compact) + " B with all properties");
+    }
+
+    private static void touchLoan(Loan l) {
+        l.loan_idProperty(); l.borrower_idProperty(); l.book_idProperty(); l.period_idProperty();
+        l.loan_dateProperty(); l.due_dateProperty(); l.return_dateProperty();
+    }
+
+    private static void touchSale(Sale s) {
+        s.sale_idProperty(); s.book_idProperty(); s.borrower_idProperty();
+        s.sale_dateProperty(); s.sale_priceProperty();
+    }
+
+    private static void touchBook(Book b) {
+        b.book_idProperty(); b.publisher_idProperty(); b.titleProperty(); b.nameProperty();
+        b.categoryProperty(); b.book_typeProperty(); b.original_priceProperty(); b.availableProperty();
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.demo;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ListDiffTest {
+
+    @Test
+    void changedRowKeepsItsObjectAndGetsTheNewValue() {
+        ObservableList<Book> shown = FXCollections.observableArrayList(books(1, 2, 3));
+        Book second = shown.get(1);
+        List<Book> reloaded = books(1, 2, 3);
+        reloaded.get(1).titleProperty().set("Changed");
+
+        ListDiff.Result result = ListDiff.apply(shown, reloaded);
+
+        assertEquals(new ListDiff.Result(0, 0, 1), result);
+        assertSame(second, shown.get(1));
+        assertEquals("Changed", second.getTitle());
+    }
+
+    @Test
+    void newRowsAreInsertedAtTheirReloadedIndex() {
+        ObservableList<Book> shown = FXCollections.observableArrayList(books(1, 2, 3, 4, 5, 6, 7, 8));
+        List<Book> reloaded = books(0, 1, 2, 10, 3, 5, 6, 11, 12, 7, 8, 13);
+
+        ListDiff.Result result = ListDiff.apply(shown, reloaded);
+
+        assertEquals(ids(reloaded), ids(shown));
+        assertEquals(new ListDiff.Result(1, 5, 0), result);
+    }
+
+    @Test
+    void mostlyNewRowsAreReplacedWithSetAll() {
+        ObservableList<Book> shown = FXCollections.observableArrayList(books(1, 2, 3, 4));
+        Book first = shown.get(0);
+
+        ListDiff.apply(shown, books(1, 5, 6, 7, 8));
+
+        assertEquals(List.of(1, 5, 6, 7, 8), ids(shown));
+        assertNotSame(first, shown.get(0));
+    }
+
+    @Test
+    void planForRowsThatChangedMeanwhileIsRedone() {
+        ObservableList<Book> shown = FXCollections.observableArrayList(books(1, 2, 3, 4));
+        ListDiff.Plan<Book> plan = ListDiff.plan(new ArrayList<>(shown), books(1, 2, 3, 4, 5));
+        shown.remove(0);
+
+        plan.applyTo(shown);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(shown));
+    }
+
+    private static List<Book> books(int... ids) {
+        List<Book> books = new ArrayList<>();
+        for (int id : ids) {
+            books.add(new Book(id, 1, "Title " + id, "Publisher", "Fiction", "Paperback", 10.0, "Yes"));
+        }
+        return books;
+    }
+
+    private static List<Integer> ids(List<Book> books) {
+        return books.stream().map(Book::getBook_id).toList();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.demo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParallelFilter's sequential and ForkJoin paths for typical SearchBox
+ * queries over book lists of growing size, to choose PARALLEL_THRESHOLD.
+ *
+ * The smallest row count from which parallel beats serial for every query is
+ * the threshold to use on that machine (-Dsearch.parallelThreshold); the
+ * ForkJoin path only runs with a common pool parallelism of 2 or more.
+ * Run with: mvn test-compile, then
+ * java -cp target/test-classes:target/classes:(test class path) org.openjdk.jmh.Main ParallelFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ParallelFilterBenchmark {
+
+    private static final String[] WORDS = {"Harry", "Java", "Science", "History", "Garden", "Ocean", "Night", "Code"};
+    private static final String[] CATEGORIES = {"Fiction", "Science", "History", "Children", "Poetry"};
+
+    @Param({"1000", "10000", "25000", "50000", "100000", "250000", "1000000"})
+    public int rows;
+
+    @Param({"harry", "title:java price>20", "category=science"})
+    public String text;
+
+    private List<Book> items;
+    private SearchQuery<Book> query;
+
+    @Setup
+    public void setUp() {
+        items = books(rows);
+        query = SearchQuery.compile(Book.class, text);
+        if (!ParallelFilter.evaluateSerial(items, query::test).equals(ParallelFilter.evaluateParallel(items, query::test))) {
+            throw new IllegalStateException("paths disagree for " + text);
+        }
+    }
+
+    @Benchmark
+    public BitSet serial() {
+        return ParallelFilter.evaluateSerial(items, query::test);
+    }
+
+    @Benchmark
+    public BitSet parallel() {
+        return ParallelFilter.evaluateParallel(items, query::test);
+    }
+
+    private static List<Book> books(int rows) {
+        Random random = new Random(42);
+        List<Book> list = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            list.add(new Book(i, i % 500, title, "Publisher " + i % 500,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], "Paperback", 5 + random.nextInt(60), "Yes"));
+        }
+        return list;
+    }
+}
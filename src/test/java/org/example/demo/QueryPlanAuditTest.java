@@ -0,0 +1,171 @@
+package org.example.demo;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Runs EXPLAIN for every statement in SqlCatalog and fails when a plan has
+ * degraded: a full table or index scan on a table the query is not allowed to
+ * scan, or more estimated rows than the query's budget (rows multiplied along
+ * each join, summed over the selects).
+ *
+ * Without -Ddb.url it starts an embedded MariaDB, creates the schema and
+ * generated data of plan_audit_seed.sql plus the indexes of report_indexes.sql,
+ * and explains against that. With -Ddb.url it checks that database instead,
+ * e.g. a seeded copy of production:
+ *   mvn test -Dtest=QueryPlanAuditTest -Ddb.url=jdbc:mysql://localhost:3306/libr_seed
+ * Skipped only when the database cannot be started or reached.
+ */
+class QueryPlanAuditTest {
+
+    private static final String[] SEEDED_TABLES = {
+            "publisher", "author", "book", "bookauthor", "borrowertype", "borrower", "loanperiod", "loan", "sale", "users"};
+
+    private static DB embedded;
+    private static Connection conn;
+
+    /**
+     * One row of EXPLAIN output
+     */
+    record Step(int selectId, String table, String type, String key, long rows) {
+        boolean isFullScan() {
+            return "ALL".equals(type) || "index".equals(type);
+        }
+
+        @Override
+        public String toString() {
+            return table + ":" + type + (key != null ? "(" + key + ")" : "") + "~" + rows;
+        }
+    }
+
+    @BeforeAll
+    static void connect() throws SQLException, IOException {
+        String url = System.getProperty("db.url", "");
+        if (url.isBlank()) {
+            conn = startSeededDatabase();
+        } else {
+            conn = HelloController.DatabaseConnection.getConnection();
+            assumeTrue(conn != null, "cannot connect to " + url);
+        }
+    }
+
+    @AfterAll
+    static void close() throws SQLException, ManagedProcessException {
+        try {
+            if (conn != null) conn.close();
+        } finally {
+            if (embedded != null) embedded.stop();
+        }
+    }
+
+    // Embedded server with the seeded library schema; ANALYZE so the optimizer sees the real row counts
+    private static Connection startSeededDatabase() throws SQLException, IOException {
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) config.addArg("--user=root");
+        try {
+            embedded = DB.newEmbeddedDB(config.build());
+            embedded.start();
+        } catch (ManagedProcessException e) {
+            assumeTrue(false, "embedded MariaDB did not start: " + e.getMessage());
+        }
+        String server = "jdbc:mysql://localhost:" + embedded.getConfiguration().getPort() + "/";
+        try (Connection admin = DriverManager.getConnection(server, "root", "")) {
+            runScript(admin, "CREATE DATABASE library;");
+        }
+        Connection seeded = DriverManager.getConnection(server + "library", "root", "");
+        try (InputStream seed = QueryPlanAuditTest.class.getResourceAsStream("plan_audit_seed.sql")) {
+            runScript(seeded, new String(seed.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        runScript(seeded, Files.readString(Path.of("report_indexes.sql")));
+        runScript(seeded, "ANALYZE TABLE " + String.join(", ", SEEDED_TABLES) + ";");
+        return seeded;
+    }
+
+    // Statements end with ";" at the end of a line; "--" lines are comments
+    private static void runScript(Connection conn, String script) throws SQLException {
+        StringBuilder sql = new StringBuilder();
+        try (Statement stmt = conn.createStatement()) {
+            for (String line : script.split("\n")) {
+                if (line.isBlank() || line.trim().startsWith("--")) continue;
+                sql.append(line).append('\n');
+                if (line.trim().endsWith(";")) {
+                    stmt.execute(sql.substring(0, sql.lastIndexOf(";")));
+                    sql.setLength(0);
+                }
+            }
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> plans() {
+        return SqlCatalog.all().stream().map(query -> dynamicTest(query.name(), () -> {
+            List<Step> steps = explain(conn, query);
+            List<String> problems = check(query, steps);
+            assertTrue(problems.isEmpty(), String.join(", ", problems) + " in " + steps);
+        }));
+    }
+
+    static List<Step> explain(Connection conn, SqlCatalog.Query query) throws SQLException {
+        List<Step> steps = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + query.sql())) {
+            Object[] params = query.params();
+            for (int i = 0; i < params.length; i++) {
+                Object p = params[i];
+                pstmt.setObject(i + 1, p instanceof LocalDate d ? java.sql.Date.valueOf(d) : p);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    steps.add(new Step(rs.getInt("id"), rs.getString("table"), rs.getString("type"),
+                            rs.getString("key"), rs.getLong("rows")));
+                }
+            }
+        }
+        return steps;
+    }
+
+    static List<String> check(SqlCatalog.Query query, List<Step> steps) {
+        List<String> problems = new ArrayList<>();
+        Map<Integer, Long> rowsPerSelect = new LinkedHashMap<>();
+        for (Step step : steps) {
+            if (step.table() == null) continue; // e.g. "No tables used"
+            // <union..>, <derived..>, <subquery..> are temporary results, their sources are checked
+            if (step.isFullScan() && !step.table().startsWith("<") && !query.scanOk().contains(step.table())) {
+                problems.add("full " + (step.type().equals("ALL") ? "table" : "index") + " scan of " + step.table());
+            }
+            rowsPerSelect.merge(step.selectId(), Math.max(step.rows(), 1), Math::multiplyExact);
+        }
+        long estimated = rowsPerSelect.values().stream().mapToLong(Long::longValue).sum();
+        if (query.hasBudget() && estimated > query.rowBudget()) {
+            problems.add(String.format("estimated %,d rows, budget %,d", estimated, query.rowBudget()));
+        }
+        return problems;
+    }
+}
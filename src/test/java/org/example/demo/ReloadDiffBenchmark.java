@@ -0,0 +1,113 @@
+package org.example.demo;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * setAll against ListDiff for a reload where 1% of the rows changed, one
+ * reload per iteration.
+ *
+ * A TableView re-renders every row a list change reports and every cell
+ * whose property fires; both are counted (Touched) next to the time.
+ * Reloads run as plan, on the loading thread, and applyPlan, on the FX
+ * thread; listDiff is both in one call.
+ * Run with: mvn test-compile, then
+ * java -cp target/test-classes:target/classes:(test class path) org.openjdk.jmh.Main ReloadDiffBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ReloadDiffBenchmark {
+
+    /**
+     * A shown list with a cell bound to every title, and its reload
+     */
+    @State(Scope.Thread)
+    public static class Reload {
+
+        @Param({"100000"})
+        public int rows;
+
+        ObservableList<Book> shown;
+        List<Book> reloaded;
+        ListDiff.Plan<Book> plan;
+        private int round;
+
+        @Setup(Level.Iteration)
+        public void setUp(Touched touched) {
+            shown = FXCollections.observableArrayList(books(rows, -1));
+            for (Book b : shown) {
+                // What a visible cell does: bind to the property
+                b.titleProperty().addListener((obs, o, n) -> touched.cellsUpdated++);
+            }
+            shown.addListener((ListChangeListener<Book>) c -> {
+                while (c.next()) {
+                    touched.rowsReported += c.getRemovedSize() + c.getAddedSize();
+                }
+            });
+            reloaded = books(rows, round++);
+            plan = ListDiff.plan(new ArrayList<>(shown), reloaded);
+        }
+    }
+
+    /**
+     * Rows reported by list changes and cells updated, over all measured reloads
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Touched {
+        public long rowsReported;
+        public long cellsUpdated;
+    }
+
+    @Benchmark
+    public ObservableList<Book> setAll(Reload reload) {
+        reload.shown.setAll(reload.reloaded);
+        return reload.shown;
+    }
+
+    @Benchmark
+    public ListDiff.Result listDiff(Reload reload) {
+        return ListDiff.apply(reload.shown, reload.reloaded);
+    }
+
+    @Benchmark
+    public ListDiff.Plan<Book> plan(Reload reload) {
+        return ListDiff.plan(new ArrayList<>(reload.shown), reload.reloaded);
+    }
+
+    @Benchmark
+    public ListDiff.Result applyPlan(Reload reload) {
+        return reload.plan.applyTo(reload.shown);
+    }
+
+    // Every 100th title differs when round >= 0
+    private static List<Book> books(int rows, int round) {
+        List<Book> list = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            String title = round >= 0 && i % 100 == 0 ? "Title " + i + " rev " + round : "Title " + i;
+            list.add(new Book(i, i % 50, title, "Publisher " + i % 50, "Fiction", "Paperback", 12.5, "Yes"));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Scroll frame and sort times of a 100k-row book table, with the
+ * PropertyValueFactory columns getTable used to build ("before") and with its
+ * accessor cell values and primitive sort policy ("after"). A frame is first
+ * measured as the cell values of the visible rows, then, where the platform
+ * can render text, as a whole scroll + CSS + layout pass of a shown stage.
+ * The times are printed, not asserted (they depend on the machine); the test
+ * checks that both tables sort and scroll to the same rows.
+ */
+class ScrollFrameTimeTest {
+
+    private static final int ROWS = 100_000;
+    private static final int FRAMES = 200;
+    private static final int VISIBLE_ROWS = 30;
+    private static final int SORTS = 9;
+
+    @BeforeAll
+    static void startFx() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void accessorTableSortsAndScrollsLikeThePropertyValueFactoryTable() throws Exception {
+        TableView<Book> before = onFxThread(() -> propertyValueFactoryTable(FXCollections.observableArrayList(books())));
+        TableView<Book> after = onFxThread(() -> new getTable<Book>().gettable(Book.class, FXCollections.observableArrayList(books())));
+
+        List<Integer> beforeRows = measure("before", before);
+        List<Integer> afterRows = measure("after", after);
+
+        assertEquals(beforeRows, afterRows);
+    }
+
+    // Sorts by price descending, then scrolls through the table; returns the first row of each frame
+    private static List<Integer> measure(String label, TableView<Book> table) throws Exception {
+        // Changing the sort type re-sorts; the last of the alternating sorts is descending
+        TableColumn<Book, ?> price = column(table, "original_price");
+        onFxThread(() -> table.getSortOrder().setAll(List.of(price)));
+        long[] sorts = new long[SORTS];
+        for (int i = 0; i < SORTS; i++) {
+            TableColumn.SortType type = (SORTS - i) % 2 == 1 ? TableColumn.SortType.DESCENDING : TableColumn.SortType.ASCENDING;
+            sorts[i] = onFxThread(() -> {
+                long start = System.nanoTime();
+                price.setSortType(type);
+                return System.nanoTime() - start;
+            });
+        }
+        print(label + ": sort", sorts);
+
+        // The cell values a frame shows: every column of the visible rows
+        long[] frames = new long[FRAMES];
+        List<Integer> rows = new ArrayList<>();
+        for (int i = 0; i < FRAMES; i++) {
+            int first = i * (ROWS / FRAMES);
+            frames[i] = onFxThread(() -> {
+                long start = System.nanoTime();
+                for (int row = first; row < first + VISIBLE_ROWS; row++) {
+                    for (TableColumn<Book, ?> column : table.getColumns()) {
+                        column.getCellObservableValue(row).getValue();
+                    }
+                }
+                return System.nanoTime() - start;
+            });
+            rows.add(onFxThread(() -> table.getItems().get(first).getBook_id()));
+        }
+        print(label + ": cell values per frame", frames);
+
+        // Whole frames (scroll, CSS, layout) need the text libraries of the platform
+        Stage stage;
+        try {
+            stage = onFxThread(() -> {
+                Stage s = new Stage();
+                s.setScene(new Scene(table, 800, 600));
+                s.show();
+                return s;
+            });
+        } catch (ExecutionException e) {
+            System.out.printf("%s: layout frames not measured (%s)%n", label, e.getCause());
+            return rows;
+        }
+        try {
+            for (int i = 0; i < FRAMES; i++) {
+                int first = i * (ROWS / FRAMES);
+                frames[i] = onFxThread(() -> {
+                    long start = System.nanoTime();
+                    table.scrollTo(first);
+                    table.applyCss();
+                    table.layout();
+                    return System.nanoTime() - start;
+                });
+            }
+            print(label + ": layout frames", frames);
+        } finally {
+            onFxThread(() -> {
+                stage.hide();
+                return null;
+            });
+        }
+        return rows;
+    }
+
+    private static void print(String what, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%s median %.3f ms, p95 %.3f ms, max %.3f ms%n", what,
+                sorted[sorted.length / 2] / 1e6, sorted[sorted.length * 95 / 100] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    // The table getTable built before the accessors: reflective cell values, boxed default comparators
+    private static TableView<Book> propertyValueFactoryTable(ObservableList<Book> books) {
+        TableView<Book> table = new TableView<>(books);
+        for (String field : List.of("book_id", "title", "publisher_id", "name", "category", "book_type",
+                "original_price", "available")) {
+            TableColumn<Book, Object> column = new TableColumn<>(field);
+            column.setCellValueFactory(new PropertyValueFactory<>(field));
+            table.getColumns().add(column);
+        }
+        return table;
+    }
+
+    private static TableColumn<Book, ?> column(TableView<Book> table, String text) {
+        return table.getColumns().stream().filter(c -> c.getText().equals(text)).findFirst().orElseThrow();
+    }
+
+    // Prices repeat every 500 rows, so ties keep the id order of the source
+    private static List<Book> books() {
+        List<Book> books = new ArrayList<>(ROWS);
+        for (int id = 1; id <= ROWS; id++) {
+            books.add(new Book(id, 1 + id % 50, "Title " + id, "Publisher " + id % 50, "Category " + id % 20,
+                    id % 2 == 0 ? "Hardcover" : "Paperback", 5 + (id * 37 % 500) / 10.0, "Yes"));
+        }
+        return books;
+    }
+
+    private static <V> V onFxThread(Callable<V> work) throws Exception {
+        FutureTask<V> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchBoxTest {
+
+    @BeforeAll
+    static void startFx() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void listChangesInOnePulseRunTheActiveSearchOnce() throws Exception {
+        ObservableList<Book> books = FXCollections.observableArrayList(books(1, 100));
+        TableView<Book> table = new TableView<>();
+        int[] searches = new int[1];
+        onFxThread(() -> {
+            HBox box = new SearchBox<Book>().createSearchBox(Book.class, books, table);
+            ((TextField) box.getChildren().get(1)).setText("java");
+            ((FilteredList<?>) table.getItems()).predicateProperty()
+                    .addListener((obs, o, n) -> searches[0]++);
+            // What a reload applies: one removal and two insert groups
+            books.remove(0, 10);
+            books.addAll(0, books(101, 5));
+            books.addAll(books(106, 5));
+            return null;
+        });
+        List<String> shown = onFxThread(() -> table.getItems().stream().map(Book::getTitle).toList());
+
+        assertEquals(1, searches[0]);
+        assertEquals(books.stream().map(Book::getTitle).filter(t -> t.contains("java")).toList(), shown);
+    }
+
+    // Every third title contains "java"
+    private static List<Book> books(int from, int count) {
+        List<Book> books = new ArrayList<>();
+        for (int id = from; id < from + count; id++) {
+            String title = id % 3 == 0 ? "Learning java " + id : "Title " + id;
+            books.add(new Book(id, 1, title, "Publisher", "Fiction", "Paperback", 10.0, "Yes"));
+        }
+        return books;
+    }
+
+    private static <V> V onFxThread(Callable<V> work) throws Exception {
+        FutureTask<V> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ServerSortControllerTest {
+
+    private static final int ROWS = ServerSortController.SERVER_SORT_THRESHOLD + 1000;
+
+    @BeforeAll
+    static void startFx() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void pagedListStaysPagedAndIsReloadedInFullWhenTheSortIsCleared() throws Exception {
+        ObservableList<Author> source = FXCollections.observableArrayList(InMemoryAuthors.all());
+        TableView<Author> table = new TableView<>(source);
+        TableColumn<Author, String> firstName = new TableColumn<>("first_name");
+        table.getColumns().add(firstName);
+        onFxThread(() -> ServerSortController.install(table, Author.class, source, new InMemoryAuthors()));
+
+        onFxThread(() -> table.getSortOrder().add(firstName));
+        awaitFx(() -> source.size() == 500, "first page");
+        assertEquals("Name 00000", source.get(0).first_nameProperty().get());
+
+        // An optimistic add keeps the list paged: the next header click sorts on the server again
+        onFxThread(() -> {
+            source.add(new Author(ROWS + 1, "Added", "Row", "UK"));
+            firstName.setSortType(TableColumn.SortType.DESCENDING);
+            return null;
+        });
+        awaitFx(() -> source.size() == 500 && source.get(0).author_idProperty().get() == 1, "first descending page");
+
+        onFxThread(() -> {
+            table.getSortOrder().clear();
+            return null;
+        });
+        awaitFx(() -> source.size() == ROWS, "full table after clearing the sort");
+    }
+
+    @Test
+    void pagedListIsNotSortedInMemoryByAColumnTheServerCannotSort() throws Exception {
+        ObservableList<Author> source = FXCollections.observableArrayList(InMemoryAuthors.all());
+        TableView<Author> table = new TableView<>(source);
+        TableColumn<Author, String> firstName = new TableColumn<>("first_name");
+        TableColumn<Author, String> country = new TableColumn<>("country");
+        table.getColumns().add(firstName);
+        table.getColumns().add(country);
+        onFxThread(() -> ServerSortController.install(table, Author.class, source, new InMemoryAuthors()));
+
+        onFxThread(() -> table.getSortOrder().add(firstName));
+        awaitFx(() -> source.size() == 500, "first page");
+
+        onFxThread(() -> table.getSortOrder().setAll(List.of(country)));
+        awaitFx(() -> source.size() == ROWS, "full table before sorting in memory");
+        List<String> countries = onFxThread(() -> source.stream().map(a -> a.countryProperty().get()).toList());
+        List<String> sorted = new ArrayList<>(countries);
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+        assertEquals(sorted, countries);
+    }
+
+    // first_name runs opposite to the id, country cycles; only first_name is sortable on the "server"
+    private static final class InMemoryAuthors implements SortableDAO<Author> {
+
+        static List<Author> all() {
+            List<Author> rows = new ArrayList<>();
+            for (int id = 1; id <= ROWS; id++) {
+                rows.add(new Author(id, String.format("Name %05d", ROWS - id), "Last", "Country " + id % 7));
+            }
+            return rows;
+        }
+
+        @Override
+        public Map<String, String> sortColumns() {
+            return Map.of("first_name", "author.first_name");
+        }
+
+        @Override
+        public KeysetPager.Page<Author> getPage(String sortField, boolean ascending, KeysetPager.Cursor after,
+                                                int limit) {
+            Comparator<Author> order = Comparator.comparing((Author a) -> a.first_nameProperty().get())
+                    .thenComparingInt(a -> a.author_idProperty().get());
+            if (!ascending) order = order.reversed();
+            List<Author> rows = all();
+            rows.sort(order);
+            int from = 0;
+            if (after != null) {
+                Author last = new Author(after.id(), (String) after.key(), null, null);
+                while (from < rows.size() && order.compare(rows.get(from), last) <= 0) from++;
+            }
+            List<Author> page = new ArrayList<>(rows.subList(from, Math.min(from + limit, rows.size())));
+            Author last = page.isEmpty() ? null : page.get(page.size() - 1);
+            return new KeysetPager.Page<>(page, last == null ? null
+                    : new KeysetPager.Cursor(last.first_nameProperty().get(), last.author_idProperty().get()));
+        }
+
+        @Override
+        public List<Author> getAll() {
+            return all();
+        }
+
+        @Override
+        public boolean add(Author obj) {
+            return false;
+        }
+
+        @Override
+        public boolean update(Author obj) {
+            return false;
+        }
+
+        @Override
+        public boolean delete(int id) {
+            return false;
+        }
+
+        @Override
+        public Author getById(int id) {
+            return null;
+        }
+    }
+
+    private static <V> V onFxThread(Callable<V> work) throws Exception {
+        FutureTask<V> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(10, TimeUnit.SECONDS);
+    }
+
+    // Background pages arrive on the FX thread; poll until the list shows them
+    private static void awaitFx(Callable<Boolean> condition, String what) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (onFxThread(condition)) return;
+            Thread.sleep(20);
+        }
+        fail("timed out waiting for the " + what);
+    }
+}
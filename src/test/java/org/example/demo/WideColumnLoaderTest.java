@@ -0,0 +1,141 @@
+package org.example.demo;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class WideColumnLoaderTest {
+
+    @BeforeAll
+    static void startFx() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        started.await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void searchKeystrokesDuringALoadRequestNothingAndLaterRowsAreLoadedAlone() throws Exception {
+        ObservableList<Author> source = FXCollections.observableArrayList();
+        for (int id = 1; id <= 100; id++) {
+            source.add(new Author(id, "First " + id, "Last", "UK"));
+        }
+        FilteredList<Author> filtered = new FilteredList<>(source, a -> true);
+        TableView<Author> table = new TableView<>(filtered);
+        TableColumn<Author, String> bio = new TableColumn<>("bio");
+        table.getColumns().add(bio);
+        BlockingBios dao = new BlockingBios();
+
+        onFxThread(() -> {
+            WideColumnLoader.install(table, Author.class, dao, null);
+            bio.setVisible(true);
+            // Keystrokes while the column load is still running
+            filtered.setPredicate(a -> a.author_idProperty().get() % 2 == 0);
+            filtered.setPredicate(a -> a.author_idProperty().get() % 4 == 0);
+            filtered.setPredicate(a -> true);
+            return null;
+        });
+        dao.release.countDown();
+        awaitFx(() -> source.stream().allMatch(a -> a.isLoaded("bio")), "bios of the first rows");
+
+        onFxThread(() -> source.add(new Author(101, "First 101", "Last", "UK")));
+        awaitFx(() -> source.get(100).isLoaded("bio"), "bio of the added row");
+
+        assertEquals(2, dao.requests.size());
+        assertEquals(100, dao.requests.get(0).size());
+        assertEquals(List.of(101), dao.requests.get(1));
+        assertEquals("Bio 101", source.get(100).bioProperty().get());
+    }
+
+    // Records each request; the first one waits for release
+    private static final class BlockingBios implements ProjectedDAO<Author> {
+        final List<List<Integer>> requests = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Map<Integer, String> getWideField(String field, Collection<Integer> ids) {
+            requests.add(new ArrayList<>(ids));
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Map<Integer, String> values = new HashMap<>();
+            for (int id : ids) values.put(id, "Bio " + id);
+            return values;
+        }
+
+        @Override
+        public Set<String> wideFields() {
+            return Set.of("bio");
+        }
+
+        @Override
+        public List<Author> getAll(Set<String> fields) {
+            return List.of();
+        }
+
+        @Override
+        public List<Author> getAll() {
+            return List.of();
+        }
+
+        @Override
+        public boolean add(Author obj) {
+            return false;
+        }
+
+        @Override
+        public boolean update(Author obj) {
+            return false;
+        }
+
+        @Override
+        public boolean delete(int id) {
+            return false;
+        }
+
+        @Override
+        public Author getById(int id) {
+            return null;
+        }
+    }
+
+    private static <V> V onFxThread(Callable<V> work) throws Exception {
+        FutureTask<V> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        return task.get(10, TimeUnit.SECONDS);
+    }
+
+    private static void awaitFx(Callable<Boolean> condition, String what) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (onFxThread(condition)) return;
+            Thread.sleep(20);
+        }
+        fail("timed out waiting for the " + what);
+    }
+}
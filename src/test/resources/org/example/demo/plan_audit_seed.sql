@@ -0,0 +1,137 @@
+-- Schema and generated data QueryPlanAuditTest explains against when no
+-- -Ddb.url is given. Tables, keys and foreign keys follow the library
+-- database; the indexes from report_indexes.sql are applied after this file.
+-- Row counts are large enough that the optimizer prefers an index wherever
+-- one applies, dates are spread over the three years before today.
+-- Statements are separated by ";" at the end of a line (MariaDB seq_1_to_N
+-- tables generate the rows).
+
+CREATE TABLE publisher (
+    publisher_id INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL UNIQUE,
+    city VARCHAR(50),
+    country VARCHAR(50),
+    contact_info VARCHAR(100)
+);
+
+CREATE TABLE author (
+    author_id INT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    country VARCHAR(50),
+    bio TEXT
+);
+
+CREATE TABLE book (
+    book_id INT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    publisher_id INT,
+    category VARCHAR(50),
+    book_type VARCHAR(50),
+    original_price DECIMAL(10, 2),
+    available INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (publisher_id) REFERENCES publisher (publisher_id)
+);
+
+CREATE TABLE bookauthor (
+    book_id INT NOT NULL,
+    author_id INT NOT NULL,
+    PRIMARY KEY (book_id, author_id),
+    FOREIGN KEY (book_id) REFERENCES book (book_id),
+    FOREIGN KEY (author_id) REFERENCES author (author_id)
+);
+
+CREATE TABLE borrowertype (
+    type_id INT AUTO_INCREMENT PRIMARY KEY,
+    type_name VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE borrower (
+    borrower_id INT AUTO_INCREMENT PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    type_id INT,
+    contact_info TEXT,
+    FOREIGN KEY (type_id) REFERENCES borrowertype (type_id)
+);
+
+CREATE TABLE loanperiod (
+    period_id INT AUTO_INCREMENT PRIMARY KEY,
+    period_name VARCHAR(50) NOT NULL,
+    days INT NOT NULL
+);
+
+CREATE TABLE loan (
+    loan_id INT AUTO_INCREMENT PRIMARY KEY,
+    borrower_id INT NOT NULL,
+    book_id INT NOT NULL,
+    period_id INT,
+    loan_date DATE NOT NULL,
+    due_date DATE NOT NULL,
+    return_date DATE,
+    FOREIGN KEY (borrower_id) REFERENCES borrower (borrower_id),
+    FOREIGN KEY (book_id) REFERENCES book (book_id),
+    FOREIGN KEY (period_id) REFERENCES loanperiod (period_id)
+);
+
+CREATE TABLE sale (
+    sale_id INT AUTO_INCREMENT PRIMARY KEY,
+    book_id INT NOT NULL,
+    borrower_id INT NOT NULL,
+    sale_date DATE NOT NULL,
+    sale_price DECIMAL(10, 2) NOT NULL,
+    FOREIGN KEY (book_id) REFERENCES book (book_id),
+    FOREIGN KEY (borrower_id) REFERENCES borrower (borrower_id)
+);
+
+CREATE TABLE users (
+    username VARCHAR(50) PRIMARY KEY,
+    password VARCHAR(64) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    role ENUM('admin', 'staff', 'student') NOT NULL DEFAULT 'student'
+);
+
+INSERT INTO publisher (publisher_id, name, city, country, contact_info)
+SELECT seq, CONCAT('Publisher ', seq), CONCAT('City ', seq % 100), CONCAT('Country ', seq % 40),
+       CONCAT('contact', seq, '@example.org')
+FROM seq_1_to_500;
+
+INSERT INTO author (author_id, first_name, last_name, country, bio)
+SELECT seq, CONCAT('First', seq), CONCAT('Last', seq), CONCAT('Country ', seq % 40), REPEAT('Biography ', 50)
+FROM seq_1_to_5000;
+
+INSERT INTO book (book_id, title, publisher_id, category, book_type, original_price, available)
+SELECT seq, CONCAT('Title ', seq), 1 + seq % 500, CONCAT('Category ', seq % 20),
+       IF(seq % 2 = 0, 'Hardcover', 'Paperback'), 5 + seq % 50, seq % 4
+FROM seq_1_to_20000;
+
+INSERT INTO bookauthor (book_id, author_id)
+SELECT seq, 1 + seq % 5000 FROM seq_1_to_20000;
+
+INSERT INTO bookauthor (book_id, author_id)
+SELECT seq, 1 + (seq + 2500) % 5000 FROM seq_1_to_20000 WHERE seq % 4 = 0;
+
+INSERT INTO borrowertype (type_id, type_name) VALUES (1, 'Student'), (2, 'Staff'), (3, 'Guest');
+
+INSERT INTO borrower (borrower_id, first_name, last_name, type_id, contact_info)
+SELECT seq, CONCAT('Reader', seq), CONCAT('Surname', seq), 1 + seq % 3, CONCAT('reader', seq, '@example.org')
+FROM seq_1_to_10000;
+
+INSERT INTO loanperiod (period_id, period_name, days) VALUES (1, 'Short', 7), (2, 'Standard', 14), (3, 'Long', 28);
+
+-- One loan in twenty and every loan of the last two weeks is still open
+INSERT INTO loan (loan_id, borrower_id, book_id, period_id, loan_date, due_date, return_date)
+SELECT seq, 1 + seq % 10000, 1 + seq % 20000, 2,
+       CURDATE() - INTERVAL seq % 1095 DAY,
+       CURDATE() - INTERVAL seq % 1095 DAY + INTERVAL 14 DAY,
+       IF(seq % 20 = 0 OR seq % 1095 < 14, NULL, CURDATE() - INTERVAL seq % 1095 DAY + INTERVAL seq % 14 DAY)
+FROM seq_1_to_100000;
+
+INSERT INTO sale (sale_id, book_id, borrower_id, sale_date, sale_price)
+SELECT seq, 1 + (seq * 7) % 20000, 1 + (seq * 3) % 10000, CURDATE() - INTERVAL seq % 1095 DAY, 5 + seq % 50
+FROM seq_1_to_30000;
+
+INSERT INTO users (username, password, email, role)
+SELECT CONCAT('user', seq), SHA2(CONCAT('password', seq), 256), CONCAT('user', seq, '@example.org'),
+       ELT(1 + seq % 3, 'admin', 'staff', 'student')
+FROM seq_1_to_200;